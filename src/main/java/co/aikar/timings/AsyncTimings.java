@@ -0,0 +1,135 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package co.aikar.timings;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Records timings started off the main thread.
+ *
+ * <p>Every thread keeps its own stack of running timings, and samples are
+ * accumulated per thread pool in {@link LongAdder}s, so threads never share
+ * any state while timing and never contend on a lock.</p>
+ */
+final class AsyncTimings {
+
+    // Timings nested deeper than this on one thread are ignored, protects against timings that are never stopped
+    private static final int MAX_DEPTH = 64;
+    private static final ThreadLocal<TimingStack> STACK = ThreadLocal.withInitial(TimingStack::new);
+
+    private AsyncTimings() {
+    }
+
+    static void start(TimingHandler handler) {
+        STACK.get().push(handler);
+    }
+
+    static void stop(TimingHandler handler) {
+        STACK.get().pop(handler, true);
+    }
+
+    static void abort(TimingHandler handler) {
+        STACK.get().pop(handler, false);
+    }
+
+    /**
+     * Gets the name of the thread pool a thread belongs to, which is the
+     * thread name without its trailing number.
+     *
+     * @param thread The thread
+     * @return The pool name
+     */
+    static String getPoolName(Thread thread) {
+        String name = thread.getName();
+        int end = name.length();
+        while (end > 0 && Character.isDigit(name.charAt(end - 1))) {
+            end--;
+        }
+        while (end > 0 && " -#_".indexOf(name.charAt(end - 1)) != -1) {
+            end--;
+        }
+        return end == 0 ? name : name.substring(0, end);
+    }
+
+    /**
+     * The samples of a timing in a single thread pool.
+     */
+    static final class Record {
+
+        final LongAdder count = new LongAdder();
+        final LongAdder totalTime = new LongAdder();
+
+        void add(long diff) {
+            this.count.increment();
+            this.totalTime.add(diff);
+        }
+    }
+
+    private static final class TimingStack {
+
+        private final String pool = getPoolName(Thread.currentThread());
+        private TimingHandler[] handlers = new TimingHandler[8];
+        private long[] starts = new long[8];
+        private int depth;
+
+        void push(TimingHandler handler) {
+            if (this.depth == MAX_DEPTH) {
+                return;
+            }
+            if (this.depth == this.handlers.length) {
+                this.handlers = Arrays.copyOf(this.handlers, this.depth * 2);
+                this.starts = Arrays.copyOf(this.starts, this.depth * 2);
+            }
+            this.handlers[this.depth] = handler;
+            this.starts[this.depth] = System.nanoTime();
+            this.depth++;
+        }
+
+        void pop(TimingHandler handler, boolean record) {
+            int index = this.depth - 1;
+            while (index >= 0 && this.handlers[index] != handler) {
+                index--;
+            }
+            if (index < 0) {
+                // Not started on this thread
+                return;
+            }
+            final long start = this.starts[index];
+            // Like on the main thread, only the outermost of nested starts of a timing is recorded
+            boolean nested = false;
+            for (int i = 0; i < index && !nested; i++) {
+                nested = this.handlers[i] == handler;
+            }
+            // Timings started within this one that were never stopped are discarded
+            Arrays.fill(this.handlers, index, this.depth, null);
+            this.depth = index;
+            if (record && !nested) {
+                handler.addAsyncDiff(this.pool, System.nanoTime() - start);
+            }
+        }
+    }
+
+}
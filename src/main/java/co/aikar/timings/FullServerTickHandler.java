@@ -45,6 +45,7 @@ public class FullServerTickHandler extends TimingHandler {
 
     @Override
     public TimingHandler startTiming() {
+        TimingsManager.mainThread = Thread.currentThread();
         if (TimingsManager.needsFullReset) {
             TimingsManager.resetTimings();
         } else if (TimingsManager.needsRecheckEnabled) {
@@ -93,7 +94,9 @@ public void stopTiming() {
         processTick(violated);
 
         if (TimingHistory.timedTicks % 1200 == 0) {
-            MINUTE_REPORTS.add(new TimingHistory.MinuteReport());
+            TimingHistory.MinuteReport report = new TimingHistory.MinuteReport();
+            MINUTE_REPORTS.add(report);
+            TimingsManager.lastMinuteReport = report;
             TimingHistory.resetTicks(false);
             this.minuteData.reset();
         }
@@ -40,6 +40,7 @@ public final class SpongeTimings {
     public static final Timing timeUpdateTimer = SpongeTimingsFactory.ofSafe("Time Update");
     public static final Timing serverCommandTimer = SpongeTimingsFactory.ofSafe("Server Command");
     public static final Timing worldSaveTimer = SpongeTimingsFactory.ofSafe("World Save");
+    public static final Timing userDataSaveTimer = SpongeTimingsFactory.ofSafe("User Data Save");
 
     public static final Timing tickEntityTimer = SpongeTimingsFactory.ofSafe("## tickEntity");
     public static final Timing tickTileEntityTimer = SpongeTimingsFactory.ofSafe("## tickTileEntity");
@@ -50,6 +51,8 @@ public final class SpongeTimings {
 
     public static final Timing entityActivationCheckTimer = SpongeTimingsFactory.ofSafe("entityActivationCheck");
     public static final Timing checkIfActiveTimer = SpongeTimingsFactory.ofSafe("checkIfActive");
+    public static final Timing tickEntityActiveTimer = SpongeTimingsFactory.ofSafe("## tickEntity - active");
+    public static final Timing tickEntityInactiveTimer = SpongeTimingsFactory.ofSafe("## tickEntity - inactive");
 
     public static final Timing antiXrayUpdateTimer = SpongeTimingsFactory.ofSafe("anti-xray - update");
     public static final Timing antiXrayObfuscateTimer = SpongeTimingsFactory.ofSafe("anti-xray - obfuscate");
@@ -79,9 +82,6 @@ private SpongeTimings() {
      * @return
      */
     public static Timing getPluginTaskTimings(Task task, long period) {
-        if (task.isAsynchronous()) {
-            return null;
-        }
         PluginContainer plugin = task.getOwner();
 
         String name = "Task: " + task.getName();
@@ -58,6 +58,9 @@ public void init() {
         setTimingsEnabled(this.moduleEnabled && config.isEnabled());
         setHistoryInterval(config.getHistoryInterval());
         setHistoryLength(config.getHistoryLength());
+        if (this.moduleEnabled && config.getMetricsPort() > 0) {
+            TimingsMetricsServer.start(config.getMetricsAddress(), config.getMetricsPort());
+        }
 
         SpongeImpl.getLogger().debug("Sponge Timings: " + this.timingsEnabled +
                                     " - Verbose: " + this.verboseEnabled +
@@ -177,6 +180,15 @@ public void generateReport(CommandSource sender) {
         TimingsExport.reportTimings(sender);
     }
 
+    /**
+     * Writes a timings report to the export directory instead of uploading it.
+     *
+     * @param sender Who to report to
+     */
+    public static void exportReport(CommandSource sender) {
+        TimingsExport.reportTimings(sender, true);
+    }
+
     public static long getCost() {
         return TimingsExport.getCost();
     }
@@ -44,9 +44,9 @@ public TimingData apply(Integer input) {
     };
     private int id;
     int count = 0;
-    private int lagCount = 0;
+    int lagCount = 0;
     long totalTime = 0;
-    private long lagTotalTime = 0;
+    long lagTotalTime = 0;
 
     int curTickCount = 0;
     int curTickTotal = 0;
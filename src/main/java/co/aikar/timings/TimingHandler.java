@@ -26,8 +26,9 @@
 
 import co.aikar.util.LoadingIntMap;
 import gnu.trove.map.hash.TIntObjectHashMap;
-import net.minecraft.server.MinecraftServer;
-import org.spongepowered.common.SpongeImpl;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 class TimingHandler implements Timing {
 
@@ -35,11 +36,14 @@ class TimingHandler implements Timing {
     final int id = idPool++;
 
     final String name;
+    final String groupName;
     private final boolean verbose;
 
     final TIntObjectHashMap<TimingData> children = new LoadingIntMap<>(TimingData.LOADER);
 
     final TimingData record;
+    // Samples recorded off the main thread since the last full reset, by thread pool
+    final Map<String, AsyncTimings.Record> asyncRecords = new ConcurrentHashMap<>();
     private final TimingHandler groupHandler;
 
     private long start = 0;
@@ -61,7 +65,10 @@ class TimingHandler implements Timing {
         this.record = new TimingData(this.id);
         this.groupHandler = id.groupHandler;
 
-        TimingIdentifier.getGroup(id.group).handlers.add(this);
+        TimingIdentifier.TimingGroup group = TimingIdentifier.getGroup(id.group);
+        this.groupName = group.name;
+        group.handlers.add(this);
+        TimingsManager.registerHandler(this);
         checkEnabled();
     }
 
@@ -84,21 +91,26 @@ void processTick(boolean violated) {
 
     @Override
     public void startTimingIfSync() {
-        if (MinecraftServer.getServer().isCallingFromMinecraftThread()) {
+        if (TimingsManager.isMainThread()) {
             startTiming();
         }
     }
 
     @Override
     public void stopTimingIfSync() {
-        if (MinecraftServer.getServer().isCallingFromMinecraftThread()) {
+        if (TimingsManager.isMainThread()) {
             stopTiming();
         }
     }
 
     @Override
     public TimingHandler startTiming() {
-        if (this.enabled && ++this.timingDepth == 1) {
+        if (!this.enabled) {
+            return this;
+        }
+        if (!TimingsManager.isMainThread()) {
+            AsyncTimings.start(this);
+        } else if (++this.timingDepth == 1) {
             this.start = System.nanoTime();
             this.parent = TimingsManager.CURRENT;
             TimingsManager.CURRENT = this;
@@ -108,13 +120,12 @@ public TimingHandler startTiming() {
 
     @Override
     public void stopTiming() {
-        if (this.enabled && --this.timingDepth == 0 && this.start != 0) {
-            if (!MinecraftServer.getServer().isCallingFromMinecraftThread()) {
-                SpongeImpl.getLogger().fatal("stopTiming called async for " + this.name);
-                new Throwable().printStackTrace();
-                this.start = 0;
-                return;
-            }
+        if (!this.enabled) {
+            return;
+        }
+        if (!TimingsManager.isMainThread()) {
+            AsyncTimings.stop(this);
+        } else if (--this.timingDepth == 0 && this.start != 0) {
             addDiff(System.nanoTime() - this.start);
             this.start = 0;
         }
@@ -122,7 +133,12 @@ public void stopTiming() {
 
     @Override
     public void abort() {
-        if (this.enabled && this.timingDepth > 0) {
+        if (!this.enabled) {
+            return;
+        }
+        if (!TimingsManager.isMainThread()) {
+            AsyncTimings.abort(this);
+        } else if (this.timingDepth > 0) {
             this.start = 0;
         }
     }
@@ -146,6 +162,17 @@ void addDiff(long diff) {
         }
     }
 
+    void addAsyncDiff(String pool, long diff) {
+        AsyncTimings.Record record = this.asyncRecords.get(pool);
+        if (record == null) {
+            record = this.asyncRecords.computeIfAbsent(pool, key -> new AsyncTimings.Record());
+        }
+        record.add(diff);
+        if (this.groupHandler != null) {
+            this.groupHandler.addAsyncDiff(pool, diff);
+        }
+    }
+
     /**
      * Reset this timer, setting all values to zero.
      *
@@ -155,6 +182,7 @@ void reset(boolean full) {
         this.record.reset();
         if (full) {
             this.timed = false;
+            this.asyncRecords.clear();
         }
         this.start = 0;
         this.timingDepth = 0;
@@ -29,25 +29,31 @@
 
 import co.aikar.util.JSONUtil;
 import co.aikar.util.LoadingMap;
-import co.aikar.util.MRUMapCache;
-import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonObject;
+import com.google.gson.JsonPrimitive;
+import gnu.trove.iterator.TIntIntIterator;
+import gnu.trove.list.array.TIntArrayList;
+import gnu.trove.map.hash.TIntIntHashMap;
 import net.minecraft.block.Block;
+import net.minecraft.tileentity.TileEntity;
+import net.minecraft.util.ClassInheritanceMultiMap;
+import net.minecraft.world.WorldServer;
+import net.minecraft.world.chunk.Chunk;
 import org.spongepowered.api.block.BlockType;
-import org.spongepowered.api.block.tileentity.TileEntity;
 import org.spongepowered.api.entity.Entity;
 import org.spongepowered.api.entity.EntityType;
 import org.spongepowered.api.entity.living.player.Player;
+import org.spongepowered.api.world.World;
 import org.spongepowered.common.SpongeImpl;
 import org.spongepowered.common.entity.SpongeEntityType;
+import org.spongepowered.common.world.DimensionManager;
 
 import java.lang.management.ManagementFactory;
 import java.util.Collection;
 import java.util.Map;
 import java.util.Set;
-import java.util.function.Function;
 
 public class TimingHistory {
 
@@ -57,6 +63,8 @@ public class TimingHistory {
     public static long entityTicks;
     public static long tileEntityTicks;
     public static long activatedEntityTicks;
+    public static long skippedEntityCollisions;
+    public static long crammedEntityCollisionChecks;
     static int worldIdPool = 1;
     static Map<String, Integer> worldMap = LoadingMap.newHashMap((input) -> worldIdPool++);
     final long endTime;
@@ -69,7 +77,7 @@ public class TimingHistory {
     final TimingHistoryEntry[] entries;
     final Set<BlockType> blockTypeSet = Sets.newHashSet();
     final Set<EntityType> entityTypeSet = Sets.newHashSet();
-    final JsonObject worlds;
+    final WorldCensus[] worlds;
 
     TimingHistory() {
         this.endTime = System.currentTimeMillis() / 1000;
@@ -93,43 +101,61 @@ public class TimingHistory {
             this.entries[i++] = new TimingHistoryEntry(handler);
         }
 
-        final Map<EntityType, Counter> entityCounts = MRUMapCache.of(LoadingMap.of(Maps.newHashMap(), Counter.loader()));
-        final Map<BlockType, Counter> tileEntityCounts = MRUMapCache.of(LoadingMap.of(Maps.newHashMap(), Counter.loader()));
-        // Information about all loaded chunks/entities
-        this.worlds = JSONUtil.mapArrayToObject(SpongeImpl.getGame().getServer().getWorlds(), (world) -> {
-            return JSONUtil.singleObjectPair(String.valueOf(worldMap.get(world.getName())), JSONUtil.mapArray(world.getLoadedChunks(), (chunk) -> {
-                entityCounts.clear();
-                tileEntityCounts.clear();
+        // Information about all loaded chunks/entities, only counted here and serialised when exported
+        final TIntIntHashMap entityCounts = new TIntIntHashMap();
+        final TIntIntHashMap tileEntityCounts = new TIntIntHashMap();
+        final WorldServer[] loadedWorlds = DimensionManager.getWorlds();
+        this.worlds = new WorldCensus[loadedWorlds.length];
+        for (int w = 0; w < loadedWorlds.length; w++) {
+            this.worlds[w] = takeCensus(loadedWorlds[w], entityCounts, tileEntityCounts);
+        }
+    }
 
-                for (Entity entity : chunk.getEntities()) {
-                    if (entity.getType() == null) {
+    private WorldCensus takeCensus(WorldServer world, TIntIntHashMap entityCounts, TIntIntHashMap tileEntityCounts) {
+        final TIntArrayList data = new TIntArrayList();
+        for (Object loadedChunk : world.theChunkProviderServer.loadedChunks) {
+            final Chunk chunk = (Chunk) loadedChunk;
+            entityCounts.clear();
+            tileEntityCounts.clear();
+
+            for (ClassInheritanceMultiMap entityList : chunk.getEntityLists()) {
+                for (Object entity : entityList) {
+                    EntityType type = ((Entity) entity).getType();
+                    if (type == null) {
                         SpongeImpl.getLogger().error("Entity is not registered {}", entity);
                         continue;
                     }
-                    entityCounts.get(entity.getType()).increment();
+                    if (entityCounts.adjustOrPutValue(((SpongeEntityType) type).entityTypeId, 1, 1) == 1) {
+                        this.entityTypeSet.add(type);
+                    }
                 }
+            }
 
-                for (TileEntity tileEntity : chunk.getTileEntities()) {
-                    tileEntityCounts.get(tileEntity.getBlock().getType()).increment();
+            for (Object tileEntity : chunk.getTileEntityMap().values()) {
+                Block block = ((TileEntity) tileEntity).getBlockType();
+                if (block != null && tileEntityCounts.adjustOrPutValue(Block.getIdFromBlock(block), 1, 1) == 1) {
+                    this.blockTypeSet.add((BlockType) block);
                 }
+            }
 
-                if (tileEntityCounts.isEmpty() && entityCounts.isEmpty()) {
-                    return null;
-                }
-                return JSONUtil.arrayOf(
-                        chunk.getPosition().getX(),
-                        chunk.getPosition().getZ(),
-                        JSONUtil.mapArrayToObject(entityCounts.entrySet(), (entry) -> {
-                            this.entityTypeSet.add(entry.getKey());
-                            return JSONUtil.singleObjectPair(((SpongeEntityType) entry.getKey()).entityTypeId, entry.getValue().count());
-                        }),
-                        JSONUtil.mapArrayToObject(tileEntityCounts.entrySet(), (entry) -> {
-                            this.blockTypeSet.add(entry.getKey());
-                            return JSONUtil.singleObjectPair(Block.getIdFromBlock((Block) entry.getKey()), entry.getValue().count());
-                        }));
-            }));
-        });
+            if (tileEntityCounts.isEmpty() && entityCounts.isEmpty()) {
+                continue;
+            }
+            data.add(chunk.xPosition);
+            data.add(chunk.zPosition);
+            writeCounts(data, entityCounts);
+            writeCounts(data, tileEntityCounts);
+        }
+        return new WorldCensus(String.valueOf(worldMap.get(((World) world).getName())), data.toArray());
+    }
 
+    private static void writeCounts(TIntArrayList data, TIntIntHashMap counts) {
+        data.add(counts.size());
+        for (TIntIntIterator iterator = counts.iterator(); iterator.hasNext();) {
+            iterator.advance();
+            data.add(iterator.key());
+            data.add(iterator.value());
+        }
     }
 
     public static void resetTicks(boolean fullReset) {
@@ -142,6 +168,8 @@ public static void resetTicks(boolean fullReset) {
         tileEntityTicks = 0;
         entityTicks = 0;
         activatedEntityTicks = 0;
+        skippedEntityCollisions = 0;
+        crammedEntityCollisionChecks = 0;
     }
 
     JsonObject export() {
@@ -150,12 +178,53 @@ JsonObject export() {
                 .add("e", this.endTime)
                 .add("tk", this.totalTicks)
                 .add("tm", this.totalTime)
-                .add("w", this.worlds)
+                .add("w", exportWorlds())
                 .add("h", JSONUtil.mapArray(this.entries, (entry) -> entry.data.count == 0 ? null : entry.export()))
                 .add("mp", JSONUtil.mapArray(this.minuteReports, MinuteReport::export))
                 .build();
     }
 
+    private JsonObject exportWorlds() {
+        JsonObject worlds = new JsonObject();
+        for (WorldCensus census : this.worlds) {
+            JsonArray chunks = new JsonArray();
+            final int[] data = census.data;
+            int i = 0;
+            while (i < data.length) {
+                JsonArray chunk = new JsonArray();
+                chunk.add(new JsonPrimitive(data[i++]));
+                chunk.add(new JsonPrimitive(data[i++]));
+                for (int part = 0; part < 2; part++) {
+                    JsonObject counts = new JsonObject();
+                    for (int remaining = data[i++]; remaining > 0; remaining--) {
+                        counts.addProperty(String.valueOf(data[i++]), data[i++]);
+                    }
+                    chunk.add(counts);
+                }
+                chunks.add(chunk);
+            }
+            worlds.add(census.worldId, chunks);
+        }
+        return worlds;
+    }
+
+    /**
+     * The entity and tile entity counts of the loaded chunks of a world, for
+     * each chunk with any: the chunk x and z, the number of entity types
+     * followed by pairs of entity type id and count, then the same for tile
+     * entities by block id.
+     */
+    static final class WorldCensus {
+
+        final String worldId;
+        final int[] data;
+
+        WorldCensus(String worldId, int[] data) {
+            this.worldId = worldId;
+            this.data = data;
+        }
+    }
+
     static class MinuteReport {
 
         final long time = System.currentTimeMillis() / 1000;
@@ -192,6 +261,8 @@ static class TicksRecord {
         final long entity;
         final long tileEntity;
         final long activatedEntity;
+        final long skippedCollisions;
+        final long crammedCollisionChecks;
 
         TicksRecord() {
             this.timed = timedTicks - (TimingsManager.MINUTE_REPORTS.size() * 1200);
@@ -199,6 +270,8 @@ static class TicksRecord {
             this.entity = entityTicks;
             this.tileEntity = tileEntityTicks;
             this.activatedEntity = activatedEntityTicks;
+            this.skippedCollisions = skippedEntityCollisions;
+            this.crammedCollisionChecks = crammedEntityCollisionChecks;
         }
 
     }
@@ -216,29 +289,4 @@ static class PingRecord {
             this.avg = onlinePlayers.isEmpty() ? 0 : totalPing / onlinePlayers.size();
         }
     }
-
-    static class Counter {
-
-        int count = 0;
-        private static final Function<?, Counter> LOADER = new LoadingMap.Feeder<Counter>() {
-
-            @Override
-            public Counter apply() {
-                return new Counter();
-            }
-        };
-
-        @SuppressWarnings("unchecked")
-        static <T> Function<T, Counter> loader() {
-            return (Function<T, Counter>) LOADER;
-        }
-
-        public int increment() {
-            return ++this.count;
-        }
-
-        public int count() {
-            return this.count;
-        }
-    }
 }
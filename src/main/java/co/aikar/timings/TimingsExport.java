@@ -45,7 +45,11 @@
 import org.spongepowered.api.text.action.TextActions;
 import org.spongepowered.api.text.format.TextColors;
 import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.config.SpongeConfig.TimingsCategory;
 import org.spongepowered.common.entity.SpongeEntityType;
+import org.spongepowered.common.event.AsyncEventDispatcher;
+import org.spongepowered.common.event.SpongeEventManager;
+import org.spongepowered.common.scheduler.SpongeScheduler;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
@@ -56,10 +60,19 @@
 import java.net.HttpURLConnection;
 import java.net.InetAddress;
 import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Optional;
 import java.util.Set;
+import java.util.TreeMap;
 import java.util.zip.GZIPOutputStream;
 
+import javax.annotation.Nullable;
+
 class TimingsExport extends Thread {
 
     // private static final Joiner AUTHOR_LIST_JOINER = Joiner.on(", ");
@@ -71,20 +84,34 @@ class TimingsExport extends Thread {
     private final CommandSource sender;
     private final JsonObject out;
     private final TimingHistory[] history;
+    @Nullable private final Path exportFile;
 
-    TimingsExport(CommandSource sender, JsonObject out, TimingHistory[] history) {
+    TimingsExport(CommandSource sender, JsonObject out, TimingHistory[] history, @Nullable Path exportFile) {
         super("Timings paste thread");
         this.sender = sender;
         this.out = out;
         this.history = history;
+        this.exportFile = exportFile;
     }
 
     /**
-     * Builds an XML report of the timings to be uploaded for parsing.
+     * Builds a report of the timings to be uploaded for parsing, or written to
+     * the export directory if uploads are disabled.
      *
      * @param sender Who to report to
      */
     static void reportTimings(CommandSource sender) {
+        reportTimings(sender, !SpongeImpl.getGlobalConfig().getConfig().getTimings().isUploadReports());
+    }
+
+    /**
+     * Builds a report of the timings to be uploaded for parsing.
+     *
+     * @param sender Who to report to
+     * @param toFile Whether to write the report to the export directory
+     *     instead of uploading it
+     */
+    static void reportTimings(CommandSource sender, boolean toFile) {
         JsonObjectBuilder builder = JSONUtil.objectBuilder()
                 // Get some basic system details about the server
                 .add("version", SpongeImpl.getGame().getPlatform().getImplementation().getVersion())
@@ -134,7 +161,7 @@ static void reportTimings(CommandSource sender) {
         JsonObjectBuilder handlersBuilder = JSONUtil.objectBuilder();
         for (TimingIdentifier.TimingGroup group : TimingIdentifier.GROUP_MAP.values()) {
             for (TimingHandler id : group.handlers) {
-                if (!id.timed && !id.isSpecial()) {
+                if (!id.timed && !id.isSpecial() && id.asyncRecords.isEmpty()) {
                     continue;
                 }
                 handlersBuilder.add(id.id, JSONUtil.arrayOf(
@@ -171,12 +198,68 @@ static void reportTimings(CommandSource sender) {
             ).build();
         }));
 
+        // Queue depth and latency of the async event lane, per plugin
+
+        Optional<AsyncEventDispatcher> asyncEvents = ((SpongeEventManager) SpongeImpl.getGame().getEventManager()).getAsyncDispatcher();
+        if (asyncEvents.isPresent()) {
+            builder.add("asyncevents", JSONUtil.mapArrayToObject(asyncEvents.get().getLanes(), (lane) -> {
+                return JSONUtil.singleObjectPair(lane.getPlugin().getId(), JSONUtil.arrayOf(
+                        lane.getQueueDepth(),
+                        lane.getDeliveredCount(),
+                        lane.getDroppedCount(),
+                        lane.getAverageLatency(),
+                        lane.getMaxLatency()));
+            }));
+        }
+
+        // Synchronous scheduler throughput
+
+        SpongeScheduler scheduler = SpongeScheduler.getInstance();
+        builder.add("scheduler", JSONUtil.objectBuilder()
+                .add("synctasks", scheduler.getScheduledTasks(false).size())
+                .add("lasttick", scheduler.getSyncTasksRunLastTick())
+                .add("total", scheduler.getSyncTasksRun()));
+
+        // Queue depth, active threads and queue latency of async tasks, per plugin
+
+        builder.add("asynctasks", JSONUtil.mapArrayToObject(scheduler.getAsyncExecutor().getLanes(), (lane) -> {
+            long[] latency = lane.getLatencyPercentiles(50, 95, 99);
+            return JSONUtil.singleObjectPair(lane.getId(), JSONUtil.arrayOf(
+                    lane.getQueueDepth(),
+                    lane.getActiveThreads(),
+                    lane.getCompletedCount(),
+                    latency[0],
+                    latency[1],
+                    latency[2]));
+        }));
+
+        // Timings recorded off the main thread since the last reset, per thread pool
+
+        Map<String, JsonArray> asyncTimings = new TreeMap<>();
+        for (TimingHandler handler : TimingsManager.ALL_HANDLERS) {
+            for (Entry<String, AsyncTimings.Record> entry : handler.asyncRecords.entrySet()) {
+                asyncTimings.computeIfAbsent(entry.getKey(), pool -> new JsonArray()).add(JSONUtil.arrayOf(
+                        handler.id,
+                        entry.getValue().count.sum(),
+                        entry.getValue().totalTime.sum()));
+            }
+        }
+        JsonObjectBuilder asyncBuilder = JSONUtil.objectBuilder();
+        asyncTimings.forEach(asyncBuilder::add);
+        builder.add("async", asyncBuilder);
+
         // Information on the users Config
 
         builder.add("config", JSONUtil.objectBuilder()
                 .add("sponge", serializeConfigNode(SpongeImpl.getGlobalConfig().getRootNode())));
 
-        new TimingsExport(sender, builder.build(), history).start();
+        Path exportFile = null;
+        if (toFile) {
+            TimingsCategory config = SpongeImpl.getGlobalConfig().getConfig().getTimings();
+            String fileName = "timings-" + new SimpleDateFormat("yyyy-MM-dd_HH-mm-ss").format(new Date()) + ".json.gz";
+            exportFile = SpongeImpl.getGameDir().resolve(config.getExportDirectory()).resolve(fileName);
+        }
+        new TimingsExport(sender, builder.build(), history, exportFile).start();
     }
 
     static long getCost() {
@@ -254,6 +337,11 @@ public void run() {
 
         this.out.add("data", JSONUtil.mapArray(this.history, TimingHistory::export));
 
+        if (this.exportFile != null) {
+            writeToFile(this.exportFile);
+            return;
+        }
+
         String response = null;
         try {
             HttpURLConnection con = (HttpURLConnection) new URL("http://timings.aikar.co/post").openConnection();
@@ -262,12 +350,7 @@ public void run() {
             con.setRequestMethod("POST");
             con.setInstanceFollowRedirects(false);
 
-            OutputStream request = new GZIPOutputStream(con.getOutputStream()) {
-
-                {
-                    this.def.setLevel(7);
-                }
-            };
+            OutputStream request = compress(con.getOutputStream());
 
             request.write(JSONUtil.toString(this.out).getBytes("UTF-8"));
             request.close();
@@ -302,6 +385,31 @@ public void run() {
         }
     }
 
+    private void writeToFile(Path file) {
+        try {
+            Files.createDirectories(file.getParent());
+            try (OutputStream out = compress(Files.newOutputStream(file))) {
+                out.write(JSONUtil.toString(this.out).getBytes("UTF-8"));
+            }
+            this.sender.sendMessage(Text.of(TextColors.GREEN, "Timings Report written to " + file));
+            if (!(this.sender instanceof ConsoleSource)) {
+                SpongeImpl.getLogger().info("Timings Report written to " + file);
+            }
+        } catch (IOException ex) {
+            this.sender.sendMessage(Text.of(TextColors.RED, "Error writing timings, check your logs for more information"));
+            SpongeImpl.getLogger().fatal("Could not write timings to " + file, ex);
+        }
+    }
+
+    private static OutputStream compress(OutputStream out) throws IOException {
+        return new GZIPOutputStream(out) {
+
+            {
+                this.def.setLevel(7);
+            }
+        };
+    }
+
     private String getResponse(HttpURLConnection con) throws IOException {
         InputStream is = null;
         try {
@@ -26,12 +26,14 @@
 
 import co.aikar.util.LoadingMap;
 import com.google.common.collect.EvictingQueue;
+import net.minecraft.server.MinecraftServer;
 import org.spongepowered.api.plugin.PluginContainer;
 import org.spongepowered.api.command.CommandMapping;
 import org.spongepowered.common.SpongeImpl;
 
 import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
@@ -40,6 +42,8 @@
 
 public final class TimingsManager {
 
+    // Every handler ever created, republished on creation so it can be read from other threads without locking
+    static volatile TimingHandler[] ALL_HANDLERS = new TimingHandler[0];
     static final Map<TimingIdentifier, TimingHandler> TIMING_MAP = Collections.synchronizedMap(
             LoadingMap.newHashMap((id) -> (id.protect ? new UnsafeTimingHandler(id) : new TimingHandler(id)), 256, .5F));
     public static final FullServerTickHandler FULL_SERVER_TICK = new FullServerTickHandler();
@@ -52,7 +56,11 @@ public final class TimingsManager {
     static final ArrayDeque<TimingHistory.MinuteReport> MINUTE_REPORTS = new ArrayDeque<>();
 
     static EvictingQueue<TimingHistory> HISTORY = EvictingQueue.create(12);
+    static volatile TimingHistory.MinuteReport lastMinuteReport;
+    // The innermost running timing of the main thread, other threads keep their own stack in AsyncTimings
     static TimingHandler CURRENT;
+    // The server thread, updated at the start of every tick
+    static volatile Thread mainThread;
     static long timingStart = 0;
     static long historyStart = 0;
     static boolean needsFullReset = false;
@@ -90,9 +98,31 @@ static void tick() {
         }
     }
 
+    /**
+     * Checks whether the current thread is the server thread, whose timings are
+     * recorded per tick.
+     *
+     * @return True if called from the server thread
+     */
+    static boolean isMainThread() {
+        final Thread main = mainThread;
+        if (main == null) {
+            final MinecraftServer server = MinecraftServer.getServer();
+            return server == null || server.isCallingFromMinecraftThread();
+        }
+        return Thread.currentThread() == main;
+    }
+
     static void stopServer() {
         Timings.setTimingsEnabled(false);
         recheckEnabled();
+        TimingsMetricsServer.stop();
+    }
+
+    static synchronized void registerHandler(TimingHandler handler) {
+        TimingHandler[] handlers = Arrays.copyOf(ALL_HANDLERS, ALL_HANDLERS.length + 1);
+        handlers[handlers.length - 1] = handler;
+        ALL_HANDLERS = handlers;
     }
 
     static void recheckEnabled() {
@@ -0,0 +1,235 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package co.aikar.timings;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+import org.spongepowered.common.SpongeImpl;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import javax.annotation.Nullable;
+
+/**
+ * Serves the live timings as plain text metrics in the Prometheus text format,
+ * for monitoring systems that can't use uploaded reports.
+ *
+ * <p>Scrapes are answered on a single background thread and read the timing
+ * records without locking, so values may be up to one tick out of date.</p>
+ */
+final class TimingsMetricsServer implements HttpHandler {
+
+    private static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    @Nullable private static HttpServer server;
+    @Nullable private static ExecutorService executor;
+
+    // Only used by the single server thread, reused between scrapes
+    private final StringBuilder buffer = new StringBuilder(16 * 1024);
+
+    private TimingsMetricsServer() {
+    }
+
+    static synchronized void start(String address, int port) {
+        if (server != null) {
+            return;
+        }
+        try {
+            HttpServer httpServer = HttpServer.create(new InetSocketAddress(address, port), 0);
+            executor = Executors.newSingleThreadExecutor(
+                    new ThreadFactoryBuilder().setNameFormat("Sponge Timings Metrics - #%d").setDaemon(true).build());
+            httpServer.setExecutor(executor);
+            httpServer.createContext("/metrics", new TimingsMetricsServer());
+            httpServer.start();
+            server = httpServer;
+            SpongeImpl.getLogger().info("Serving timings metrics on http://{}:{}/metrics", address, port);
+        } catch (IOException e) {
+            SpongeImpl.getLogger().error("Could not start the timings metrics endpoint on {}:{}", address, port, e);
+        }
+    }
+
+    static synchronized void stop() {
+        if (server != null) {
+            server.stop(0);
+            server = null;
+        }
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+    }
+
+    @Override
+    public void handle(HttpExchange exchange) throws IOException {
+        try {
+            if (!"GET".equals(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+            this.buffer.setLength(0);
+            write(this.buffer);
+            exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+            exchange.sendResponseHeaders(200, 0);
+            try (OutputStream body = exchange.getResponseBody(); Writer writer = new OutputStreamWriter(body, StandardCharsets.UTF_8)) {
+                writer.append(this.buffer);
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private static void write(StringBuilder out) {
+        out.append("# HELP sponge_timings_enabled Whether timings are currently enabled\n")
+                .append("# TYPE sponge_timings_enabled gauge\n")
+                .append("sponge_timings_enabled ").append(Timings.isTimingsEnabled() ? 1 : 0).append('\n');
+
+        // Totals of the current history frame, only updated at the end of each tick
+        final TimingHandler[] handlers = TimingsManager.ALL_HANDLERS;
+        out.append("# HELP sponge_timings_count Number of times a timing was recorded in the current history frame\n")
+                .append("# TYPE sponge_timings_count gauge\n");
+        for (TimingHandler handler : handlers) {
+            if (handler.timed) {
+                writeHandler(out, "sponge_timings_count", handler).append(handler.record.count).append('\n');
+            }
+        }
+        out.append("# HELP sponge_timings_time_nanoseconds Time spent in a timing in the current history frame\n")
+                .append("# TYPE sponge_timings_time_nanoseconds gauge\n");
+        for (TimingHandler handler : handlers) {
+            if (handler.timed) {
+                writeHandler(out, "sponge_timings_time_nanoseconds", handler).append(handler.record.totalTime).append('\n');
+            }
+        }
+        out.append("# HELP sponge_timings_lag_count Number of times a timing was recorded during ticks over 50ms\n")
+                .append("# TYPE sponge_timings_lag_count gauge\n");
+        for (TimingHandler handler : handlers) {
+            if (handler.timed && handler.record.lagCount > 0) {
+                writeHandler(out, "sponge_timings_lag_count", handler).append(handler.record.lagCount).append('\n');
+            }
+        }
+        out.append("# HELP sponge_timings_lag_time_nanoseconds Time spent in a timing during ticks over 50ms\n")
+                .append("# TYPE sponge_timings_lag_time_nanoseconds gauge\n");
+        for (TimingHandler handler : handlers) {
+            if (handler.timed && handler.record.lagCount > 0) {
+                writeHandler(out, "sponge_timings_lag_time_nanoseconds", handler).append(handler.record.lagTotalTime).append('\n');
+            }
+        }
+
+        // Timings recorded off the main thread since the last full reset
+        out.append("# HELP sponge_timings_async_count Number of times a timing was recorded off the main thread, by thread pool\n")
+                .append("# TYPE sponge_timings_async_count counter\n");
+        for (TimingHandler handler : handlers) {
+            for (Map.Entry<String, AsyncTimings.Record> entry : handler.asyncRecords.entrySet()) {
+                writeAsyncHandler(out, "sponge_timings_async_count", handler, entry.getKey()).append(entry.getValue().count.sum()).append('\n');
+            }
+        }
+        out.append("# HELP sponge_timings_async_time_nanoseconds Time spent in a timing off the main thread, by thread pool\n")
+                .append("# TYPE sponge_timings_async_time_nanoseconds counter\n");
+        for (TimingHandler handler : handlers) {
+            for (Map.Entry<String, AsyncTimings.Record> entry : handler.asyncRecords.entrySet()) {
+                writeAsyncHandler(out, "sponge_timings_async_time_nanoseconds", handler, entry.getKey()).append(entry.getValue().totalTime.sum())
+                        .append('\n');
+            }
+        }
+
+        final TimingHistory.MinuteReport report = TimingsManager.lastMinuteReport;
+        if (report == null) {
+            return;
+        }
+        out.append("# HELP sponge_tps Ticks per second over the last full minute\n")
+                .append("# TYPE sponge_tps gauge\n")
+                .append("sponge_tps ").append(report.tps).append('\n')
+                .append("# HELP sponge_ping_average_milliseconds Average player ping at the end of the last full minute\n")
+                .append("# TYPE sponge_ping_average_milliseconds gauge\n")
+                .append("sponge_ping_average_milliseconds ").append(report.pingRecord.avg).append('\n')
+                .append("# HELP sponge_tick_time_nanoseconds Time spent in server ticks over the last full minute\n")
+                .append("# TYPE sponge_tick_time_nanoseconds gauge\n")
+                .append("sponge_tick_time_nanoseconds ").append(report.fst.totalTime).append('\n')
+                .append("# HELP sponge_ticks Ticks of each kind over the last full minute\n")
+                .append("# TYPE sponge_ticks gauge\n")
+                .append("sponge_ticks{type=\"server\"} ").append(report.ticksRecord.timed).append('\n')
+                .append("sponge_ticks{type=\"player\"} ").append(report.ticksRecord.player).append('\n')
+                .append("sponge_ticks{type=\"entity\"} ").append(report.ticksRecord.entity).append('\n')
+                .append("sponge_ticks{type=\"activated_entity\"} ").append(report.ticksRecord.activatedEntity).append('\n')
+                .append("sponge_ticks{type=\"tile_entity\"} ").append(report.ticksRecord.tileEntity).append('\n')
+                .append("# HELP sponge_entity_collisions_skipped Entity collisions, or whole collision checks when crammed, skipped over the last full minute\n")
+                .append("# TYPE sponge_entity_collisions_skipped gauge\n")
+                .append("sponge_entity_collisions_skipped{reason=\"max_collisions\"} ").append(report.ticksRecord.skippedCollisions).append('\n')
+                .append("sponge_entity_collisions_skipped{reason=\"cramming\"} ").append(report.ticksRecord.crammedCollisionChecks).append('\n')
+                .append("# HELP sponge_memory_used_bytes Average used memory over the last full minute\n")
+                .append("# TYPE sponge_memory_used_bytes gauge\n")
+                .append("sponge_memory_used_bytes ").append((long) report.usedMemory).append('\n')
+                .append("# HELP sponge_memory_free_bytes Average free memory over the last full minute\n")
+                .append("# TYPE sponge_memory_free_bytes gauge\n")
+                .append("sponge_memory_free_bytes ").append((long) report.freeMemory).append('\n');
+    }
+
+    private static StringBuilder writeHandler(StringBuilder out, String metric, TimingHandler handler) {
+        out.append(metric).append("{group=\"");
+        escape(out, handler.groupName);
+        out.append("\",name=\"");
+        escape(out, handler.name);
+        return out.append("\"} ");
+    }
+
+    private static StringBuilder writeAsyncHandler(StringBuilder out, String metric, TimingHandler handler, String pool) {
+        out.append(metric).append("{pool=\"");
+        escape(out, pool);
+        out.append("\",group=\"");
+        escape(out, handler.groupName);
+        out.append("\",name=\"");
+        escape(out, handler.name);
+        return out.append("\"} ");
+    }
+
+    private static void escape(StringBuilder out, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '\\':
+                    out.append("\\\\");
+                    break;
+                case '"':
+                    out.append("\\\"");
+                    break;
+                case '\n':
+                    out.append("\\n");
+                    break;
+                default:
+                    out.append(c);
+            }
+        }
+    }
+
+}
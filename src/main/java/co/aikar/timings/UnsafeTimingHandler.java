@@ -24,30 +24,13 @@
  */
 package co.aikar.timings;
 
-import net.minecraft.server.MinecraftServer;
-
+/**
+ * A timing handler created on behalf of a plugin. Timings started off the
+ * main thread are tracked per thread, so these may be used from any thread.
+ */
 class UnsafeTimingHandler extends TimingHandler {
 
     UnsafeTimingHandler(TimingIdentifier id) {
         super(id);
     }
-
-    private static void checkThread() {
-        if (!MinecraftServer.getServer().isCallingFromMinecraftThread()) {
-            throw new IllegalStateException("Calling Timings from Async Operation");
-        }
-    }
-
-    @Override
-    public TimingHandler startTiming() {
-        checkThread();
-        super.startTiming();
-        return this;
-    }
-
-    @Override
-    public void stopTiming() {
-        checkThread();
-        super.stopTiming();
-    }
 }
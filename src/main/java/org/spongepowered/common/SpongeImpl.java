@@ -117,6 +117,10 @@ public static boolean postEvent(Event event) {
         return getGame().getEventManager().post(event);
     }
 
+    public static boolean hasListener(Class<? extends Event> eventClass) {
+        return ((SpongeEventManager) getGame().getEventManager()).hasListener(eventClass);
+    }
+
     public static Logger getLogger() {
         return getInstance().logger;
     }
@@ -159,12 +163,23 @@ public static SpongeConfig<SpongeConfig.GlobalConfig> getGlobalConfig() {
 
     public static void postState(Class<? extends GameStateEvent> type, GameState state) {
         getGame().setState(state);
+        if (state == GameState.SERVER_ABOUT_TO_START) {
+            SpongeEventManager eventManager = (SpongeEventManager) getGame().getEventManager();
+            eventManager.getListenerStats().setWarnThreshold(getGlobalConfig().getConfig().getEventListeners().getSlowListenerThreshold());
+            eventManager.startAsyncEvents(getGlobalConfig().getConfig().getAsyncEvents());
+        }
         ((SpongeEventManager) getGame().getEventManager()).post(SpongeEventFactoryUtils.createState(type, getGame()), true);
+        if (state == GameState.SERVER_STOPPED) {
+            // Every server type gets here, and the client may start another
+            // server in this game later
+            ((SpongeEventManager) getGame().getEventManager()).stopAsyncEvents();
+        }
     }
     
     public static void postShutdownEvents() {
         postState(GameStoppingEvent.class, GameState.GAME_STOPPING);
         postState(GameStoppedEvent.class, GameState.GAME_STOPPED);
+        ((SpongeEventManager) getGame().getEventManager()).stopAsyncEvents();
     }
 
 }
@@ -0,0 +1,116 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.block;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import org.spongepowered.api.data.key.Key;
+import org.spongepowered.api.data.manipulator.ImmutableDataManipulator;
+import org.spongepowered.api.data.value.immutable.ImmutableValue;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import javax.annotation.Nullable;
+
+/**
+ * An immutable index of the data available from a single block state. Block
+ * states never change their data, so everything a data query could ask for
+ * is resolved once and each query afterwards is a single map lookup.
+ *
+ * <p>All fields are final, so an instance is safely published to any thread
+ * that reads a reference to it, even through a racy lazy initialization.</p>
+ */
+public final class BlockStateDataIndex {
+
+    private final ImmutableList<ImmutableDataManipulator<?, ?>> manipulators;
+    private final ImmutableMap<Class<?>, ImmutableDataManipulator<?, ?>> manipulatorsByClass;
+    private final ImmutableMap<Key<?>, ImmutableValue<?>> valuesByKey;
+    private final ImmutableSet<ImmutableValue<?>> values;
+
+    public BlockStateDataIndex(List<ImmutableDataManipulator<?, ?>> manipulators) {
+        this.manipulators = ImmutableList.copyOf(manipulators);
+        final Map<Class<?>, ImmutableDataManipulator<?, ?>> byClass = new LinkedHashMap<>();
+        final Map<Key<?>, ImmutableValue<?>> byKey = new LinkedHashMap<>();
+        final ImmutableSet.Builder<ImmutableValue<?>> valueBuilder = ImmutableSet.builder();
+        for (ImmutableDataManipulator<?, ?> manipulator : this.manipulators) {
+            byClass.putIfAbsent(manipulator.getClass(), manipulator);
+            for (ImmutableValue<?> value : manipulator.getValues()) {
+                byKey.putIfAbsent(value.getKey(), value);
+                valueBuilder.add(value);
+            }
+        }
+        this.manipulatorsByClass = ImmutableMap.copyOf(byClass);
+        this.valuesByKey = ImmutableMap.copyOf(byKey);
+        this.values = valueBuilder.build();
+    }
+
+    public ImmutableList<ImmutableDataManipulator<?, ?>> getManipulators() {
+        return this.manipulators;
+    }
+
+    /**
+     * Gets the manipulator that is an instance of the given class. The exact
+     * implementation class is checked first; interfaces fall back to a scan
+     * of the (typically very short) manipulator list.
+     *
+     * @param containerClass The manipulator class
+     * @return The manipulator, if present
+     */
+    @SuppressWarnings("unchecked")
+    public <T extends ImmutableDataManipulator<?, ?>> Optional<T> getManipulator(Class<T> containerClass) {
+        final ImmutableDataManipulator<?, ?> exact = this.manipulatorsByClass.get(containerClass);
+        if (exact != null) {
+            return Optional.of((T) exact);
+        }
+        for (ImmutableDataManipulator<?, ?> manipulator : this.manipulators) {
+            if (containerClass.isInstance(manipulator)) {
+                return Optional.of((T) manipulator);
+            }
+        }
+        return Optional.empty();
+    }
+
+    @Nullable
+    public ImmutableValue<?> getValue(Key<?> key) {
+        return this.valuesByKey.get(key);
+    }
+
+    public boolean supports(Key<?> key) {
+        return this.valuesByKey.containsKey(key);
+    }
+
+    public ImmutableSet<Key<?>> getKeys() {
+        return this.valuesByKey.keySet();
+    }
+
+    public ImmutableSet<ImmutableValue<?>> getValues() {
+        return this.values;
+    }
+
+}
@@ -27,6 +27,7 @@
 import static org.spongepowered.api.command.args.GenericArguments.dimension;
 import static org.spongepowered.api.command.args.GenericArguments.firstParsing;
 import static org.spongepowered.api.command.args.GenericArguments.flags;
+import static org.spongepowered.api.command.args.GenericArguments.integer;
 import static org.spongepowered.api.command.args.GenericArguments.literal;
 import static org.spongepowered.api.command.args.GenericArguments.optional;
 import static org.spongepowered.api.command.args.GenericArguments.seq;
@@ -59,6 +60,9 @@
 import org.spongepowered.asm.mixin.MixinEnvironment;
 import org.spongepowered.common.SpongeImpl;
 import org.spongepowered.common.config.SpongeConfig;
+import org.spongepowered.common.event.EventListenerStats;
+import org.spongepowered.common.event.RegisteredListener;
+import org.spongepowered.common.event.SpongeEventManager;
 import org.spongepowered.common.interfaces.world.IMixinWorld;
 import org.spongepowered.common.interfaces.world.IMixinWorldProvider;
 import org.spongepowered.common.SpongeVersion;
@@ -70,7 +74,10 @@
 import java.time.Instant;
 import java.time.format.DateTimeFormatter;
 import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 import javax.annotation.Nullable;
@@ -96,6 +103,7 @@ public static CommandSpec getCommand() {
         nonFlagChildren.register(getHeapCommand(), "heap");
         nonFlagChildren.register(getPluginsCommand(), "plugins");
         nonFlagChildren.register(getTimingsCommand(), "timings");
+        nonFlagChildren.register(getEventsCommand(), "events");
         flagChildren.register(getChunksCommand(), "chunks");
         flagChildren.register(getConfigCommand(), "config");
         flagChildren.register(getReloadCommand(), "reload"); // TODO: Should these two be subcommands of config, and what is now config be set?
@@ -110,7 +118,8 @@ INDENT, title("reload"), LONG_INDENT, "Reloads a global, dimension, or world con
                         INDENT, title("save"), LONG_INDENT, "Saves a global, dimension, or world config\n",
                         INDENT, title("version"), LONG_INDENT, "Prints current Sponge version\n",
                         INDENT, title("audit"), LONG_INDENT, "Audit mixin classes for implementation",
-                        INDENT, title("plugins"), LONG_INDENT, "List currently installed plugins"))
+                        INDENT, title("plugins"), LONG_INDENT, "List currently installed plugins\n",
+                        INDENT, title("events"), LONG_INDENT, "List the event listeners taking the most time"))
                 .arguments(firstParsing(nonFlagChildren, flags()
                         .flag("-global", "g")
                         .valueFlag(world(Text.of("world")), "-world", "w")
@@ -411,6 +420,53 @@ INDENT, title("Main class: "), !container.getInstance().isPresent() ? " Virtual
                 }).build();
     }
 
+    private static CommandCallable getEventsCommand() {
+        return CommandSpec.builder()
+                .permission("sponge.command.events")
+                .description(Text.of("Lists the event listeners that spent the most time handling events."))
+                .child(CommandSpec.builder()
+                        .executor((src, args) -> {
+                            getEventManager().getListenerStats().reset();
+                            src.sendMessage(Text.of("Event listener statistics reset"));
+                            return CommandResult.success();
+                        })
+                        .build(), "reset")
+                .arguments(optional(integer(Text.of("count")), 10))
+                .executor((src, args) -> {
+                    final EventListenerStats stats = getEventManager().getListenerStats();
+                    final int count = args.<Integer>getOne("count").get();
+                    List<RegisteredListener<?>> listeners = stats.getListeners().stream()
+                            .filter(listener -> stats.getInvocations(listener) > 0)
+                            .sorted(Comparator.<RegisteredListener<?>>comparingLong(stats::getTotalTime).reversed())
+                            .limit(count)
+                            .collect(Collectors.toList());
+                    if (listeners.isEmpty()) {
+                        src.sendMessage(Text.of("No event listeners were called yet"));
+                        return CommandResult.empty();
+                    }
+
+                    Text.Builder builder = Text.builder().append(title("Event listeners by total time:"));
+                    for (RegisteredListener<?> listener : listeners) {
+                        long invocations = stats.getInvocations(listener);
+                        builder.append(NEWLINE_TEXT, Text.of(TextColors.YELLOW, listener.getPlugin().getId(), " "),
+                                Text.of(listener.getName(), " (", listener.getEventClass().getSimpleName(), ")"),
+                                NEWLINE_TEXT, Text.of(TextColors.GRAY, INDENT, String.format("calls: %d, total: %.2fms, avg: %dµs, max: %dµs, errors: %d",
+                                        invocations,
+                                        stats.getTotalTime(listener) / 1000000D,
+                                        TimeUnit.NANOSECONDS.toMicros(stats.getTotalTime(listener) / invocations),
+                                        TimeUnit.NANOSECONDS.toMicros(stats.getMaxTime(listener)),
+                                        stats.getExceptions(listener))));
+                    }
+                    src.sendMessage(builder.build());
+                    return CommandResult.success();
+                })
+                .build();
+    }
+
+    private static SpongeEventManager getEventManager() {
+        return (SpongeEventManager) SpongeImpl.getGame().getEventManager();
+    }
+
     private static CommandCallable getTimingsCommand() {
         return CommandSpec.builder()
                 .permission("sponge.command.timings")
@@ -436,6 +492,16 @@ private static CommandCallable getTimingsCommand() {
                             return CommandResult.success();
                         })
                         .build(), "report", "paste")
+                .child(CommandSpec.builder()
+                        .executor((src, args) -> {
+                            if (!Timings.isTimingsEnabled()) {
+                                src.sendMessage(Text.of("Please enable timings by typing /sponge timings on"));
+                                return CommandResult.empty();
+                            }
+                            SpongeTimingsFactory.exportReport(src);
+                            return CommandResult.success();
+                        })
+                        .build(), "export")
                 .child(CommandSpec.builder()
                         .executor((src, args) -> {
                             Timings.setTimingsEnabled(true);
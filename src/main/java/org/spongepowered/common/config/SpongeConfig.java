@@ -83,6 +83,8 @@ public enum Type {
     public static final String ENTITY_MAX_BOUNDING_BOX_SIZE = "max-bounding-box-size";
     public static final String ENTITY_MAX_SPEED = "max-speed";
     public static final String ENTITY_COLLISION_WARN_SIZE = "collision-warn-size";
+    public static final String ENTITY_MAX_COLLISIONS_PER_TICK = "max-collisions-per-tick";
+    public static final String ENTITY_MAX_CRAMMING = "max-entity-cramming";
     public static final String ENTITY_COUNT_WARN_SIZE = "count-warn-size";
     public static final String ENTITY_ITEM_DESPAWN_RATE = "item-despawn-rate";
     public static final String ENTITY_ACTIVATION_RANGE_CREATURE = "creature-activation-range";
@@ -131,6 +133,24 @@ public enum Type {
     public static final String MODULE_BUNGEECORD = "bungeecord";
     public static final String MODULE_SHUTDOWN_ON_EULA = "shutdown-on-eula";
 
+    // EVENT LISTENERS
+    public static final String EVENT_LISTENERS = "event-listeners";
+    public static final String EVENT_LISTENERS_SLOW_THRESHOLD = "slow-listener-threshold";
+
+    // ASYNC EVENTS
+    public static final String ASYNC_EVENTS = "async-events";
+    public static final String ASYNC_EVENTS_ENABLED = "enabled";
+    public static final String ASYNC_EVENTS_EVENT_TYPES = "event-types";
+    public static final String ASYNC_EVENTS_THREADS = "threads";
+    public static final String ASYNC_EVENTS_QUEUE_SIZE = "queue-size";
+    public static final String ASYNC_EVENTS_BACK_PRESSURE = "back-pressure";
+
+    // ASYNC SCHEDULER
+    public static final String ASYNC_SCHEDULER = "async-scheduler";
+    public static final String ASYNC_SCHEDULER_THREADS = "threads";
+    public static final String ASYNC_SCHEDULER_MAX_THREADS = "max-threads";
+    public static final String ASYNC_SCHEDULER_WORK_STEALING = "work-stealing";
+
     // WORLD
     public static final String WORLD_PVP_ENABLED = "pvp-enabled";
     public static final String WORLD_ENABLED = "world-enabled";
@@ -139,6 +159,7 @@ public enum Type {
     public static final String WORLD_KEEP_SPAWN_LOADED = "keep-spawn-loaded";
     public static final String WORLD_LOAD_ON_STARTUP = "load-on-startup";
     public static final String WORLD_GEN_MODIFIERS = "world-generation-modifiers";
+    public static final String WORLD_ASYNC_CHUNK_GENERATION = "async-chunk-generation";
 
     private static final String HEADER = "1.0\n"
             + "\n"
@@ -253,6 +274,15 @@ public static class GlobalConfig extends ConfigBase {
         @Setting(MODULE_SHUTDOWN_ON_EULA)
         private ShutdownOnEulaCategory eulaShutdown = new ShutdownOnEulaCategory();
 
+        @Setting(value = EVENT_LISTENERS)
+        private EventListenersCategory eventListeners = new EventListenersCategory();
+
+        @Setting(value = ASYNC_EVENTS, comment = "Configuration options related to delivering events to POST order listeners off the main thread")
+        private AsyncEventsCategory asyncEvents = new AsyncEventsCategory();
+
+        @Setting(value = ASYNC_SCHEDULER, comment = "Configuration options related to the threads running asynchronous plugin tasks")
+        private AsyncSchedulerCategory asyncScheduler = new AsyncSchedulerCategory();
+
         public BungeeCordCategory getBungeeCord() {
             return this.bungeeCord;
         }
@@ -273,6 +303,18 @@ public ModuleCategory getModules() {
             return this.mixins;
         }
 
+        public EventListenersCategory getEventListeners() {
+            return this.eventListeners;
+        }
+
+        public AsyncEventsCategory getAsyncEvents() {
+            return this.asyncEvents;
+        }
+
+        public AsyncSchedulerCategory getAsyncScheduler() {
+            return this.asyncScheduler;
+        }
+
         public Map<String, Predicate<InetAddress>> getIpSets() {
             return ImmutableMap.copyOf(Maps.transformValues(this.ipSets, new Function<List<IpSet>, Predicate<InetAddress>>() {
                 @Nullable
@@ -488,6 +530,12 @@ public static class EntityCategory extends Category {
         @Setting(value = ENTITY_COLLISION_WARN_SIZE,
                 comment = "Number of colliding entities in one spot before logging a warning. Set to 0 to disable")
         private int maxCollisionSize = 200;
+        @Setting(value = ENTITY_MAX_COLLISIONS_PER_TICK,
+                comment = "Max number of entities a living entity will push, or be pushed by, each tick. Set to 0 to disable")
+        private int maxCollisionsPerTick = 8;
+        @Setting(value = ENTITY_MAX_CRAMMING,
+                comment = "Max number of living entities in one block space that check for collisions each tick. Set to 0 to disable")
+        private int maxEntityCramming = 24;
         @Setting(value = ENTITY_COUNT_WARN_SIZE,
                 comment = "Number of entities in one dimension before logging a warning. Set to 0 to disable")
         private int maxCountWarnSize = 0;
@@ -524,6 +572,22 @@ public void setMaxCollisionSize(int maxCollisionSize) {
             this.maxCollisionSize = maxCollisionSize;
         }
 
+        public int getMaxCollisionsPerTick() {
+            return this.maxCollisionsPerTick;
+        }
+
+        public void setMaxCollisionsPerTick(int maxCollisionsPerTick) {
+            this.maxCollisionsPerTick = maxCollisionsPerTick;
+        }
+
+        public int getMaxEntityCramming() {
+            return this.maxEntityCramming;
+        }
+
+        public void setMaxEntityCramming(int maxEntityCramming) {
+            this.maxEntityCramming = maxEntityCramming;
+        }
+
         public int getMaxCountWarnSize() {
             return this.maxCountWarnSize;
         }
@@ -580,6 +644,95 @@ public boolean shouldShutdownServer() {
         }
     }
 
+    @ConfigSerializable
+    public static class EventListenersCategory extends Category {
+
+        @Setting(value = EVENT_LISTENERS_SLOW_THRESHOLD, comment = "Log event listeners that take longer than this many microseconds "
+                + "to handle a single event. Set to 0 to disable")
+        private int slowListenerThreshold = 0;
+
+        public int getSlowListenerThreshold() {
+            return this.slowListenerThreshold;
+        }
+
+        public void setSlowListenerThreshold(int slowListenerThreshold) {
+            this.slowListenerThreshold = slowListenerThreshold;
+        }
+    }
+
+    @ConfigSerializable
+    public static class AsyncEventsCategory extends Category {
+
+        @Setting(value = ASYNC_EVENTS_ENABLED, comment = "If enabled, POST order listeners of the event types below are called on worker threads")
+        private boolean enabled = false;
+
+        @Setting(value = ASYNC_EVENTS_EVENT_TYPES, comment = "Fully qualified names of event types that are safe to deliver off the main thread, "
+                + "including their subtypes. ex. org.spongepowered.api.event.message.MessageChannelEvent$Chat")
+        private List<String> eventTypes = new ArrayList<>();
+
+        @Setting(value = ASYNC_EVENTS_THREADS, comment = "The number of worker threads delivering async events")
+        private int threads = 2;
+
+        @Setting(value = ASYNC_EVENTS_QUEUE_SIZE, comment = "The maximum number of pending deliveries per plugin")
+        private int queueSize = 1024;
+
+        @Setting(value = ASYNC_EVENTS_BACK_PRESSURE, comment = "What to do if a plugin's queue is full. One of 'drop', 'block' or 'caller-runs'")
+        private String backPressure = "drop";
+
+        public boolean isEnabled() {
+            return this.enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public List<String> getEventTypes() {
+            return this.eventTypes;
+        }
+
+        public int getThreads() {
+            return this.threads;
+        }
+
+        public int getQueueSize() {
+            return this.queueSize;
+        }
+
+        public String getBackPressure() {
+            return this.backPressure;
+        }
+    }
+
+    @ConfigSerializable
+    public static class AsyncSchedulerCategory extends Category {
+
+        @Setting(value = ASYNC_SCHEDULER_THREADS, comment = "The number of threads running asynchronous tasks. "
+                + "Tasks of each plugin are queued separately and run in turn, and a single plugin may use at most half of the threads. "
+                + "If all threads are busy while other plugins wait, more are started, up to max-threads, until they are idle again")
+        private int threads = Runtime.getRuntime().availableProcessors();
+
+        @Setting(value = ASYNC_SCHEDULER_MAX_THREADS, comment = "The maximum number of threads running asynchronous tasks, "
+                + "including the ones started while all threads are busy. Never less than threads")
+        private int maxThreads = 2 * Runtime.getRuntime().availableProcessors();
+
+        @Setting(value = ASYNC_SCHEDULER_WORK_STEALING, comment = "If enabled, asynchronous tasks run on a work stealing pool instead. "
+                + "This may improve throughput of many short tasks, but does not queue tasks per plugin")
+        private boolean workStealing = false;
+
+        public int getThreads() {
+            return this.threads;
+        }
+
+        public int getMaxThreads() {
+            return this.maxThreads;
+        }
+
+        public boolean isWorkStealing() {
+            return this.workStealing;
+        }
+    }
+
     @ConfigSerializable
     public static class EntityActivationRangeCategory extends Category {
 
@@ -856,6 +1009,11 @@ public static class WorldCategory extends Category {
         @Setting(value = WORLD_PVP_ENABLED, comment = "Enable if this world allows PVP combat.")
         protected boolean pvpEnabled = true;
 
+        @Setting(value = WORLD_ASYNC_CHUNK_GENERATION, comment = "Enable to generate the terrain of chunks next to newly generated chunks "
+                + "on a background thread, before a player reaches them. Population still runs on the main thread. "
+                + "Only enable this if every generator used by this world is safe to call off the main thread.")
+        protected boolean asyncChunkGeneration = false;
+
         public boolean hasInfiniteWaterSource() {
             return this.infiniteWaterSource;
         }
@@ -903,6 +1061,10 @@ public boolean getPVPEnabled() {
         public void setPVPEnabled(boolean allow) {
             this.pvpEnabled = allow;
         }
+
+        public boolean isAsyncChunkGeneration() {
+            return this.asyncChunkGeneration;
+        }
     }
 
     @ConfigSerializable
@@ -926,6 +1088,18 @@ public static class TimingsCategory extends Category {
         @Setting("history-length")
         private int historyLength = 3600;
 
+        @Setting(value = "upload-reports", comment = "If disabled, timings reports are written to the export directory instead of being uploaded")
+        private boolean uploadReports = true;
+
+        @Setting(value = "export-directory", comment = "The directory, relative to the server directory, that local timings reports are written to")
+        private String exportDirectory = "timings";
+
+        @Setting(value = "metrics-port", comment = "If above 0, live timings are served as plain text metrics on this port. Must not be exposed publicly")
+        private int metricsPort = 0;
+
+        @Setting(value = "metrics-address", comment = "The address the timings metrics endpoint listens on")
+        private String metricsAddress = "127.0.0.1";
+
         public boolean isVerbose() {
             return this.verbose;
         }
@@ -958,6 +1132,22 @@ public void setHistoryLength(int historyLength) {
             this.historyLength = historyLength;
         }
 
+        public boolean isUploadReports() {
+            return this.uploadReports;
+        }
+
+        public String getExportDirectory() {
+            return this.exportDirectory;
+        }
+
+        public int getMetricsPort() {
+            return this.metricsPort;
+        }
+
+        public String getMetricsAddress() {
+            return this.metricsAddress;
+        }
+
     }
 
     @ConfigSerializable
@@ -55,6 +55,17 @@
 
     boolean supports(DataHolder dataHolder);
 
+    /**
+     * Gets the type every {@link DataHolder} supported by this processor is
+     * an instance of. Holders of other types are known to be unsupported
+     * without calling {@link #supports(DataHolder)}.
+     *
+     * @return The supported holder type
+     */
+    default Class<?> getSupportedHolderType() {
+        return Object.class;
+    }
+
     boolean supports(EntityType entityType);
 
     /**
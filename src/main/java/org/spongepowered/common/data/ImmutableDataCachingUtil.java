@@ -24,21 +24,24 @@
  */
 package org.spongepowered.common.data;
 
-import static org.spongepowered.common.util.ReflectionUtil.createUnsafeInstance;
-
 import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
-import org.spongepowered.api.CatalogType;
 import org.spongepowered.api.data.key.Key;
 import org.spongepowered.api.data.manipulator.ImmutableDataManipulator;
 import org.spongepowered.api.data.value.BaseValue;
 import org.spongepowered.api.data.value.immutable.ImmutableValue;
 import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.data.value.immutable.ImmutableSpongeBoundedValue;
+import org.spongepowered.common.data.value.immutable.ImmutableSpongeValue;
+import org.spongepowered.common.util.ReflectionUtil;
 
+import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 import java.util.Arrays;
-import java.util.concurrent.Callable;
-import java.util.concurrent.ExecutionException;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 
 public final class ImmutableDataCachingUtil {
 
@@ -48,16 +51,48 @@ private ImmutableDataCachingUtil() {}
     public static final int MANIPULATOR_CACHE_LIMIT = 100000;
     public static final int VALUE_CACHE_LIMIT = 100000;
 
-    private static final Cache<String, ImmutableDataManipulator<?, ?>> manipulatorCache = CacheBuilder.newBuilder()
+    private static final Cache<CacheKey, ImmutableDataManipulator<?, ?>> manipulatorCache = CacheBuilder.newBuilder()
         .maximumSize(MANIPULATOR_CACHE_LIMIT)
         .concurrencyLevel(4)
         .build();
 
-    private static final Cache<String, ImmutableValue<?>> valueCache = CacheBuilder.newBuilder()
+    private static final Cache<CacheKey, ImmutableValue<?>> valueCache = CacheBuilder.newBuilder()
         .concurrencyLevel(4)
         .maximumSize(VALUE_CACHE_LIMIT)
         .build();
 
+    // Values of booleans and enum constants are few, so they are kept for good
+    private static final Map<CacheKey, ImmutableValue<?>> constantValueCache = new ConcurrentHashMap<>();
+
+    // Constructs instances from the cached arguments, per class
+    private static final Map<Class<?>, Function<Object[], ?>> factories = new ConcurrentHashMap<>();
+
+    static {
+        registerValueFactories();
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static void registerValueFactories() {
+        registerFactory(ImmutableSpongeValue.class, args -> new ImmutableSpongeValue<>((Key) args[0], args[1], args[2]));
+        registerFactory(ImmutableSpongeBoundedValue.class, args -> new ImmutableSpongeBoundedValue<>((Key) args[0], args[1], args[2],
+                (Comparator) args[3], args[4], args[5]));
+    }
+
+    /**
+     * Registers the factory creating instances of the given class from the
+     * arguments passed to {@link #getManipulator(Class, Object...)} or
+     * {@link #getValue(Class, Key, Object, Object, Object...)}. Classes
+     * without a registered factory get one bound to their constructor the
+     * first time an instance is created.
+     *
+     * @param type The class
+     * @param factory The factory
+     * @param <T> The type of the class
+     */
+    public static <T> void registerFactory(Class<T> type, Function<Object[], ? extends T> factory) {
+        factories.put(type, factory);
+    }
+
     /**
      * Retrieves a basic manipulator from {@link Cache}. If the {@link Cache}
      * does not have the desired {@link ImmutableDataManipulator} with relative
@@ -75,56 +110,139 @@ private ImmutableDataCachingUtil() {}
      */
     @SuppressWarnings("unchecked")
     public static <T extends ImmutableDataManipulator<?, ?>> T getManipulator(final Class<T> immutableClass, final Object... args) {
-        final String key = getKey(immutableClass, args);
-        // We can't really use the generic typing here because it's complicated...
-        try {
-            // Let's get the key
-            return (T) ImmutableDataCachingUtil.manipulatorCache.get(key, (Callable<ImmutableDataManipulator<?, ?>>) () -> {
-                    try {
-                        return createUnsafeInstance(immutableClass, args);
-                    } catch (InstantiationException | IllegalAccessException | InvocationTargetException e) {
-                        SpongeImpl.getLogger().error("Could not construct an ImmutableDataManipulator: " + immutableClass.getCanonicalName() + " with the args: "
-                                                     + Arrays.toString(args), e);
-                    }
-                    throw new UnsupportedOperationException("Could not construct the ImmutableDataManipulator: " + immutableClass.getName() + " with the args: "
-                                                            + Arrays.toString(args));
-            });
-        } catch (Throwable e) {
-            throw new UnsupportedOperationException("Could not construct the ImmutableDataManipulator: " + immutableClass.getName(), e);
+        final CacheKey key = new CacheKey(immutableClass, args);
+        ImmutableDataManipulator<?, ?> manipulator = ImmutableDataCachingUtil.manipulatorCache.getIfPresent(key);
+        if (manipulator == null) {
+            try {
+                manipulator = (ImmutableDataManipulator<?, ?>) create(immutableClass, args);
+            } catch (Throwable e) {
+                SpongeImpl.getLogger().error("Could not construct an ImmutableDataManipulator: " + immutableClass.getCanonicalName() + " with the args: "
+                                             + Arrays.toString(args), e);
+                throw new UnsupportedOperationException("Could not construct the ImmutableDataManipulator: " + immutableClass.getName(), e);
+            }
+            ImmutableDataCachingUtil.manipulatorCache.put(key, manipulator);
         }
+        return (T) manipulator;
     }
 
     @SuppressWarnings("unchecked")
     public static <E, V extends ImmutableValue<?>, T extends ImmutableValue<E>> T getValue(final Class<V> valueClass,
             final Key<? extends BaseValue<E>> usedKey, final E defaultArg, final E arg, final Object... extraArgs) {
-        final String key = getKey(valueClass, usedKey.getQuery().asString('.'), arg.getClass(), arg);
-        try {
-            return (T) ImmutableDataCachingUtil.valueCache.get(key, (Callable<ImmutableValue<?>>) () -> {
+        final Object[] args;
+        if (extraArgs == null || extraArgs.length == 0) {
+            args = new Object[] {usedKey, defaultArg, arg};
+        } else {
+            args = new Object[3 + extraArgs.length];
+            args[0] = usedKey;
+            args[1] = defaultArg;
+            args[2] = arg;
+            System.arraycopy(extraArgs, 0, args, 3, extraArgs.length);
+        }
+        final CacheKey key = new CacheKey(valueClass, args);
+        final boolean constant = arg instanceof Boolean || arg instanceof Enum;
+        ImmutableValue<?> value = constant ? ImmutableDataCachingUtil.constantValueCache.get(key) : ImmutableDataCachingUtil.valueCache.getIfPresent(key);
+        if (value == null) {
+            try {
+                value = (ImmutableValue<?>) create(valueClass, args);
+            } catch (Throwable e) {
+                SpongeImpl.getLogger().error("Could not construct an ImmutableValue: " + valueClass.getCanonicalName(), e);
+                throw new UnsupportedOperationException("Could not construct the ImmutableValue: " + valueClass.getName(), e);
+            }
+            if (constant) {
+                ImmutableDataCachingUtil.constantValueCache.put(key, value);
+            } else {
+                ImmutableDataCachingUtil.valueCache.put(key, value);
+            }
+        }
+        return (T) value;
+    }
+
+    private static Object create(final Class<?> type, final Object[] args) throws ReflectiveOperationException {
+        Function<Object[], ?> factory = factories.get(type);
+        if (factory == null) {
+            factory = bindConstructor(type, args);
+            if (factory == null) {
+                return ReflectionUtil.createUnsafeInstance(type, args);
+            }
+            factories.put(type, factory);
+        }
+        return factory.apply(args);
+    }
+
+    /**
+     * Binds a factory to the constructor of the class matching the given
+     * arguments, if it is the only public constructor taking that many
+     * arguments.
+     */
+    private static Function<Object[], ?> bindConstructor(final Class<?> type, final Object[] args) {
+        Constructor<?> match = null;
+        for (Constructor<?> constructor : type.getConstructors()) {
+            if (constructor.getParameterCount() == args.length && !constructor.isVarArgs()) {
+                if (match != null) {
+                    // Overloaded by type, resolve the constructor per call instead
+                    return null;
+                }
+                match = constructor;
+            }
+        }
+        if (match == null) {
+            return null;
+        }
+        for (Object arg : args) {
+            if (arg != null && arg.getClass().isArray()) {
+                // May have to be spread over the parameters, leave it to the reflective lookup
+                return null;
+            }
+        }
+        final Constructor<?> constructor = match;
+        return constructorArgs -> {
+            try {
+                if (constructorArgs.length == constructor.getParameterCount()) {
                     try {
-                        if (extraArgs == null || extraArgs.length == 0) {
-                            return createUnsafeInstance(valueClass, usedKey, defaultArg, arg);
-                        } else {
-                            return createUnsafeInstance(valueClass, usedKey, defaultArg, arg, extraArgs);
-                        }
-                    } catch (InstantiationException | IllegalAccessException | InvocationTargetException e) {
-                        SpongeImpl.getLogger().error("Could not construct an ImmutableValue: " + valueClass.getCanonicalName(), e);
+                        return constructor.newInstance(constructorArgs);
+                    } catch (IllegalArgumentException e) {
+                        // Arguments of other types than the constructor was bound with
                     }
-                    throw new UnsupportedOperationException("Could not construct the ImmutableValue: " + valueClass.getName());
-            });
-        } catch (ExecutionException e) {
-            throw new UnsupportedOperationException("Could not construct the ImmutableValue: " + valueClass.getName(), e);
-        }
+                }
+                return ReflectionUtil.createUnsafeInstance(type, constructorArgs);
+            } catch (InstantiationException | IllegalAccessException e) {
+                throw new IllegalStateException(e);
+            } catch (InvocationTargetException e) {
+                throw new IllegalStateException(e.getCause());
+            }
+        };
     }
 
-    private static String getKey(final Class<?> immutableClass, final Object... args) {
-        final StringBuilder builder = new StringBuilder(immutableClass.getCanonicalName() + ":");
-        for (Object object : args) {
-            if (object instanceof CatalogType) {
-                builder.append("{").append(((CatalogType) object).getId()).append("}");
-            } else {
-                builder.append("{").append(object.toString()).append("}");
+    /**
+     * Identifies a cached instance by its class and constructor arguments.
+     */
+    private static final class CacheKey {
+
+        private final Class<?> type;
+        private final Object[] args;
+        private final int hashCode;
+
+        CacheKey(Class<?> type, Object[] args) {
+            this.type = type;
+            this.args = args;
+            this.hashCode = 31 * type.hashCode() + Arrays.deepHashCode(args);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof CacheKey)) {
+                return false;
             }
+            final CacheKey other = (CacheKey) obj;
+            return this.hashCode == other.hashCode && this.type == other.type && Arrays.deepEquals(this.args, other.args);
+        }
+
+        @Override
+        public int hashCode() {
+            return this.hashCode;
         }
-        return builder.toString();
     }
 }
@@ -139,6 +139,17 @@
      */
     boolean supports(ValueContainer<?> container);
 
+    /**
+     * Gets the type every {@link ValueContainer} supported by this processor
+     * is an instance of. Containers of other types are known to be
+     * unsupported without calling {@link #supports(ValueContainer)}.
+     *
+     * @return The supported container type
+     */
+    default Class<?> getSupportedContainerType() {
+        return Object.class;
+    }
+
     /**
      * Offers the provided {@link BaseValue} containing a value of the
      * appropriate value type of this {@link ValueProcessor} to offer
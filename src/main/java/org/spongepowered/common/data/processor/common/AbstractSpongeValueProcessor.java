@@ -72,6 +72,11 @@ public boolean supports(ValueContainer<?> container) {
         return this.containerClass.isInstance(container) && supports((C) container);
     }
 
+    @Override
+    public Class<?> getSupportedContainerType() {
+        return this.containerClass;
+    }
+
 
     @Override
     public final Key<? extends BaseValue<E>> getKey() {
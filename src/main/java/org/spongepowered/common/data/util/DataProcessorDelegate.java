@@ -40,11 +40,26 @@
 import org.spongepowered.common.SpongeImpl;
 import org.spongepowered.common.data.DataProcessor;
 
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * Handles processing on multiple {@link DataProcessor} registrations of a
+ * manipulator.
+ *
+ * <p>The processors which may support a type of {@link DataHolder} are
+ * looked up once per holder class, based on their
+ * {@link DataProcessor#getSupportedHolderType() supported holder type}. Only
+ * the processor handling a holder is timed.</p>
+ *
+ * @param <M> The type of manipulator
+ * @param <I> The type of immutable manipulator
+ */
 public final class DataProcessorDelegate<M extends DataManipulator<M, I>, I extends ImmutableDataManipulator<I, M>> implements DataProcessor<M, I> {
 
     private final ImmutableList<Tuple<DataProcessor<M, I>, Timing>> processors;
+    private final Map<Class<?>, ImmutableList<Tuple<DataProcessor<M, I>, Timing>>> processorsByHolder = new ConcurrentHashMap<>();
 
     public DataProcessorDelegate(ImmutableList<DataProcessor<M, I>> processors) {
         ImmutableList.Builder<Tuple<DataProcessor<M, I>, Timing>> builder = ImmutableList.builder();
@@ -54,6 +69,18 @@ public DataProcessorDelegate(ImmutableList<DataProcessor<M, I>> processors) {
         this.processors = builder.build();
     }
 
+    private ImmutableList<Tuple<DataProcessor<M, I>, Timing>> getProcessors(DataHolder dataHolder) {
+        return this.processorsByHolder.computeIfAbsent(dataHolder.getClass(), holderClass -> {
+            ImmutableList.Builder<Tuple<DataProcessor<M, I>, Timing>> builder = ImmutableList.builder();
+            for (Tuple<DataProcessor<M, I>, Timing> tuple : this.processors) {
+                if (tuple.getFirst().getSupportedHolderType().isAssignableFrom(holderClass)) {
+                    builder.add(tuple);
+                }
+            }
+            return builder.build();
+        });
+    }
+
     @Override
     public int getPriority() {
         return Integer.MAX_VALUE;
@@ -61,13 +88,10 @@ public int getPriority() {
 
     @Override
     public boolean supports(DataHolder dataHolder) {
-        for (Tuple<DataProcessor<M, I>, Timing> tuple : this.processors) {
-            tuple.getSecond().startTiming();
+        for (Tuple<DataProcessor<M, I>, Timing> tuple : getProcessors(dataHolder)) {
             if (tuple.getFirst().supports(dataHolder)) {
-                tuple.getSecond().stopTiming();
                 return true;
             }
-            tuple.getSecond().stopTiming();
         }
         return false;
     }
@@ -79,34 +103,30 @@ public boolean supports(EntityType entityType) {
 
     @Override
     public Optional<M> from(DataHolder dataHolder) {
-        for (Tuple<DataProcessor<M, I>, Timing> tuple : this.processors) {
-            tuple.getSecond().startTiming();
+        for (Tuple<DataProcessor<M, I>, Timing> tuple : getProcessors(dataHolder)) {
             if (tuple.getFirst().supports(dataHolder)) {
+                tuple.getSecond().startTiming();
                 final Optional<M> optional = tuple.getFirst().from(dataHolder);
                 tuple.getSecond().stopTiming();
                 if (optional.isPresent()) {
                     return optional;
                 }
             }
-            tuple.getSecond().stopTiming();
-
         }
         return Optional.empty();
     }
 
     @Override
     public Optional<M> fill(DataHolder dataHolder, M manipulator, MergeFunction overlap) {
-        for (Tuple<DataProcessor<M, I>, Timing> tuple : this.processors) {
-            tuple.getSecond().startTiming();
+        for (Tuple<DataProcessor<M, I>, Timing> tuple : getProcessors(dataHolder)) {
             if (tuple.getFirst().supports(dataHolder)) {
+                tuple.getSecond().startTiming();
                 final Optional<M> optional = tuple.getFirst().fill(dataHolder, manipulator, overlap);
                 tuple.getSecond().stopTiming();
                 if (optional.isPresent()) {
                     return optional;
                 }
             }
-            tuple.getSecond().stopTiming();
-
         }
         return Optional.empty();
     }
@@ -126,16 +146,15 @@ public Optional<M> fill(DataContainer container, M m) {
 
     @Override
     public DataTransactionResult set(DataHolder dataHolder, M manipulator, MergeFunction function) {
-        for (Tuple<DataProcessor<M, I>, Timing> tuple : this.processors) {
-            tuple.getSecond().startTiming();
+        for (Tuple<DataProcessor<M, I>, Timing> tuple : getProcessors(dataHolder)) {
             if (tuple.getFirst().supports(dataHolder)) {
+                tuple.getSecond().startTiming();
                 final DataTransactionResult result = tuple.getFirst().set(dataHolder, manipulator, function);
+                tuple.getSecond().stopTiming();
                 if (!result.getType().equals(DataTransactionResult.Type.FAILURE)) {
-                    tuple.getSecond().stopTiming();
                     return result;
                 }
             }
-            tuple.getSecond().stopTiming();
         }
         return DataTransactionResult.failResult(manipulator.asImmutable().getValues());
     }
@@ -156,33 +175,30 @@ public Optional<I> with(Key<? extends BaseValue<?>> key, Object value, I immutab
 
     @Override
     public DataTransactionResult remove(DataHolder dataHolder) {
-        for (Tuple<DataProcessor<M, I>, Timing> tuple : this.processors) {
-            tuple.getSecond().startTiming();
+        for (Tuple<DataProcessor<M, I>, Timing> tuple : getProcessors(dataHolder)) {
             if (tuple.getFirst().supports(dataHolder)) {
+                tuple.getSecond().startTiming();
                 final DataTransactionResult result = tuple.getFirst().remove(dataHolder);
                 tuple.getSecond().stopTiming();
                 if (!result.getType().equals(DataTransactionResult.Type.FAILURE)) {
                     return result;
                 }
             }
-            tuple.getSecond().stopTiming();
-
         }
         return DataTransactionResult.failNoData();
     }
 
     @Override
     public Optional<M> createFrom(DataHolder dataHolder) {
-        for (Tuple<DataProcessor<M, I>, Timing> tuple : this.processors) {
-            tuple.getSecond().startTiming();
+        for (Tuple<DataProcessor<M, I>, Timing> tuple : getProcessors(dataHolder)) {
             if (tuple.getFirst().supports(dataHolder)) {
+                tuple.getSecond().startTiming();
                 final Optional<M> optional = tuple.getFirst().createFrom(dataHolder);
                 tuple.getSecond().stopTiming();
                 if (optional.isPresent()) {
                     return optional;
                 }
             }
-            tuple.getSecond().stopTiming();
         }
         return Optional.empty();
     }
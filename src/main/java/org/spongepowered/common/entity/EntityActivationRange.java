@@ -0,0 +1,277 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.entity;
+
+import co.aikar.timings.SpongeTimings;
+import gnu.trove.map.hash.TLongObjectHashMap;
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.EntityAgeable;
+import net.minecraft.entity.EntityCreature;
+import net.minecraft.entity.EntityLiving;
+import net.minecraft.entity.EntityLivingBase;
+import net.minecraft.entity.IProjectile;
+import net.minecraft.entity.boss.EntityDragon;
+import net.minecraft.entity.boss.EntityDragonPart;
+import net.minecraft.entity.boss.EntityWither;
+import net.minecraft.entity.effect.EntityWeatherEffect;
+import net.minecraft.entity.item.EntityEnderCrystal;
+import net.minecraft.entity.item.EntityFallingBlock;
+import net.minecraft.entity.item.EntityFireworkRocket;
+import net.minecraft.entity.item.EntityTNTPrimed;
+import net.minecraft.entity.monster.IMob;
+import net.minecraft.entity.passive.EntityAmbientCreature;
+import net.minecraft.entity.passive.EntityAnimal;
+import net.minecraft.entity.passive.EntitySheep;
+import net.minecraft.entity.passive.EntityVillager;
+import net.minecraft.entity.passive.EntityWaterMob;
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.entity.projectile.EntityFireball;
+import net.minecraft.entity.projectile.EntityFishHook;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.util.MathHelper;
+import net.minecraft.world.World;
+import org.spongepowered.common.config.SpongeConfig;
+import org.spongepowered.common.interfaces.entity.IMixinEntity;
+import org.spongepowered.common.util.SpongeHooks;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Decides which entities receive a full tick. Entities outside the
+ * configured activation range of every player only run their
+ * {@link IMixinEntity#inactiveTick()} unless one of the immunity rules
+ * applies to them.
+ */
+public final class EntityActivationRange {
+
+    public static final byte ACTIVATION_TYPE_MONSTER = 1;
+    public static final byte ACTIVATION_TYPE_CREATURE = 2;
+    public static final byte ACTIVATION_TYPE_AQUATIC = 3;
+    public static final byte ACTIVATION_TYPE_AMBIENT = 4;
+    public static final byte ACTIVATION_TYPE_MISC = 5;
+
+    // Inactive entities are woken up this often to re-check their immunities
+    private static final int WAKE_UP_INTERVAL = 20;
+    private static final int MIN_CELL_SHIFT = 4;
+
+    // Players bucketed by grid cell, rebuilt for every world on every tick
+    private static final TLongObjectHashMap<List<EntityPlayer>> playerGrid = new TLongObjectHashMap<>();
+
+    private EntityActivationRange() {
+    }
+
+    /**
+     * Gets the activation type for the given entity, used to pick which
+     * configured range applies to it.
+     *
+     * @param entity The entity
+     * @return The activation type
+     */
+    public static byte initializeEntityActivationType(Entity entity) {
+        if (entity instanceof IMob) {
+            return ACTIVATION_TYPE_MONSTER;
+        } else if (entity instanceof EntityWaterMob) {
+            return ACTIVATION_TYPE_AQUATIC;
+        } else if (entity instanceof EntityAmbientCreature) {
+            return ACTIVATION_TYPE_AMBIENT;
+        } else if (entity instanceof EntityCreature) {
+            return ACTIVATION_TYPE_CREATURE;
+        }
+        return ACTIVATION_TYPE_MISC;
+    }
+
+    /**
+     * Gets whether the given entity must always be ticked, regardless of
+     * the distance to the nearest player.
+     *
+     * @param entity The entity
+     * @return True if the entity is always active
+     */
+    public static boolean initializeEntityActivationState(Entity entity) {
+        return entity instanceof EntityPlayer
+                || entity instanceof IProjectile
+                || entity instanceof EntityFishHook
+                || entity instanceof EntityDragon
+                || entity instanceof EntityDragonPart
+                || entity instanceof EntityWither
+                || entity instanceof EntityFireball
+                || entity instanceof EntityWeatherEffect
+                || entity instanceof EntityTNTPrimed
+                || entity instanceof EntityFallingBlock
+                || entity instanceof EntityEnderCrystal
+                || entity instanceof EntityFireworkRocket;
+    }
+
+    /**
+     * Marks every entity of the world that is within activation range of a
+     * player as active for the current tick. Called once per world tick
+     * before entities are updated.
+     *
+     * @param world The world to activate entities in
+     */
+    public static void activateEntities(World world) {
+        SpongeTimings.entityActivationCheckTimer.startTiming();
+        final SpongeConfig.EntityActivationRangeCategory config =
+                SpongeHooks.getActiveConfig(world).getConfig().getEntityActivationRange();
+        final long currentTick = MinecraftServer.getServer().getTickCounter();
+        final int maxRange = Math.max(Math.max(Math.max(config.getMonsterActivationRange(), config.getCreatureActivationRange()),
+                Math.max(config.getAquaticActivationRange(), config.getAmbientActivationRange())), config.getMiscActivationRange());
+
+        // Cells are at least as wide as the largest range so only the 3x3
+        // cells around an entity can hold a player close enough to it
+        final int cellShift = Math.max(MIN_CELL_SHIFT, 32 - Integer.numberOfLeadingZeros(Math.max(maxRange, 1) - 1));
+        for (EntityPlayer player : world.playerEntities) {
+            if (player.isSpectator()) {
+                continue;
+            }
+            final long key = cellKey(MathHelper.floor_double(player.posX) >> cellShift, MathHelper.floor_double(player.posZ) >> cellShift);
+            List<EntityPlayer> players = playerGrid.get(key);
+            if (players == null) {
+                players = new ArrayList<>(2);
+                playerGrid.put(key, players);
+            }
+            players.add(player);
+        }
+
+        for (int i = 0; i < world.loadedEntityList.size(); i++) {
+            final Entity entity = world.loadedEntityList.get(i);
+            final IMixinEntity spongeEntity = (IMixinEntity) entity;
+            if (spongeEntity.getDefaultActivationState() || spongeEntity.getActivatedTick() >= currentTick) {
+                continue;
+            }
+            final int range = getActivationRange(config, spongeEntity.getActivationType());
+            if (range <= 0 || isPlayerInRange(entity, range, cellShift)) {
+                spongeEntity.setActivatedTick(currentTick);
+            }
+        }
+
+        playerGrid.clear();
+        SpongeTimings.entityActivationCheckTimer.stopTiming();
+    }
+
+    /**
+     * Checks whether the given entity should receive a full tick.
+     *
+     * @param entity The entity about to be ticked
+     * @return True if the entity is active
+     */
+    public static boolean checkIfActive(Entity entity) {
+        final IMixinEntity spongeEntity = (IMixinEntity) entity;
+        if (entity.worldObj.isRemote || !entity.addedToChunk || spongeEntity.getDefaultActivationState()) {
+            return true;
+        }
+
+        SpongeTimings.checkIfActiveTimer.startTiming();
+        final long currentTick = MinecraftServer.getServer().getTickCounter();
+        boolean isActive = spongeEntity.getActivatedTick() >= currentTick;
+        if (!isActive && (currentTick - spongeEntity.getActivatedTick() - 1) % WAKE_UP_INTERVAL == 0) {
+            // Give the entity a full tick every so often and keep it awake
+            // while it is doing something that shouldn't be interrupted
+            if (checkEntityImmunities(entity)) {
+                spongeEntity.setActivatedTick(currentTick + WAKE_UP_INTERVAL);
+            }
+            isActive = true;
+        }
+        SpongeTimings.checkIfActiveTimer.stopTiming();
+        return isActive;
+    }
+
+    private static boolean checkEntityImmunities(Entity entity) {
+        if (entity.inWater || entity.hurtResistantTime > 0) {
+            return true;
+        }
+        if (!entity.onGround || entity.ridingEntity != null || entity.riddenByEntity != null) {
+            return true;
+        }
+        if (Math.abs(entity.motionX) > 0.005D || Math.abs(entity.motionZ) > 0.005D) {
+            return true;
+        }
+        if (entity instanceof EntityLivingBase) {
+            final EntityLivingBase living = (EntityLivingBase) entity;
+            if (living.hurtTime > 0 || !living.getActivePotionEffects().isEmpty()) {
+                return true;
+            }
+            if (entity instanceof EntityLiving && ((EntityLiving) entity).getAttackTarget() != null) {
+                return true;
+            }
+            if (entity instanceof EntityVillager && ((EntityVillager) entity).isMating()) {
+                return true;
+            }
+            if (entity instanceof EntityAnimal) {
+                final EntityAnimal animal = (EntityAnimal) entity;
+                if (animal.isInLove() || entity instanceof EntitySheep && ((EntitySheep) entity).getSheared()) {
+                    return true;
+                }
+            }
+            if (entity instanceof EntityAgeable && ((EntityAgeable) entity).isChild()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isPlayerInRange(Entity entity, int range, int cellShift) {
+        if (playerGrid.isEmpty()) {
+            return false;
+        }
+        final int cellX = MathHelper.floor_double(entity.posX) >> cellShift;
+        final int cellZ = MathHelper.floor_double(entity.posZ) >> cellShift;
+        for (int x = cellX - 1; x <= cellX + 1; x++) {
+            for (int z = cellZ - 1; z <= cellZ + 1; z++) {
+                final List<EntityPlayer> players = playerGrid.get(cellKey(x, z));
+                if (players == null) {
+                    continue;
+                }
+                for (int i = 0; i < players.size(); i++) {
+                    final EntityPlayer player = players.get(i);
+                    if (Math.abs(player.posX - entity.posX) <= range && Math.abs(player.posZ - entity.posZ) <= range) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    private static int getActivationRange(SpongeConfig.EntityActivationRangeCategory config, byte activationType) {
+        switch (activationType) {
+            case ACTIVATION_TYPE_MONSTER:
+                return config.getMonsterActivationRange();
+            case ACTIVATION_TYPE_CREATURE:
+                return config.getCreatureActivationRange();
+            case ACTIVATION_TYPE_AQUATIC:
+                return config.getAquaticActivationRange();
+            case ACTIVATION_TYPE_AMBIENT:
+                return config.getAmbientActivationRange();
+            default:
+                return config.getMiscActivationRange();
+        }
+    }
+
+    private static long cellKey(int cellX, int cellZ) {
+        return ((long) cellX << 32) | (cellZ & 0xFFFFFFFFL);
+    }
+}
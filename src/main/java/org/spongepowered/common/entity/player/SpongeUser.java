@@ -26,13 +26,12 @@
 
 import com.flowpowered.math.vector.Vector3d;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
 import com.mojang.authlib.GameProfile;
-import net.minecraft.nbt.CompressedStreamTools;
 import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.nbt.NBTTagList;
-import net.minecraft.world.storage.SaveHandler;
 import org.spongepowered.api.data.DataContainer;
 import org.spongepowered.api.data.DataSerializable;
 import org.spongepowered.api.data.MemoryDataContainer;
@@ -45,16 +44,12 @@
 import org.spongepowered.api.item.inventory.ItemStack;
 import org.spongepowered.api.item.inventory.equipment.EquipmentType;
 import org.spongepowered.api.item.inventory.type.CarriedInventory;
+import org.spongepowered.common.SpongeImpl;
 import org.spongepowered.common.data.util.DataQueries;
 import org.spongepowered.common.data.util.NbtDataUtil;
 import org.spongepowered.common.registry.type.world.WorldPropertyRegistryModule;
-import org.spongepowered.common.util.SpongeHooks;
-import org.spongepowered.common.world.DimensionManager;
+import org.spongepowered.common.service.user.UserDataStorage;
 
-import java.io.File;
-import java.io.FileInputStream;
-import java.io.FileOutputStream;
-import java.io.IOException;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
@@ -74,6 +69,9 @@
 public class SpongeUser implements ArmorEquipable, Tamer, DataSerializable, Carrier, ISpongeUser {
 
     public static final Set<SpongeUser> dirtyUsers = Sets.newHashSet();
+    // The tags written by writeToNbt, replaced in the stored player data on save
+    private static final Set<String> USER_DATA_KEYS = ImmutableSet.of(NbtDataUtil.USER_SPAWN_X, NbtDataUtil.USER_SPAWN_Y,
+            NbtDataUtil.USER_SPAWN_Z, NbtDataUtil.USER_SPAWN_FORCED, NbtDataUtil.USER_SPAWN_LIST);
 
     private final User self = (User) this; // convenient access
     private final GameProfile profile;
@@ -273,27 +271,23 @@ private void markDirty() {
         dirtyUsers.add(this);
     }
 
+    /**
+     * Queues the user data to be written to the user's data file. The data is
+     * snapshotted on the calling thread and written asynchronously. If the
+     * write fails the user is marked dirty again.
+     */
     public void save() {
-        SaveHandler saveHandler = (SaveHandler) DimensionManager.getWorldFromDimId(0).getSaveHandler();
-        File dataFile = new File(saveHandler.playersDirectory, getUniqueId() + ".dat");
-        NBTTagCompound tag;
-        if (dataFile.isFile()) {
-            try {
-                tag = CompressedStreamTools.readCompressed(new FileInputStream(dataFile));
-            } catch (IOException ignored) {
-                // Nevermind
-                tag = new NBTTagCompound();
+        NBTTagCompound snapshot = new NBTTagCompound();
+        writeToNbt(snapshot);
+        dirtyUsers.remove(this);
+        UserDataStorage.queueSave(getUniqueId(), snapshot, USER_DATA_KEYS).whenComplete((result, error) -> {
+            if (error != null) {
+                // Retry with the next save, the dirty users are only used on the main thread
+                SpongeImpl.getGame().getScheduler().createTaskBuilder()
+                        .execute(this::markDirty)
+                        .submit(SpongeImpl.getPlugin());
             }
-        } else {
-            tag = new NBTTagCompound();
-        }
-        writeToNbt(tag);
-        try {
-            CompressedStreamTools.writeCompressed(tag, new FileOutputStream(dataFile));
-            dirtyUsers.remove(this);
-        } catch (IOException e) {
-            SpongeHooks.logWarning("Failed to save user file {}. {}", dataFile, e);
-        }
+        });
     }
 
     @Override
@@ -0,0 +1,318 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.event;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.spongepowered.api.event.Event;
+import org.spongepowered.api.plugin.PluginContainer;
+import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.config.SpongeConfig;
+
+import java.util.Collection;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Delivers events to listeners on a pool of worker threads.
+ *
+ * <p>Every plugin gets its own bounded queue which is drained by at most one
+ * worker at a time, so a plugin receives its events in the order they were
+ * posted while a slow plugin can't hold back the others. What happens if a
+ * queue is full is decided by the {@link BackPressure} mode.</p>
+ */
+public final class AsyncEventDispatcher {
+
+    /**
+     * The maximum number of deliveries a worker handles for a plugin before
+     * giving other plugins a chance.
+     */
+    private static final int BATCH_SIZE = 64;
+
+    public enum BackPressure {
+        /**
+         * The event is not delivered to the plugin.
+         */
+        DROP,
+        /**
+         * The posting thread waits until there is space in the queue.
+         */
+        BLOCK,
+        /**
+         * The posting thread delivers the event itself.
+         */
+        CALLER_RUNS;
+
+        static BackPressure of(String name) {
+            try {
+                return valueOf(name.toUpperCase(Locale.ENGLISH).replace('-', '_'));
+            } catch (IllegalArgumentException e) {
+                SpongeImpl.getLogger().warn("Unknown async event back-pressure mode '{}', using 'drop'", name);
+                return DROP;
+            }
+        }
+    }
+
+    private final Set<Class<?>> eventTypes;
+    private final EventListenerStats listenerStats;
+    private final ExecutorService executor;
+    private final int queueSize;
+    private final BackPressure backPressure;
+    private final Map<PluginContainer, Lane> lanes = new ConcurrentHashMap<>();
+
+    AsyncEventDispatcher(Set<Class<?>> eventTypes, EventListenerStats listenerStats, int threads, int queueSize, BackPressure backPressure) {
+        checkArgument(threads > 0, "threads must be positive");
+        checkArgument(queueSize > 0, "queueSize must be positive");
+        this.eventTypes = ImmutableSet.copyOf(eventTypes);
+        this.listenerStats = checkNotNull(listenerStats, "listenerStats");
+        this.queueSize = queueSize;
+        this.backPressure = checkNotNull(backPressure, "backPressure");
+        this.executor = Executors.newFixedThreadPool(threads, new ThreadFactoryBuilder()
+                .setNameFormat("Sponge Async Event Thread - #%d")
+                .setDaemon(true)
+                .build());
+    }
+
+    static AsyncEventDispatcher of(SpongeConfig.AsyncEventsCategory config, ClassLoader classLoader, EventListenerStats listenerStats) {
+        ImmutableSet.Builder<Class<?>> eventTypes = ImmutableSet.builder();
+        for (String name : config.getEventTypes()) {
+            try {
+                Class<?> type = Class.forName(name, false, classLoader);
+                if (Event.class.isAssignableFrom(type)) {
+                    eventTypes.add(type);
+                } else {
+                    SpongeImpl.getLogger().warn("Async event type {} is not an event", name);
+                }
+            } catch (ClassNotFoundException e) {
+                SpongeImpl.getLogger().warn("Unknown async event type {}", name);
+            }
+        }
+        return new AsyncEventDispatcher(eventTypes.build(), listenerStats, config.getThreads(), config.getQueueSize(),
+                BackPressure.of(config.getBackPressure()));
+    }
+
+    /**
+     * Gets whether events of the given type may be delivered off the thread
+     * they were posted on.
+     *
+     * @param eventClass The event type
+     * @return True if the event type is safe to deliver asynchronously
+     */
+    boolean isAsync(Class<?> eventClass) {
+        for (Class<?> type : this.eventTypes) {
+            if (type.isAssignableFrom(eventClass)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    void dispatch(Event event, RegisteredListener<?>[] handlers) {
+        final long now = System.nanoTime();
+        for (RegisteredListener<?> handler : handlers) {
+            getLane(handler.getPlugin()).offer(new Delivery(event, handler, now));
+        }
+    }
+
+    private Lane getLane(PluginContainer plugin) {
+        Lane lane = this.lanes.get(plugin);
+        if (lane == null) {
+            lane = this.lanes.computeIfAbsent(plugin, Lane::new);
+        }
+        return lane;
+    }
+
+    public Collection<Lane> getLanes() {
+        return ImmutableList.copyOf(this.lanes.values());
+    }
+
+    void shutdown() {
+        this.executor.shutdown();
+        try {
+            if (!this.executor.awaitTermination(5, TimeUnit.SECONDS)) {
+                SpongeImpl.getLogger().warn("Async event threads did not finish in time, dropping pending events");
+                this.executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            this.executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static final class Delivery {
+
+        final Event event;
+        final RegisteredListener<?> handler;
+        final long queued;
+
+        Delivery(Event event, RegisteredListener<?> handler, long queued) {
+            this.event = event;
+            this.handler = handler;
+            this.queued = queued;
+        }
+
+    }
+
+    /**
+     * The queue of pending deliveries of a single plugin.
+     */
+    public final class Lane implements Runnable {
+
+        private final PluginContainer plugin;
+        private final BlockingQueue<Delivery> queue = new ArrayBlockingQueue<>(AsyncEventDispatcher.this.queueSize);
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+
+        private final AtomicLong delivered = new AtomicLong();
+        private final AtomicLong dropped = new AtomicLong();
+        private final AtomicLong totalLatency = new AtomicLong();
+        private final AtomicLong maxLatency = new AtomicLong();
+
+        Lane(PluginContainer plugin) {
+            this.plugin = plugin;
+        }
+
+        public PluginContainer getPlugin() {
+            return this.plugin;
+        }
+
+        /**
+         * Gets the number of deliveries waiting to be handled.
+         *
+         * @return The queue depth
+         */
+        public int getQueueDepth() {
+            return this.queue.size();
+        }
+
+        public long getDeliveredCount() {
+            return this.delivered.get();
+        }
+
+        public long getDroppedCount() {
+            return this.dropped.get();
+        }
+
+        /**
+         * Gets the average time in nanoseconds between an event being posted
+         * and the listener being called.
+         *
+         * @return The average latency
+         */
+        public long getAverageLatency() {
+            long delivered = this.delivered.get();
+            return delivered == 0 ? 0 : this.totalLatency.get() / delivered;
+        }
+
+        public long getMaxLatency() {
+            return this.maxLatency.get();
+        }
+
+        void offer(Delivery delivery) {
+            if (!this.queue.offer(delivery)) {
+                switch (AsyncEventDispatcher.this.backPressure) {
+                    case BLOCK:
+                        try {
+                            this.queue.put(delivery);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                            this.dropped.incrementAndGet();
+                            return;
+                        }
+                        break;
+                    case CALLER_RUNS:
+                        deliver(delivery);
+                        return;
+                    default:
+                        this.dropped.incrementAndGet();
+                        return;
+                }
+            }
+            schedule();
+        }
+
+        private void schedule() {
+            if (this.scheduled.compareAndSet(false, true)) {
+                try {
+                    AsyncEventDispatcher.this.executor.execute(this);
+                } catch (RejectedExecutionException e) {
+                    // Shutting down, deliver what is left on this thread
+                    this.scheduled.set(false);
+                    Delivery delivery;
+                    while ((delivery = this.queue.poll()) != null) {
+                        deliver(delivery);
+                    }
+                }
+            }
+        }
+
+        @Override
+        public void run() {
+            Delivery delivery;
+            for (int i = 0; i < BATCH_SIZE && (delivery = this.queue.poll()) != null; i++) {
+                deliver(delivery);
+            }
+            this.scheduled.set(false);
+            if (!this.queue.isEmpty()) {
+                schedule();
+            }
+        }
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        private void deliver(Delivery delivery) {
+            long latency = System.nanoTime() - delivery.queued;
+            this.totalLatency.addAndGet(latency);
+            long max;
+            while (latency > (max = this.maxLatency.get()) && !this.maxLatency.compareAndSet(max, latency)) {
+                // Retry until the max is updated or another thread set a larger value
+            }
+            boolean failed = false;
+            final long start = System.nanoTime();
+            try {
+                ((RegisteredListener) delivery.handler).handle(delivery.event);
+            } catch (Throwable e) {
+                failed = true;
+                SpongeImpl.getLogger().error("Could not pass {} to {}", delivery.event.getClass().getSimpleName(), this.plugin, e);
+            }
+            AsyncEventDispatcher.this.listenerStats.record(delivery.handler, delivery.event, System.nanoTime() - start, failed);
+            this.delivered.incrementAndGet();
+        }
+
+    }
+
+}
@@ -0,0 +1,211 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.event;
+
+import com.google.common.collect.ImmutableList;
+import org.spongepowered.api.event.Event;
+import org.spongepowered.common.SpongeImpl;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import javax.annotation.Nullable;
+
+/**
+ * Always-on execution statistics of event listeners, stored in primitive
+ * arrays indexed by the {@link RegisteredListener#getStatsSlot() slot} of
+ * each registered listener.
+ *
+ * <p>The arrays are split into fixed size pages, so adding a page never
+ * copies counters that are being updated, and the counters are updated
+ * atomically since listeners are also called from the async event threads.
+ * The slot of an unregistered listener is reused by the next registered
+ * one.</p>
+ */
+public final class EventListenerStats {
+
+    private static final int PAGE_SHIFT = 6;
+    private static final int PAGE_SIZE = 1 << PAGE_SHIFT;
+    private static final int PAGE_MASK = PAGE_SIZE - 1;
+
+    // The counters of a slot, stored next to each other
+    private static final int INVOCATIONS = 0;
+    private static final int TOTAL_TIME = 1;
+    private static final int MAX_TIME = 2;
+    private static final int EXCEPTIONS = 3;
+    private static final int COUNTERS = 4;
+
+    private static final class Page {
+
+        final AtomicReferenceArray<RegisteredListener<?>> listeners = new AtomicReferenceArray<>(PAGE_SIZE);
+        final AtomicLongArray counters = new AtomicLongArray(PAGE_SIZE * COUNTERS);
+
+    }
+
+    private volatile Page[] pages = {new Page()};
+    // Guarded by this
+    private final BitSet usedSlots = new BitSet();
+    private volatile long warnThreshold = Long.MAX_VALUE;
+
+    /**
+     * Sets the time in microseconds after which a single listener invocation
+     * is logged as slow, or {@code 0} to disable logging.
+     *
+     * @param micros The threshold in microseconds
+     */
+    public void setWarnThreshold(long micros) {
+        this.warnThreshold = micros <= 0 ? Long.MAX_VALUE : TimeUnit.MICROSECONDS.toNanos(micros);
+    }
+
+    synchronized void register(RegisteredListener<?> listener) {
+        final int slot = this.usedSlots.nextClearBit(0);
+        Page[] pages = this.pages;
+        if (slot >> PAGE_SHIFT >= pages.length) {
+            pages = Arrays.copyOf(pages, pages.length + 1);
+            pages[pages.length - 1] = new Page();
+            this.pages = pages;
+        }
+        final Page page = pages[slot >> PAGE_SHIFT];
+        final int index = slot & PAGE_MASK;
+        for (int i = 0; i < COUNTERS; i++) {
+            page.counters.set(index * COUNTERS + i, 0);
+        }
+        page.listeners.set(index, listener);
+        this.usedSlots.set(slot);
+        listener.setStatsSlot(slot);
+    }
+
+    synchronized void unregister(RegisteredListener<?> listener) {
+        final int slot = listener.getStatsSlot();
+        if (slot < 0 || getPage(listener, slot) == null) {
+            return;
+        }
+        this.pages[slot >> PAGE_SHIFT].listeners.set(slot & PAGE_MASK, null);
+        this.usedSlots.clear(slot);
+        listener.setStatsSlot(-1);
+    }
+
+    @Nullable
+    private Page getPage(RegisteredListener<?> listener, int slot) {
+        final Page[] pages = this.pages;
+        if (slot >> PAGE_SHIFT >= pages.length) {
+            return null;
+        }
+        final Page page = pages[slot >> PAGE_SHIFT];
+        // Registered with another event manager, or unregistered meanwhile
+        return page.listeners.get(slot & PAGE_MASK) == listener ? page : null;
+    }
+
+    void record(RegisteredListener<?> listener, Event event, long time, boolean failed) {
+        final int slot = listener.getStatsSlot();
+        final Page page = slot < 0 ? null : getPage(listener, slot);
+        if (page != null) {
+            final AtomicLongArray counters = page.counters;
+            final int base = (slot & PAGE_MASK) * COUNTERS;
+            counters.incrementAndGet(base + INVOCATIONS);
+            counters.addAndGet(base + TOTAL_TIME, time);
+            long max;
+            while (time > (max = counters.get(base + MAX_TIME)) && !counters.compareAndSet(base + MAX_TIME, max, time)) {
+                // Retry with the new maximum
+            }
+            if (failed) {
+                counters.incrementAndGet(base + EXCEPTIONS);
+            }
+        }
+        if (time > this.warnThreshold) {
+            SpongeImpl.getLogger().warn("Listener {} of plugin {} took {}µs to handle {}", listener.getName(), listener.getPlugin().getId(),
+                    TimeUnit.NANOSECONDS.toMicros(time), event.getClass().getSimpleName());
+        }
+    }
+
+    private long get(RegisteredListener<?> listener, int counter) {
+        final int slot = listener.getStatsSlot();
+        final Page page = slot < 0 ? null : getPage(listener, slot);
+        return page == null ? 0 : page.counters.get((slot & PAGE_MASK) * COUNTERS + counter);
+    }
+
+    /**
+     * Gets all currently registered listeners.
+     *
+     * @return The listeners
+     */
+    public List<RegisteredListener<?>> getListeners() {
+        final ImmutableList.Builder<RegisteredListener<?>> listeners = ImmutableList.builder();
+        for (Page page : this.pages) {
+            for (int i = 0; i < PAGE_SIZE; i++) {
+                final RegisteredListener<?> listener = page.listeners.get(i);
+                if (listener != null) {
+                    listeners.add(listener);
+                }
+            }
+        }
+        return listeners.build();
+    }
+
+    public long getInvocations(RegisteredListener<?> listener) {
+        return get(listener, INVOCATIONS);
+    }
+
+    /**
+     * Gets the total time the listener spent handling events, in nanoseconds.
+     *
+     * @param listener The listener
+     * @return The total time
+     */
+    public long getTotalTime(RegisteredListener<?> listener) {
+        return get(listener, TOTAL_TIME);
+    }
+
+    /**
+     * Gets the longest time the listener spent handling a single event, in
+     * nanoseconds.
+     *
+     * @param listener The listener
+     * @return The maximum time
+     */
+    public long getMaxTime(RegisteredListener<?> listener) {
+        return get(listener, MAX_TIME);
+    }
+
+    public long getExceptions(RegisteredListener<?> listener) {
+        return get(listener, EXCEPTIONS);
+    }
+
+    /**
+     * Resets the statistics of all listeners.
+     */
+    public synchronized void reset() {
+        for (Page page : this.pages) {
+            for (int i = 0; i < page.counters.length(); i++) {
+                page.counters.set(i, 0);
+            }
+        }
+    }
+
+}
@@ -27,19 +27,25 @@
 import static com.google.common.base.Preconditions.checkNotNull;
 
 import com.google.common.collect.Lists;
-import com.google.common.collect.Maps;
 import org.spongepowered.api.event.Cancellable;
 import org.spongepowered.api.event.Event;
 import org.spongepowered.api.event.EventListener;
 import org.spongepowered.api.event.Order;
 import org.spongepowered.api.plugin.PluginContainer;
 
-import java.util.EnumMap;
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
 
 public final class RegisteredListener<T extends Event> implements SpongeEventListener<T>, Comparable<RegisteredListener<?>> {
 
+    private static final AtomicLong SEQUENCE = new AtomicLong();
+
+    // Orders listeners with the same order by registration
+    private final long sequence = SEQUENCE.getAndIncrement();
     private final PluginContainer plugin;
+    private final String name;
 
     private final Class<T> eventClass;
     private final Order order;
@@ -47,19 +53,47 @@
     private final EventListener<? super T> listener;
 
     private final boolean beforeModifications;
+    private volatile int statsSlot = -1;
 
-    RegisteredListener(PluginContainer plugin, Class<T> eventClass, Order order, EventListener<? super T> listener, boolean beforeModifications) {
+    RegisteredListener(PluginContainer plugin, String name, Class<T> eventClass, Order order, EventListener<? super T> listener,
+            boolean beforeModifications) {
         this.plugin = checkNotNull(plugin, "plugin");
+        this.name = checkNotNull(name, "name");
         this.eventClass = checkNotNull(eventClass, "eventClass");
         this.order = checkNotNull(order, "order");
         this.listener = checkNotNull(listener, "listener");
         this.beforeModifications = beforeModifications;
     }
 
+    /**
+     * Gets the slot of this listener in the {@link EventListenerStats} of
+     * the event manager it is registered with, which is reused once it is
+     * unregistered.
+     *
+     * @return The slot, or -1 if not registered
+     */
+    int getStatsSlot() {
+        return this.statsSlot;
+    }
+
+    void setStatsSlot(int statsSlot) {
+        this.statsSlot = statsSlot;
+    }
+
     public PluginContainer getPlugin() {
         return this.plugin;
     }
 
+    /**
+     * Gets a human readable name of this listener, the listener class and
+     * method for annotated listeners.
+     *
+     * @return The name
+     */
+    public String getName() {
+        return this.name;
+    }
+
     public Class<T> getEventClass() {
         return this.eventClass;
     }
@@ -88,34 +122,135 @@ public void handle(T event) throws Exception {
 
     @Override
     public int compareTo(RegisteredListener<?> handler) {
-        return this.order.compareTo(handler.order);
+        int result = this.order.compareTo(handler.order);
+        return result != 0 ? result : Long.compare(this.sequence, handler.sequence);
     }
 
+    /**
+     * An immutable, pre-sorted snapshot of the handlers for an event type.
+     */
     public static final class Cache {
 
-        private final List<RegisteredListener<?>> listeners;
-        private final EnumMap<Order, List<RegisteredListener<?>>> listenersByOrder;
-
         private static final Order[] ORDERS = Order.values();
+        private static final RegisteredListener<?>[] NO_LISTENERS = new RegisteredListener<?>[0];
 
-        Cache(List<RegisteredListener<?>> listeners) {
-            this.listeners = listeners;
+        private final RegisteredListener<?>[] listeners;
+        private final RegisteredListener<?>[][] listenersByOrder;
+        private final boolean async;
+        private final RegisteredListener<?>[] syncListeners;
 
-            this.listenersByOrder = Maps.newEnumMap(Order.class);
-            for (Order order : ORDERS) {
-                this.listenersByOrder.put(order, Lists.<RegisteredListener<?>>newArrayList());
+        Cache(List<RegisteredListener<?>> listeners, boolean async) {
+            this(sort(listeners.toArray(new RegisteredListener<?>[listeners.size()])), async);
+        }
+
+        private Cache(RegisteredListener<?>[] sortedListeners, boolean async) {
+            this.listeners = sortedListeners;
+            this.async = async;
+
+            int[] counts = new int[ORDERS.length];
+            for (RegisteredListener<?> handler : sortedListeners) {
+                counts[handler.getOrder().ordinal()]++;
+            }
+            this.listenersByOrder = new RegisteredListener<?>[ORDERS.length][];
+            for (int i = 0; i < ORDERS.length; i++) {
+                this.listenersByOrder[i] = counts[i] == 0 ? NO_LISTENERS : new RegisteredListener<?>[counts[i]];
+                counts[i] = 0;
             }
-            for (RegisteredListener<?> handler : listeners) {
-                this.listenersByOrder.get(handler.getOrder()).add(handler);
+            for (RegisteredListener<?> handler : sortedListeners) {
+                int ordinal = handler.getOrder().ordinal();
+                this.listenersByOrder[ordinal][counts[ordinal]++] = handler;
             }
+            // POST is the last order, so the listeners which must be called on the posting thread are a prefix
+            this.syncListeners = async ? Arrays.copyOf(sortedListeners, sortedListeners.length - this.listenersByOrder[Order.POST.ordinal()].length)
+                    : sortedListeners;
+        }
+
+        private static RegisteredListener<?>[] sort(RegisteredListener<?>[] listeners) {
+            Arrays.sort(listeners); // Handlers with the same order are sorted by registration
+            return listeners;
+        }
+
+        public boolean isEmpty() {
+            return this.listeners.length == 0;
         }
 
-        public List<RegisteredListener<?>> getListeners() {
+        public RegisteredListener<?>[] getListeners() {
             return this.listeners;
         }
 
-        public List<RegisteredListener<?>> getListenersByOrder(Order order) {
-            return this.listenersByOrder.get(checkNotNull(order, "order"));
+        public RegisteredListener<?>[] getListenersByOrder(Order order) {
+            return this.listenersByOrder[checkNotNull(order, "order").ordinal()];
+        }
+
+        /**
+         * Gets whether the {@link Order#POST} listeners of the event type may
+         * be called asynchronously.
+         *
+         * @return True if the event type is delivered asynchronously
+         */
+        public boolean isAsync() {
+            return this.async;
+        }
+
+        /**
+         * Gets the listeners which must be called on the posting thread. If
+         * the event type is not {@link #isAsync() async} these are all
+         * listeners.
+         *
+         * @return The listeners to call on the posting thread
+         */
+        public RegisteredListener<?>[] getSyncListeners() {
+            return this.syncListeners;
+        }
+
+        /**
+         * Creates a copy of this cache with the given handlers added.
+         *
+         * @param handlers The handlers to add
+         * @return The new cache
+         */
+        Cache with(List<RegisteredListener<?>> handlers) {
+            RegisteredListener<?>[] added = sort(handlers.toArray(new RegisteredListener<?>[handlers.size()]));
+            RegisteredListener<?>[] merged = new RegisteredListener<?>[this.listeners.length + added.length];
+
+            // Both arrays are sorted the same way as a newly baked cache
+            int i = 0;
+            int j = 0;
+            int k = 0;
+            while (i < this.listeners.length && j < added.length) {
+                merged[k++] = added[j].compareTo(this.listeners[i]) < 0 ? added[j++] : this.listeners[i++];
+            }
+            while (i < this.listeners.length) {
+                merged[k++] = this.listeners[i++];
+            }
+            while (j < added.length) {
+                merged[k++] = added[j++];
+            }
+            return new Cache(merged, this.async);
+        }
+
+        /**
+         * Creates a copy of this cache without the handlers matching the
+         * given predicate, or returns this cache if none match.
+         *
+         * @param filter The handlers to remove
+         * @return The new cache, or this cache if nothing changed
+         */
+        Cache without(Predicate<RegisteredListener<?>> filter) {
+            List<RegisteredListener<?>> remaining = null;
+            for (int i = 0; i < this.listeners.length; i++) {
+                if (filter.test(this.listeners[i])) {
+                    if (remaining == null) {
+                        remaining = Lists.newArrayList(Arrays.asList(this.listeners).subList(0, i));
+                    }
+                } else if (remaining != null) {
+                    remaining.add(this.listeners[i]);
+                }
+            }
+            if (remaining == null) {
+                return this;
+            }
+            return new Cache(remaining.toArray(new RegisteredListener<?>[remaining.size()]), this.async);
         }
 
     }
@@ -27,9 +27,6 @@
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 
-import com.google.common.cache.CacheBuilder;
-import com.google.common.cache.CacheLoader;
-import com.google.common.cache.LoadingCache;
 import com.google.common.collect.HashMultimap;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Multimap;
@@ -44,6 +41,7 @@
 import org.spongepowered.api.plugin.PluginManager;
 import org.spongepowered.api.event.EventManager;
 import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.config.SpongeConfig;
 import org.spongepowered.common.event.filter.FilterFactory;
 import org.spongepowered.common.event.gen.DefineableClassLoader;
 
@@ -52,10 +50,13 @@
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Predicate;
 
+import javax.annotation.Nullable;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 
@@ -73,37 +74,34 @@ public class SpongeEventManager implements EventManager {
 
     /**
      * A cache of all the handlers for an event type for quick event posting.
-     * <p>The cache is currently entirely invalidated if handlers are added or
-     * removed.</p>
+     * <p>Entries are immutable and replaced atomically, only for the event
+     * types affected by a handler being added or removed. Writes happen
+     * while holding {@link #lock}, reads never take a lock.</p>
      */
-    private final LoadingCache<Class<? extends Event>, RegisteredListener.Cache> handlersCache =
-            CacheBuilder.newBuilder().build(new CacheLoader<Class<? extends Event>, RegisteredListener.Cache>() {
-                @Override
-                public RegisteredListener.Cache load(Class<? extends Event> eventClass) throws Exception {
-                    return bakeHandlers(eventClass);
-                }
-            });
+    private final Map<Class<?>, RegisteredListener.Cache> handlersCache = new ConcurrentHashMap<>();
+
+    private final EventListenerStats listenerStats = new EventListenerStats();
+    @Nullable private volatile AsyncEventDispatcher asyncDispatcher;
 
     @Inject
     public SpongeEventManager(PluginManager pluginManager) {
         this.pluginManager = checkNotNull(pluginManager, "pluginManager");
     }
 
+    // Must be called while holding the lock
     private RegisteredListener.Cache bakeHandlers(Class<?> rootEvent) {
         List<RegisteredListener<?>> handlers = Lists.newArrayList();
         @SuppressWarnings({"unchecked", "rawtypes"})
         Set<Class<?>> types = (Set) TypeToken.of(rootEvent).getTypes().rawTypes();
 
-        synchronized (this.lock) {
-            for (Class<?> type : types) {
-                if (Event.class.isAssignableFrom(type)) {
-                    handlers.addAll(this.handlersByEvent.get(type));
-                }
+        for (Class<?> type : types) {
+            if (Event.class.isAssignableFrom(type)) {
+                handlers.addAll(this.handlersByEvent.get(type));
             }
         }
 
-        Collections.sort(handlers);
-        return new RegisteredListener.Cache(handlers);
+        AsyncEventDispatcher dispatcher = this.asyncDispatcher;
+        return new RegisteredListener.Cache(handlers, dispatcher != null && dispatcher.isAsync(rootEvent));
     }
 
     private static boolean isValidHandler(Method method) {
@@ -124,16 +122,31 @@ private void register(RegisteredListener<?> handler) {
 
     private void register(List<RegisteredListener<?>> handlers) {
         synchronized (this.lock) {
-            boolean changed = false;
+            List<RegisteredListener<?>> added = Lists.newArrayList();
 
             for (RegisteredListener<?> handler : handlers) {
                 if (this.handlersByEvent.put(handler.getEventClass(), handler)) {
-                    changed = true;
+                    this.listenerStats.register(handler);
+                    added.add(handler);
                 }
             }
 
-            if (changed) {
-                this.handlersCache.invalidateAll();
+            if (added.isEmpty()) {
+                return;
+            }
+
+            // Only rebuild the baked handlers of event types that can receive one of the new handlers
+            List<RegisteredListener<?>> matching = Lists.newArrayList();
+            for (Map.Entry<Class<?>, RegisteredListener.Cache> entry : this.handlersCache.entrySet()) {
+                for (RegisteredListener<?> handler : added) {
+                    if (handler.getEventClass().isAssignableFrom(entry.getKey())) {
+                        matching.add(handler);
+                    }
+                }
+                if (!matching.isEmpty()) {
+                    entry.setValue(entry.getValue().with(matching));
+                    matching.clear();
+                }
             }
         }
     }
@@ -166,7 +179,7 @@ public void registerListener(PluginContainer plugin, Object listenerObject) {
                         continue;
                     }
 
-                    handlers.add(createRegistration(plugin, eventClass, listener, handler));
+                    handlers.add(createRegistration(plugin, handle.getName() + "#" + method.getName(), eventClass, listener, handler));
                 } else {
                     SpongeImpl.getLogger().warn("The method {} on {} has @{} but has the wrong signature", method, handle.getName(),
                             Listener.class.getName());
@@ -178,14 +191,14 @@ public void registerListener(PluginContainer plugin, Object listenerObject) {
         register(handlers);
     }
 
-    private static <T extends Event> RegisteredListener<T> createRegistration(PluginContainer plugin, Class<T> eventClass, Listener listener,
-            EventListener<? super T> handler) {
-        return createRegistration(plugin, eventClass, listener.order(), listener.beforeModifications(), handler);
+    private static <T extends Event> RegisteredListener<T> createRegistration(PluginContainer plugin, String name, Class<T> eventClass,
+            Listener listener, EventListener<? super T> handler) {
+        return new RegisteredListener<>(plugin, name, eventClass, listener.order(), handler, listener.beforeModifications());
     }
 
     private static <T extends Event> RegisteredListener<T> createRegistration(PluginContainer plugin, Class<T> eventClass, Order order,
             boolean beforeModifications, EventListener<? super T> handler) {
-        return new RegisteredListener<>(plugin, eventClass, order, handler, beforeModifications);
+        return new RegisteredListener<>(plugin, handler.getClass().getName(), eventClass, order, handler, beforeModifications);
     }
 
     private PluginContainer getPlugin(Object plugin) {
@@ -224,12 +237,19 @@ private void unregister(Predicate<RegisteredListener<?>> unregister) {
                 RegisteredListener<?> handler = itr.next();
                 if (unregister.test(handler)) {
                     itr.remove();
+                    this.listenerStats.unregister(handler);
                     changed = true;
                 }
             }
 
             if (changed) {
-                this.handlersCache.invalidateAll();
+                for (Map.Entry<Class<?>, RegisteredListener.Cache> entry : this.handlersCache.entrySet()) {
+                    RegisteredListener.Cache cache = entry.getValue();
+                    RegisteredListener.Cache updated = cache.without(unregister);
+                    if (updated != cache) {
+                        entry.setValue(updated);
+                    }
+                }
             }
         }
     }
@@ -247,18 +267,103 @@ public void unregisterPluginListeners(Object pluginObj) {
         unregister(handler -> plugin.equals(handler.getPlugin()));
     }
 
+    /**
+     * Starts delivering the {@link Order#POST} listeners of the configured
+     * event types on worker threads, if enabled and not already started.
+     *
+     * @param config The async events configuration
+     */
+    public void startAsyncEvents(SpongeConfig.AsyncEventsCategory config) {
+        if (!config.isEnabled()) {
+            return;
+        }
+        synchronized (this.lock) {
+            if (this.asyncDispatcher != null) {
+                return;
+            }
+            this.asyncDispatcher = AsyncEventDispatcher.of(config, this.classLoader, this.listenerStats);
+            // Re-bake all handlers with the async flag
+            this.handlersCache.clear();
+        }
+    }
+
+    /**
+     * Stops delivering events on worker threads, finishing pending deliveries
+     * if possible.
+     */
+    public void stopAsyncEvents() {
+        AsyncEventDispatcher dispatcher;
+        synchronized (this.lock) {
+            dispatcher = this.asyncDispatcher;
+            if (dispatcher == null) {
+                return;
+            }
+            this.asyncDispatcher = null;
+            this.handlersCache.clear();
+        }
+        dispatcher.shutdown();
+    }
+
+    public Optional<AsyncEventDispatcher> getAsyncDispatcher() {
+        return Optional.ofNullable(this.asyncDispatcher);
+    }
+
+    /**
+     * Gets the execution statistics of all listeners registered with this
+     * event manager.
+     *
+     * @return The listener statistics
+     */
+    public EventListenerStats getListenerStats() {
+        return this.listenerStats;
+    }
+
+    /**
+     * Gets whether any listener would be called for an event of the given
+     * type, including listeners registered for one of its supertypes.
+     *
+     * <p>This allows callers on hot paths to skip constructing an event (and
+     * its transactions, snapshots and {@link org.spongepowered.api.event.cause.Cause})
+     * entirely if nothing is listening for it.</p>
+     *
+     * @param eventClass The event type
+     * @return True if at least one listener is registered for the event type
+     */
+    public boolean hasListener(Class<? extends Event> eventClass) {
+        return !getHandlerCache(checkNotNull(eventClass, "eventClass")).isEmpty();
+    }
+
     protected RegisteredListener.Cache getHandlerCache(Event event) {
-        return this.handlersCache.getUnchecked(checkNotNull(event, "event").getClass());
+        return getHandlerCache(checkNotNull(event, "event").getClass());
+    }
+
+    private RegisteredListener.Cache getHandlerCache(Class<? extends Event> eventClass) {
+        RegisteredListener.Cache cache = this.handlersCache.get(eventClass);
+        if (cache == null) {
+            // First time this event type is seen, bake it while no handlers can be added or removed
+            synchronized (this.lock) {
+                cache = this.handlersCache.get(eventClass);
+                if (cache == null) {
+                    cache = bakeHandlers(eventClass);
+                    this.handlersCache.put(eventClass, cache);
+                }
+            }
+        }
+        return cache;
     }
 
     @SuppressWarnings("unchecked")
-    protected static boolean post(Event event, List<RegisteredListener<?>> handlers) {
+    protected boolean post(Event event, RegisteredListener<?>[] handlers) {
         for (@SuppressWarnings("rawtypes") RegisteredListener handler : handlers) {
+            boolean failed = false;
+            final long start = System.nanoTime();
             try {
                 handler.handle(event);
             } catch (Throwable e) {
+                failed = true;
                 SpongeImpl.getLogger().error("Could not pass {} to {}", event.getClass().getSimpleName(), handler.getPlugin(), e);
             }
+            this.listenerStats.record(handler, event, System.nanoTime() - start, failed);
         }
 
         return event instanceof Cancellable && ((Cancellable) event).isCancelled();
@@ -266,7 +371,26 @@ protected static boolean post(Event event, List<RegisteredListener<?>> handlers)
 
     @Override
     public boolean post(Event event) {
-        return post(event, getHandlerCache(event).getListeners());
+        RegisteredListener.Cache cache = getHandlerCache(event);
+        if (cache.isAsync()) {
+            boolean cancelled = post(event, cache.getSyncListeners());
+            postAsync(event, cache.getListenersByOrder(Order.POST));
+            return cancelled;
+        }
+        return post(event, cache.getListeners());
+    }
+
+    private void postAsync(Event event, RegisteredListener<?>[] handlers) {
+        if (handlers.length == 0) {
+            return;
+        }
+        AsyncEventDispatcher dispatcher = this.asyncDispatcher;
+        if (dispatcher != null) {
+            dispatcher.dispatch(event, handlers);
+        } else {
+            // Stopped after the handlers were baked
+            post(event, handlers);
+        }
     }
     
     public boolean post(Event event, boolean allowClientThread) {
@@ -274,7 +398,12 @@ public boolean post(Event event, boolean allowClientThread) {
     }
 
     public boolean post(Event event, Order order) {
-        return post(event, getHandlerCache(event).getListenersByOrder(order));
+        RegisteredListener.Cache cache = getHandlerCache(event);
+        if (order == Order.POST && cache.isAsync()) {
+            postAsync(event, cache.getListenersByOrder(order));
+            return event instanceof Cancellable && ((Cancellable) event).isCancelled();
+        }
+        return post(event, cache.getListenersByOrder(order));
     }
 
 }
@@ -30,29 +30,40 @@
 import org.spongepowered.api.block.BlockSnapshot;
 import org.spongepowered.api.entity.living.player.User;
 import org.spongepowered.api.event.cause.Cause;
+import org.spongepowered.api.profile.GameProfile;
 import org.spongepowered.common.entity.PlayerTracker;
+import org.spongepowered.common.world.TrackedBlockTable;
 
-import java.util.Map;
 import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 public interface IMixinChunk {
 
     Cause getCurrentPopulateCause();
 
-    Map<Short, PlayerTracker> getTrackedShortPlayerPositions();
-
-    Map<Integer, PlayerTracker> getTrackedIntPlayerPositions();
+    TrackedBlockTable getTrackedBlocks();
 
     Optional<User> getBlockOwner(BlockPos pos);
 
     Optional<User> getBlockNotifier(BlockPos pos);
 
+    Optional<UUID> getBlockOwnerUUID(BlockPos pos);
+
+    Optional<UUID> getBlockNotifierUUID(BlockPos pos);
+
+    Optional<GameProfile> getBlockOwnerProfile(BlockPos pos);
+
+    Optional<GameProfile> getBlockNotifierProfile(BlockPos pos);
+
+    CompletableFuture<Optional<User>> getBlockOwnerAsync(BlockPos pos);
+
+    CompletableFuture<Optional<User>> getBlockNotifierAsync(BlockPos pos);
+
     IBlockState setBlockState(BlockPos pos, IBlockState newState, IBlockState currentState, BlockSnapshot newBlockSnapshot);
 
     void addTrackedBlockPosition(Block block, BlockPos pos, User user, PlayerTracker.Type trackerType);
 
-    void setTrackedIntPlayerPositions(Map<Integer, PlayerTracker> trackedPlayerPositions);
-
-    void setTrackedShortPlayerPositions(Map<Short, PlayerTracker> trackedPlayerPositions);
+    void setTrackedBlocks(TrackedBlockTable trackedBlocks);
 
 }
@@ -24,10 +24,20 @@
  */
 package org.spongepowered.common.interfaces.block;
 
+import org.spongepowered.common.block.BlockStateDataIndex;
+
 public interface IMixinBlockState {
 
     boolean initialize();
 
     int getStateMeta();
 
+    /**
+     * Gets the precomputed index of all data held by this state, building it
+     * on first use.
+     *
+     * @return The data index
+     */
+    BlockStateDataIndex getDataIndex();
+
 }
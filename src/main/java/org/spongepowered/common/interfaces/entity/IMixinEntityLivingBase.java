@@ -54,4 +54,8 @@ public interface IMixinEntityLivingBase {
     void applyArmorDamage(EntityLivingBase entityLivingBase, DamageSource source, DamageEntityEvent entityEvent, DamageModifier modifier);
 
     boolean hookModAttack(EntityLivingBase entityLivingBase, DamageSource source, float amount);
+
+    int getCollisionCount(long tick);
+
+    void addCollision(long tick);
 }
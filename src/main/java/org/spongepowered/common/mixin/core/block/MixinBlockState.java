@@ -26,9 +26,7 @@
 
 import static com.google.common.base.Preconditions.checkNotNull;
 
-import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
-import com.google.common.collect.ImmutableSet;
 import net.minecraft.block.Block;
 import net.minecraft.block.properties.IProperty;
 import net.minecraft.block.state.BlockStateBase;
@@ -53,6 +51,7 @@
 import org.spongepowered.api.world.World;
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.Shadow;
+import org.spongepowered.common.block.BlockStateDataIndex;
 import org.spongepowered.common.block.SpongeBlockSnapshotBuilder;
 import org.spongepowered.common.data.util.DataQueries;
 import org.spongepowered.common.data.util.DataUtil;
@@ -76,10 +75,7 @@ public abstract class MixinBlockState extends BlockStateBase implements BlockSta
     private ImmutableMap properties;
     @Shadow private Block block;
 
-    private ImmutableSet<ImmutableValue<?>> values;
-    private ImmutableSet<Key<?>> keys;
-    private ImmutableList<ImmutableDataManipulator<?, ?>> manipulators;
-    private ImmutableMap<Key<?>, Object> keyMap;
+    @Nullable private BlockStateDataIndex dataIndex;
 
     @Override
     public BlockType getType() {
@@ -121,34 +117,30 @@ public BlockSnapshot snapshotFor(Location<World> location) {
     }
 
     @Override
-    public List<ImmutableDataManipulator<?, ?>> getManipulators() {
-        if (this.manipulators == null) {
-            this.manipulators = ImmutableList.copyOf(((IMixinBlock) this.block).getManipulators(this));
-            populateKeyValues();
+    public BlockStateDataIndex getDataIndex() {
+        BlockStateDataIndex index = this.dataIndex;
+        if (index == null) {
+            // The index is immutable with only final fields, so a racing thread
+            // at worst builds an identical copy and never sees a partial one.
+            index = new BlockStateDataIndex(((IMixinBlock) this.block).getManipulators(this));
+            this.dataIndex = index;
         }
-        return this.manipulators;
+        return index;
+    }
+
+    @Override
+    public List<ImmutableDataManipulator<?, ?>> getManipulators() {
+        return getDataIndex().getManipulators();
     }
 
-    @SuppressWarnings("unchecked")
     @Override
     public <T extends ImmutableDataManipulator<?, ?>> Optional<T> get(Class<T> containerClass) {
-        for (ImmutableDataManipulator<?, ?> manipulator : this.getManipulators()) {
-            if (containerClass.isInstance(manipulator)) {
-                return Optional.of((T) manipulator);
-            }
-        }
-        return Optional.empty();
+        return getDataIndex().getManipulator(checkNotNull(containerClass));
     }
 
-    @SuppressWarnings("unchecked")
     @Override
     public <T extends ImmutableDataManipulator<?, ?>> Optional<T> getOrCreate(Class<T> containerClass) {
-        for (ImmutableDataManipulator<?, ?> manipulator : this.getManipulators()) {
-            if (containerClass.isInstance(manipulator)) {
-                return Optional.of(((T) manipulator));
-            }
-        }
-        return Optional.empty();
+        return getDataIndex().getManipulator(checkNotNull(containerClass));
     }
 
     @Override
@@ -255,46 +247,20 @@ public BlockState merge(BlockState that, MergeFunction function) {
     @SuppressWarnings("unchecked")
     @Override
     public <E> Optional<E> get(Key<? extends BaseValue<E>> key) {
-        if(this.keyMap == null) {
-            this.populateKeyValues();
-        }
-        if (this.keyMap.containsKey(checkNotNull(key))) {
-            return Optional.of((E) this.keyMap.get(key));
-        }
-        return Optional.empty();
-    }
-
-    private void populateKeyValues() {
-        ImmutableMap.Builder<Key<?>, Object> builder = ImmutableMap.builder();
-        ImmutableSet.Builder<Key<?>> keyBuilder = ImmutableSet.builder();
-        ImmutableSet.Builder<ImmutableValue<?>> valueBuilder = ImmutableSet.builder();
-        for (ImmutableDataManipulator<?, ?> manipulator : this.getManipulators()) {
-            for (ImmutableValue<?> value : manipulator.getValues()) {
-                builder.put(value.getKey(), value.get());
-                valueBuilder.add(value);
-                keyBuilder.add(value.getKey());
-            }
-        }
-        this.values = valueBuilder.build();
-        this.keys = keyBuilder.build();
-        this.keyMap = builder.build();
+        final ImmutableValue<?> value = getDataIndex().getValue(checkNotNull(key));
+        return value == null ? Optional.empty() : Optional.of((E) value.get());
     }
 
     @SuppressWarnings("unchecked")
     @Override
     public <E, V extends BaseValue<E>> Optional<V> getValue(Key<V> key) {
-        checkNotNull(key);
-        for (ImmutableValue<?> value : this.getValues()) {
-            if (value.getKey().equals(key)) {
-                return Optional.of((V) value.asMutable());
-            }
-        }
-        return Optional.empty();
+        final ImmutableValue<?> value = getDataIndex().getValue(checkNotNull(key));
+        return value == null ? Optional.empty() : Optional.of((V) value.asMutable());
     }
 
     @Override
     public boolean supports(Key<?> key) {
-        return this.getKeys().contains(checkNotNull(key));
+        return getDataIndex().supports(checkNotNull(key));
     }
 
     @Override
@@ -304,18 +270,12 @@ public BlockState copy() {
 
     @Override
     public Set<Key<?>> getKeys() {
-        if (this.keys == null) {
-            populateKeyValues();
-        }
-        return this.keys;
+        return getDataIndex().getKeys();
     }
 
     @Override
     public Set<ImmutableValue<?>> getValues() {
-        if (this.values == null) {
-            populateKeyValues();
-        }
-        return this.values;
+        return getDataIndex().getValues();
     }
 
     @Override
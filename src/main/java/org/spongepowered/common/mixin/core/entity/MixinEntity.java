@@ -90,6 +90,7 @@
 import org.spongepowered.common.data.util.DataUtil;
 import org.spongepowered.common.data.util.NbtDataUtil;
 import org.spongepowered.common.data.value.immutable.ImmutableSpongeValue;
+import org.spongepowered.common.entity.EntityActivationRange;
 import org.spongepowered.common.entity.SpongeEntitySnapshotBuilder;
 import org.spongepowered.common.event.DamageEventHandler;
 import org.spongepowered.common.event.MinecraftBlockDamageSource;
@@ -125,6 +126,9 @@ public abstract class MixinEntity implements Entity, IMixinEntity {
     private EntityType entityType = SpongeImpl.getRegistry().getTranslated(this.getClass(), EntityType.class);
     private boolean teleporting;
     private net.minecraft.entity.Entity teleportVehicle;
+    private byte activationType = EntityActivationRange.initializeEntityActivationType((net.minecraft.entity.Entity) (Object) this);
+    private boolean defaultActivationState = EntityActivationRange.initializeEntityActivationState((net.minecraft.entity.Entity) (Object) this);
+    private long activatedTick = Integer.MIN_VALUE;
     private float origWidth;
     private float origHeight;
     @Nullable private DamageSource originalLava;
@@ -573,6 +577,40 @@ public void setTeleportVehicle(net.minecraft.entity.Entity vehicle) {
         this.teleportVehicle = vehicle;
     }
 
+    @Override
+    public byte getActivationType() {
+        return this.activationType;
+    }
+
+    @Override
+    public long getActivatedTick() {
+        return this.activatedTick;
+    }
+
+    @Override
+    public boolean getDefaultActivationState() {
+        return this.defaultActivationState;
+    }
+
+    @Override
+    public void setActivatedTick(long tick) {
+        this.activatedTick = tick;
+    }
+
+    @Override
+    public void inactiveTick() {
+        if (this.fire > 0) {
+            if (this.isImmuneToFire) {
+                this.fire = Math.max(0, this.fire - 4);
+            } else {
+                if (this.fire % 20 == 0) {
+                    this.attackEntityFrom(DamageSource.onFire, 1.0F);
+                }
+                --this.fire;
+            }
+        }
+    }
+
     @Override
     public EntityType getType() {
         return this.entityType;
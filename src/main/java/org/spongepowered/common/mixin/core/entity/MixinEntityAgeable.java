@@ -27,8 +27,22 @@
 import net.minecraft.entity.EntityAgeable;
 import org.spongepowered.api.entity.living.Ageable;
 import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Shadow;
 
 @Mixin(EntityAgeable.class)
 public abstract class MixinEntityAgeable extends MixinEntityCreature implements Ageable {
 
+    @Shadow public abstract int getGrowingAge();
+    @Shadow public abstract void setGrowingAge(int age);
+
+    @Override
+    public void inactiveTick() {
+        super.inactiveTick();
+        final int growingAge = this.getGrowingAge();
+        if (growingAge < 0) {
+            this.setGrowingAge(growingAge + 1);
+        } else if (growingAge > 0) {
+            this.setGrowingAge(growingAge - 1);
+        }
+    }
 }
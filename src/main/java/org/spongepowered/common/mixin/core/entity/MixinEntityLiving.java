@@ -70,6 +70,7 @@ public abstract class MixinEntityLiving extends MixinEntityLivingBase implements
     @Shadow public abstract void setLeashedToEntity(net.minecraft.entity.Entity entityIn, boolean sendAttachNotification);
     @Shadow private EntityAITasks tasks;
     @Shadow private EntityAITasks targetTasks;
+    @Shadow protected abstract void despawnEntity();
 
     public boolean isAiEnabled() {
         return !isAIDisabled();
@@ -153,6 +154,15 @@ public EntityPlayer onDespawnEntity(World world, net.minecraft.entity.Entity ent
         return ((IMixinWorld) world).getClosestPlayerToEntityWhoAffectsSpawning(entity, distance);
     }
 
+    @Override
+    public void inactiveTick() {
+        super.inactiveTick();
+        if (!this.worldObj.isRemote && !this.isAIDisabled()) {
+            ++this.entityAge;
+            this.despawnEntity();
+        }
+    }
+
     @Override
     public Optional<Entity> getTarget() {
         return Optional.ofNullable((Entity) this.attackTarget);
@@ -24,6 +24,7 @@
  */
 package org.spongepowered.common.mixin.core.entity;
 
+import co.aikar.timings.TimingHistory;
 import net.minecraft.entity.EntityLivingBase;
 import net.minecraft.entity.ai.attributes.IAttribute;
 import net.minecraft.entity.ai.attributes.IAttributeInstance;
@@ -31,6 +32,8 @@
 import net.minecraft.item.ItemStack;
 import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.potion.Potion;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.util.AxisAlignedBB;
 import net.minecraft.util.CombatTracker;
 import net.minecraft.util.DamageSource;
 import net.minecraft.world.World;
@@ -49,11 +52,14 @@
 import org.spongepowered.asm.mixin.Overwrite;
 import org.spongepowered.asm.mixin.Shadow;
 import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
 import org.spongepowered.asm.mixin.injection.Redirect;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
 import org.spongepowered.common.entity.living.human.EntityHuman;
 import org.spongepowered.common.event.DamageEventHandler;
 import org.spongepowered.common.event.DamageObject;
 import org.spongepowered.common.interfaces.entity.IMixinEntityLivingBase;
+import org.spongepowered.common.util.SpongeHooks;
 
 import java.util.ArrayList;
 import java.util.Collection;
@@ -66,8 +72,15 @@
 @Mixin(value = EntityLivingBase.class, priority = 999)
 public abstract class MixinEntityLivingBase extends MixinEntity implements Living, IMixinEntityLivingBase {
 
+    private static final String GET_ENTITIES_WITHIN_AABB =
+            "Lnet/minecraft/world/World;getEntitiesWithinAABBExcludingEntity(Lnet/minecraft/entity/Entity;Lnet/minecraft/util/AxisAlignedBB;)Ljava/util/List;";
+    private static final String COLLIDE_WITH_ENTITY = "Lnet/minecraft/entity/EntityLivingBase;collideWithEntity(Lnet/minecraft/entity/Entity;)V";
+
     private EntityLivingBase nmsEntityLiving = (EntityLivingBase) (Object) this;
     private int maxAir = 300;
+    private int maxCollisions;
+    private int collisionCount;
+    private long collisionTick = -1;
 
     @Shadow public int maxHurtResistantTime;
     @Shadow public int hurtTime;
@@ -81,6 +94,7 @@ public abstract class MixinEntityLivingBase extends MixinEntity implements Livin
     @Shadow protected float lastDamage;
     @Shadow protected EntityPlayer attackingPlayer;
     @Shadow protected abstract void damageArmor(float p_70675_1_);
+    @Shadow protected abstract void collideWithEntity(net.minecraft.entity.Entity entity);
     @Shadow protected abstract void setBeenAttacked();
     @Shadow protected abstract String getDeathSound();
     @Shadow protected abstract float getSoundVolume();
@@ -121,6 +135,60 @@ public void setLastDamage(double damage) {
         this.lastDamage = (float) damage;
     }
 
+    @Override
+    public int getCollisionCount(long tick) {
+        return this.collisionTick == tick ? this.collisionCount : 0;
+    }
+
+    @Override
+    public void addCollision(long tick) {
+        if (this.collisionTick != tick) {
+            this.collisionTick = tick;
+            this.collisionCount = 0;
+        }
+        this.collisionCount++;
+    }
+
+    @Inject(method = "collideWithNearbyEntities", at = @At("HEAD"), cancellable = true)
+    private void onCollideWithNearbyEntities(CallbackInfo ci) {
+        if (this.worldObj.isRemote) {
+            return;
+        }
+        if (!SpongeHooks.checkEntityCramming(this.nmsEntityLiving)) {
+            ci.cancel();
+            return;
+        }
+        this.maxCollisions = SpongeHooks.getActiveConfig(this.worldObj).getConfig().getEntity().getMaxCollisionsPerTick();
+    }
+
+    @Redirect(method = "collideWithNearbyEntities", at = @At(value = "INVOKE", target = GET_ENTITIES_WITHIN_AABB))
+    private List onGetCollidingEntities(World world, net.minecraft.entity.Entity entity, AxisAlignedBB bb) {
+        List list = world.getEntitiesWithinAABBExcludingEntity(entity, bb);
+        SpongeHooks.logEntitySize(entity, list);
+        return list;
+    }
+
+    @Redirect(method = "collideWithNearbyEntities", at = @At(value = "INVOKE", target = COLLIDE_WITH_ENTITY))
+    private void onCollideWithEntity(EntityLivingBase self, net.minecraft.entity.Entity entity) {
+        if (this.worldObj.isRemote || this.maxCollisions <= 0) {
+            this.collideWithEntity(entity);
+            return;
+        }
+
+        // Both sides of a collision are pushed, so it counts towards the limit of each
+        long tick = MinecraftServer.getServer().getTickCounter();
+        IMixinEntityLivingBase other = entity instanceof IMixinEntityLivingBase ? (IMixinEntityLivingBase) entity : null;
+        if (this.getCollisionCount(tick) >= this.maxCollisions || (other != null && other.getCollisionCount(tick) >= this.maxCollisions)) {
+            TimingHistory.skippedEntityCollisions++;
+            return;
+        }
+        this.addCollision(tick);
+        if (other != null) {
+            other.addCollision(tick);
+        }
+        this.collideWithEntity(entity);
+    }
+
     @Override
     public void readFromNbt(NBTTagCompound compound) {
         super.readFromNbt(compound);
@@ -42,6 +42,7 @@ public abstract class MixinEntityItem extends MixinEntity implements Item {
     private static final short MAGIC_INFINITE_PICKUP_DELAY = 32767;
     private static final short MAGIC_INFINITE_DESPAWN_TIME = -32768;
     private static final int MAGIC_INFINITE = -1;
+    private static final int DEFAULT_DESPAWN_AGE = 6000;
 
     @Shadow private int delayBeforeCanPickup;
     @Shadow private int age;
@@ -126,6 +127,21 @@ public void setInfiniteDespawnTime() {
         this.infiniteDespawnDelay = true;
     }
 
+    @Override
+    public void inactiveTick() {
+        super.inactiveTick();
+        if (this.delayBeforeCanPickup > 0 && (this.delayBeforeCanPickup != MAGIC_INFINITE_PICKUP_DELAY
+                || this.pluginPickupSet && !this.infinitePickupDelay)) {
+            this.delayBeforeCanPickup--;
+        }
+        if (this.age != MAGIC_INFINITE_DESPAWN_TIME || this.pluginDespawnSet && !this.infiniteDespawnDelay) {
+            this.age++;
+        }
+        if (!this.worldObj.isRemote && this.age >= DEFAULT_DESPAWN_AGE) {
+            this.setDead();
+        }
+    }
+
     @Override
     public void readFromNbt(NBTTagCompound compound) {
         super.readFromNbt(compound);
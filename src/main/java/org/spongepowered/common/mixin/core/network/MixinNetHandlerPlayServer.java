@@ -339,6 +339,18 @@ public void proccesPlayerMoved(C03PacketPlayer packetIn, CallbackInfo ci){
             // These magic numbers are sad but help prevent excessive lag from this event.
             // eventually it would be nice to not have them
             if (deltaSquared > ((1f / 16) * (1f / 16)) || deltaAngleSquared > (.15f * .15f)) {
+                if (!SpongeImpl.hasListener(DisplaceEntityEvent.Move.TargetPlayer.class)) {
+                    // Nothing can cancel or redirect the move, so only keep the teleport tracking up to date
+                    if (!from.equals(player.getLocation()) && this.justTeleported) {
+                        this.lastMoveLocation = player.getLocation();
+                        this.justTeleported = false;
+                        ((IMixinEntityPlayerMP) this.playerEntity).setVelocityOverride(null);
+                        ci.cancel();
+                    } else {
+                        this.lastMoveLocation = to;
+                    }
+                    return;
+                }
                 Transform<World> fromTransform = player.getTransform().setLocation(from).setRotation(fromrot);
                 Transform<World> toTransform = player.getTransform().setLocation(to).setRotation(torot);
                 DisplaceEntityEvent.Move.TargetPlayer event =
@@ -96,6 +96,7 @@
 import org.spongepowered.common.registry.type.world.DimensionRegistryModule;
 import org.spongepowered.common.registry.type.world.WorldPropertyRegistryModule;
 import org.spongepowered.common.resourcepack.SpongeResourcePack;
+import org.spongepowered.common.service.user.UserDataStorage;
 import org.spongepowered.common.text.SpongeTexts;
 import org.spongepowered.common.util.ServerUtils;
 import org.spongepowered.common.util.SpongeHooks;
@@ -313,6 +314,12 @@ public void onServerStopping(CallbackInfo ci) {
         ((MinecraftServer) (Object) this).getPlayerProfileCache().save();
     }
 
+    @Inject(method = "stopServer()V", at = @At("RETURN"))
+    public void onServerStopped(CallbackInfo ci) {
+        // Offline user data is written asynchronously, make sure it reaches the disk
+        UserDataStorage.flush();
+    }
+
     @Overwrite
     protected void loadAllWorlds(String overworldFolder, String worldName, long seed, WorldType type, String generatorOptions) {
         StaticMixinHelper.convertingMapFormat = true;
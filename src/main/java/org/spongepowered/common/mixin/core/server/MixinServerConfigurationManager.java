@@ -25,6 +25,7 @@
 package org.spongepowered.common.mixin.core.server;
 
 import com.flowpowered.math.vector.Vector3d;
+import com.google.common.collect.ImmutableList;
 import com.mojang.authlib.GameProfile;
 import io.netty.buffer.Unpooled;
 import net.minecraft.entity.Entity;
@@ -95,6 +96,7 @@
 import org.spongepowered.common.interfaces.IMixinEntityPlayerMP;
 import org.spongepowered.common.interfaces.entity.IMixinEntity;
 import org.spongepowered.common.interfaces.world.IMixinWorldProvider;
+import org.spongepowered.common.service.user.UserDataStorage;
 import org.spongepowered.common.text.SpongeTexts;
 import org.spongepowered.common.util.VecHelper;
 import org.spongepowered.common.world.DimensionManager;
@@ -169,6 +171,8 @@ public void initializeConnectionToPlayer(NetworkManager netManager, EntityPlayer
         if (SpongeUser.dirtyUsers.contains(user)) {
             user.save();
         }
+        // The player data is read below, so wait for any queued user data to be written first
+        UserDataStorage.flush(user.getUniqueId());
         NBTTagCompound nbttagcompound = this.readPlayerDataFromFile(playerIn);
         WorldServer worldserver = this.mcServer.worldServerForDimension(playerIn.dimension);
 
@@ -500,7 +504,8 @@ private void onPlayerLogOut(EntityPlayerMP player, CallbackInfo ci) {
 
     @Inject(method = "saveAllPlayerData()V", at = @At("RETURN"))
     private void onSaveAllPlayerData(CallbackInfo ci) {
-        for (SpongeUser user : SpongeUser.dirtyUsers) {
+        // Saving removes the user from the dirty set
+        for (SpongeUser user : ImmutableList.copyOf(SpongeUser.dirtyUsers)) {
             user.save();
         }
     }
@@ -28,7 +28,6 @@
 import com.flowpowered.math.vector.Vector3d;
 import com.flowpowered.math.vector.Vector3i;
 import com.google.common.base.Predicate;
-import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
 import net.minecraft.block.Block;
 import net.minecraft.block.state.IBlockState;
@@ -59,6 +58,7 @@
 import org.spongepowered.api.event.cause.Cause;
 import org.spongepowered.api.event.entity.CollideEntityEvent;
 import org.spongepowered.api.item.inventory.ItemStack;
+import org.spongepowered.api.profile.GameProfile;
 import org.spongepowered.api.service.user.UserStorageService;
 import org.spongepowered.api.util.Direction;
 import org.spongepowered.api.util.DiscreteTransform3;
@@ -80,8 +80,11 @@
 import org.spongepowered.common.interfaces.IMixinChunk;
 import org.spongepowered.common.interfaces.world.IMixinWorld;
 import org.spongepowered.common.interfaces.world.IMixinWorldInfo;
+import org.spongepowered.common.service.user.SpongeUserStorageService;
+import org.spongepowered.common.service.user.UserProfileCache;
 import org.spongepowered.common.util.SpongeHooks;
 import org.spongepowered.common.util.VecHelper;
+import org.spongepowered.common.world.TrackedBlockTable;
 import org.spongepowered.common.world.extent.ExtentViewDownsize;
 import org.spongepowered.common.world.extent.ExtentViewTransform;
 import org.spongepowered.common.world.storage.SpongeChunkLayout;
@@ -93,27 +96,17 @@
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 @NonnullByDefault
 @Mixin(net.minecraft.world.chunk.Chunk.class)
 public abstract class MixinChunk implements Chunk, IMixinChunk {
 
-    public Map<Integer, PlayerTracker> trackedIntBlockPositions = Maps.newHashMap();
-    public Map<Short, PlayerTracker> trackedShortBlockPositions = Maps.newHashMap();
+    private TrackedBlockTable trackedBlocks = new TrackedBlockTable();
     private Cause populateCause;
     private org.spongepowered.api.world.World world;
     private UUID uuid;
 
-    private static final int NUM_XZ_BITS = 4;
-    private static final int NUM_SHORT_Y_BITS = 8;
-    private static final int NUM_INT_Y_BITS = 24;
-    private static final int Y_SHIFT = NUM_XZ_BITS;
-    private static final int Z_SHORT_SHIFT = Y_SHIFT + NUM_SHORT_Y_BITS;
-    private static final int Z_INT_SHIFT = Y_SHIFT + NUM_INT_Y_BITS;
-    private static final short XZ_MASK = 0xF;
-    private static final short Y_SHORT_MASK = 0xFF;
-    private static final int Y_INT_MASK = 0xFFFFFF;
-
     private static final Vector2i BIOME_SIZE = SpongeChunkLayout.CHUNK_SIZE.toVector2(true);
     private Vector3i chunkPos;
     private Vector3i blockMin;
@@ -543,165 +536,104 @@ public void addTrackedBlockPosition(Block block, BlockPos pos, User user, Player
             SpongeHooks.logBlockTrack(this.worldObj, block, pos, user, false);
         }
 
-        if (pos.getY() <= 255) {
-            short blockPos = blockPosToShort(pos);
-            if (this.trackedShortBlockPositions.get(blockPos) != null) {
-                if (trackerType == PlayerTracker.Type.OWNER) {
-                    this.trackedShortBlockPositions.get(blockPos).ownerIndex = ((IMixinWorldInfo) this.worldObj.getWorldInfo()).getIndexForUniqueId(user.getUniqueId());
-                    this.trackedShortBlockPositions.get(blockPos).notifierIndex = ((IMixinWorldInfo) this.worldObj.getWorldInfo()).getIndexForUniqueId(user.getUniqueId());
-                } else {
-                    this.trackedShortBlockPositions.get(blockPos).notifierIndex = ((IMixinWorldInfo) this.worldObj.getWorldInfo()).getIndexForUniqueId(user.getUniqueId());
-                }
-            } else {
-                this.trackedShortBlockPositions.put(blockPos, new PlayerTracker(((IMixinWorldInfo) this.worldObj.getWorldInfo()).getIndexForUniqueId(user.getUniqueId()), trackerType));
-            }
+        final int key = TrackedBlockTable.key(pos);
+        final int index = ((IMixinWorldInfo) this.worldObj.getWorldInfo()).getIndexForUniqueId(user.getUniqueId());
+        if (trackerType == PlayerTracker.Type.NOTIFIER) {
+            this.trackedBlocks.setNotifier(key, index);
+        } else if (this.trackedBlocks.getOwner(key) != -1 || this.trackedBlocks.getNotifier(key) != -1) {
+            this.trackedBlocks.put(key, index, index);
         } else {
-            int blockPos = blockPosToInt(pos);
-            if (this.trackedIntBlockPositions.get(blockPos) != null) {
-                if (trackerType == PlayerTracker.Type.OWNER) {
-                    this.trackedIntBlockPositions.get(blockPos).ownerIndex = ((IMixinWorldInfo) this.worldObj.getWorldInfo()).getIndexForUniqueId(user.getUniqueId());
-                } else {
-                    this.trackedIntBlockPositions.get(blockPos).notifierIndex = ((IMixinWorldInfo) this.worldObj.getWorldInfo()).getIndexForUniqueId(user.getUniqueId());
-                }
-            } else {
-                this.trackedIntBlockPositions.put(blockPos, new PlayerTracker(((IMixinWorldInfo) this.worldObj.getWorldInfo()).getIndexForUniqueId(user.getUniqueId()), trackerType));
-            }
+            this.trackedBlocks.setOwner(key, index);
         }
     }
 
     @Override
-    public Map<Integer, PlayerTracker> getTrackedIntPlayerPositions() {
-        return this.trackedIntBlockPositions;
+    public TrackedBlockTable getTrackedBlocks() {
+        return this.trackedBlocks;
     }
 
     @Override
-    public Map<Short, PlayerTracker> getTrackedShortPlayerPositions() {
-        return this.trackedShortBlockPositions;
+    public void setTrackedBlocks(TrackedBlockTable trackedBlocks) {
+        this.trackedBlocks = trackedBlocks;
     }
 
     @Override
     public Optional<User> getBlockOwner(BlockPos pos) {
-        if (this.trackedIntBlockPositions.get(blockPosToInt(pos)) != null) {
-            PlayerTracker tracker = this.trackedIntBlockPositions.get(blockPosToInt(pos));
-            Optional<UUID> uuid = (((IMixinWorldInfo) this.worldObj.getWorldInfo()).getUniqueIdForIndex(tracker.ownerIndex));
-            if (uuid.isPresent()) {
-                // get player if online
-                EntityPlayer player = this.worldObj.getPlayerEntityByUUID(uuid.get());
-                if (player != null) {
-                    return Optional.of((User) player);
-                }
-                // player is not online, get user from storage if one exists
-                return SpongeImpl.getGame().getServiceManager().provide(UserStorageService.class).get().get(uuid.get());
-            }
-        } else if (this.trackedShortBlockPositions.get(blockPosToShort(pos)) != null) {
-            PlayerTracker tracker = this.trackedShortBlockPositions.get(blockPosToShort(pos));
-            Optional<UUID> uuid = (((IMixinWorldInfo) this.worldObj.getWorldInfo()).getUniqueIdForIndex(tracker.ownerIndex));
-            if (uuid.isPresent()) {
-                // get player if online
-                EntityPlayer player = this.worldObj.getPlayerEntityByUUID(uuid.get());
-                if (player != null) {
-                    return Optional.of((User) player);
-                }
-                // player is not online, get user from storage if one exists
-                return SpongeImpl.getGame().getServiceManager().provide(UserStorageService.class).get().get(uuid.get());
-            }
-        }
-
-        return Optional.empty();
+        return getTrackedUser(this.trackedBlocks.getOwner(TrackedBlockTable.key(pos)));
     }
 
     @Override
     public Optional<User> getBlockNotifier(BlockPos pos) {
-        if (this.trackedIntBlockPositions.get(blockPosToInt(pos)) != null) {
-            PlayerTracker tracker = this.trackedIntBlockPositions.get(blockPosToInt(pos));
-            Optional<UUID> uuid = (((IMixinWorldInfo) this.worldObj.getWorldInfo()).getUniqueIdForIndex(tracker.notifierIndex));
-            if (uuid.isPresent()) {
-                // get player if online
-                EntityPlayer player = this.worldObj.getPlayerEntityByUUID(uuid.get());
-                if (player != null) {
-                    return Optional.of((User) player);
-                }
-                // player is not online, get user from storage if one exists
-                return SpongeImpl.getGame().getServiceManager().provide(UserStorageService.class).get().get(uuid.get());
-            }
-        } else if (this.trackedShortBlockPositions.get(blockPosToShort(pos)) != null) {
-            PlayerTracker tracker = this.trackedShortBlockPositions.get(blockPosToShort(pos));
-            Optional<UUID> uuid = (((IMixinWorldInfo) this.worldObj.getWorldInfo()).getUniqueIdForIndex(tracker.notifierIndex));
-            if (uuid.isPresent()) {
-                // get player if online
-                EntityPlayer player = this.worldObj.getPlayerEntityByUUID(uuid.get());
-                if (player != null) {
-                    return Optional.of((User) player);
-                }
-                // player is not online, get user from storage if one exists
-                return SpongeImpl.getGame().getServiceManager().provide(UserStorageService.class).get().get(uuid.get());
-            }
-        }
+        return getTrackedUser(this.trackedBlocks.getNotifier(TrackedBlockTable.key(pos)));
+    }
 
-        return Optional.empty();
+    @Override
+    public Optional<UUID> getBlockOwnerUUID(BlockPos pos) {
+        return getTrackedUniqueId(this.trackedBlocks.getOwner(TrackedBlockTable.key(pos)));
     }
 
     @Override
-    public void setTrackedIntPlayerPositions(Map<Integer, PlayerTracker> trackedPositions) {
-        this.trackedIntBlockPositions = trackedPositions;
+    public Optional<UUID> getBlockNotifierUUID(BlockPos pos) {
+        return getTrackedUniqueId(this.trackedBlocks.getNotifier(TrackedBlockTable.key(pos)));
     }
 
     @Override
-    public void setTrackedShortPlayerPositions(Map<Short, PlayerTracker> trackedPositions) {
-        this.trackedShortBlockPositions = trackedPositions;
+    public Optional<GameProfile> getBlockOwnerProfile(BlockPos pos) {
+        return getBlockOwnerUUID(pos).flatMap(UserProfileCache::get);
     }
 
-    /**
-    * Modifies bits in an integer.
-    *
-    * @param num Integer to modify
-    * @param data Bits of data to add
-    * @param which Index of nibble to start at
-    * @param bitsToReplace The number of bits to replace starting from nibble index
-    * @return The modified integer
-    */
-    public int setNibble(int num, int data, int which, int bitsToReplace) {
-        return (num & ~(bitsToReplace << (which * 4)) | (data << (which * 4)));
+    @Override
+    public Optional<GameProfile> getBlockNotifierProfile(BlockPos pos) {
+        return getBlockNotifierUUID(pos).flatMap(UserProfileCache::get);
     }
 
-    /**
-     * Serialize this BlockPos into a short value
-     */
-    public short blockPosToShort(BlockPos pos) {
-        short serialized = (short) setNibble(0, pos.getX() & XZ_MASK, 0, NUM_XZ_BITS);
-        serialized = (short) setNibble(serialized, pos.getY() & Y_SHORT_MASK, 1, NUM_SHORT_Y_BITS);
-        serialized = (short) setNibble(serialized, pos.getZ() & XZ_MASK, 3, NUM_XZ_BITS);
-        return serialized;
+    @Override
+    public CompletableFuture<Optional<User>> getBlockOwnerAsync(BlockPos pos) {
+        return getTrackedUserAsync(this.trackedBlocks.getOwner(TrackedBlockTable.key(pos)));
     }
 
-    /**
-     * Create a BlockPos from a serialized chunk position
-     */
-    public BlockPos blockPosFromShort(short serialized) {
-        int x = this.xPosition * 16 + (serialized & XZ_MASK);
-        int y = (serialized >> Y_SHIFT) & Y_SHORT_MASK;
-        int z = this.zPosition * 16 + ((serialized >> Z_SHORT_SHIFT) & XZ_MASK);
-        return new BlockPos(x, y, z);
+    @Override
+    public CompletableFuture<Optional<User>> getBlockNotifierAsync(BlockPos pos) {
+        return getTrackedUserAsync(this.trackedBlocks.getNotifier(TrackedBlockTable.key(pos)));
     }
 
-    /**
-     * Serialize this BlockPos into an int value
-     */
-    public int blockPosToInt(BlockPos pos) {
-        int serialized = setNibble(0, pos.getX() & XZ_MASK, 0, NUM_XZ_BITS);
-        serialized = setNibble(serialized, pos.getY() & Y_INT_MASK, 1, NUM_INT_Y_BITS);
-        serialized = setNibble(serialized, pos.getZ() & XZ_MASK, 7, NUM_XZ_BITS);
-        return serialized;
+    private Optional<UUID> getTrackedUniqueId(int index) {
+        if (index == -1) {
+            return Optional.empty();
+        }
+        return ((IMixinWorldInfo) this.worldObj.getWorldInfo()).getUniqueIdForIndex(index);
     }
 
-    /**
-     * Create a BlockPos from a serialized chunk position
-     */
-    public BlockPos blockPosFromInt(int serialized) {
-        int x = this.xPosition * 16 + (serialized & XZ_MASK);
-        int y = (serialized >> Y_SHIFT) & Y_INT_MASK;
-        int z = this.zPosition * 16 + ((serialized >> Z_INT_SHIFT) & XZ_MASK);
-        return new BlockPos(x, y, z);
+    private CompletableFuture<Optional<User>> getTrackedUserAsync(int index) {
+        Optional<UUID> uuid = getTrackedUniqueId(index);
+        if (!uuid.isPresent()) {
+            return CompletableFuture.completedFuture(Optional.empty());
+        }
+        EntityPlayer player = this.worldObj.getPlayerEntityByUUID(uuid.get());
+        if (player != null) {
+            return CompletableFuture.completedFuture(Optional.of((User) player));
+        }
+        UserStorageService userStorage = SpongeImpl.getGame().getServiceManager().provide(UserStorageService.class).get();
+        if (userStorage instanceof SpongeUserStorageService) {
+            return ((SpongeUserStorageService) userStorage).getAsync(uuid.get());
+        }
+        // A replaced storage service has no asynchronous lookup
+        return CompletableFuture.completedFuture(userStorage.get(uuid.get()));
+    }
+
+    private Optional<User> getTrackedUser(int index) {
+        Optional<UUID> uuid = getTrackedUniqueId(index);
+        if (uuid.isPresent()) {
+            // get player if online
+            EntityPlayer player = this.worldObj.getPlayerEntityByUUID(uuid.get());
+            if (player != null) {
+                return Optional.of((User) player);
+            }
+            // player is not online, get user from storage if one exists
+            return SpongeImpl.getGame().getServiceManager().provide(UserStorageService.class).get().get(uuid.get());
+        }
+
+        return Optional.empty();
     }
 
     @Override
@@ -103,7 +103,6 @@
 import org.spongepowered.api.block.BlockSnapshot;
 import org.spongepowered.api.block.BlockState;
 import org.spongepowered.api.block.BlockType;
-import org.spongepowered.api.block.BlockTypes;
 import org.spongepowered.api.block.tileentity.TileEntity;
 import org.spongepowered.api.data.DataContainer;
 import org.spongepowered.api.data.DataHolder;
@@ -188,6 +187,7 @@
 import org.spongepowered.common.interfaces.IMixinChunk;
 import org.spongepowered.common.interfaces.IMixinEntityPlayer;
 import org.spongepowered.common.interfaces.block.IMixinBlock;
+import org.spongepowered.common.interfaces.block.IMixinBlockState;
 import org.spongepowered.common.interfaces.entity.IMixinEntity;
 import org.spongepowered.common.interfaces.entity.IMixinEntityLightningBolt;
 import org.spongepowered.common.interfaces.world.IMixinWorld;
@@ -199,7 +199,9 @@
 import org.spongepowered.common.util.SpongeHooks;
 import org.spongepowered.common.util.StaticMixinHelper;
 import org.spongepowered.common.util.VecHelper;
+import org.spongepowered.common.world.BlockCaptureBuffer;
 import org.spongepowered.common.world.CaptureType;
+import org.spongepowered.common.world.CapturedBlockTransactions;
 import org.spongepowered.common.world.DimensionManager;
 import org.spongepowered.common.world.SpongeChunkPreGenerate;
 import org.spongepowered.common.world.border.PlayerBorderListener;
@@ -256,7 +258,7 @@ public abstract class MixinWorld implements World, IMixinWorld {
     public Entity currentTickEntity = null;
     public TileEntity currentTickTileEntity = null;
     public SpongeBlockSnapshotBuilder builder = new SpongeBlockSnapshotBuilder();
-    public List<BlockSnapshot> capturedSpongeBlockSnapshots = new ArrayList<>();
+    public final BlockCaptureBuffer capturedBlocks = new BlockCaptureBuffer();
     public Map<PopulatorType, LinkedHashMap<Vector3i, Transaction<BlockSnapshot>>> capturedSpongePopulators = Maps.newHashMap();
     private boolean keepSpawnLoaded;
     private boolean worldSpawnerRunning;
@@ -349,32 +351,33 @@ public boolean setBlockState(BlockPos pos, IBlockState newState, int flags) {
             BlockSnapshot newBlockSnapshot = null;
             Transaction<BlockSnapshot> transaction = null;
             LinkedHashMap<Vector3i, Transaction<BlockSnapshot>> populatorSnapshotList = null;
+            int captureIndex = -1;
+            int coalesceIndex = -1;
 
             // Don't capture if we are restoring blocks
             if (!this.isRemote && !this.restoringBlocks) {
-                originalBlockSnapshot = createSpongeBlockSnapshot(currentState, currentState.getBlock().getActualState(currentState, (IBlockAccess) this, pos), pos, flags);
-
+                IBlockState extendedState = currentState.getBlock().getActualState(currentState, (IBlockAccess) this, pos);
                 if (StaticMixinHelper.runningGenerator != null) {
                     if (this.capturedSpongePopulators.get(StaticMixinHelper.runningGenerator) == null) {
                         this.capturedSpongePopulators.put(StaticMixinHelper.runningGenerator, new LinkedHashMap<>());
                     }
 
+                    originalBlockSnapshot = createSpongeBlockSnapshot(currentState, extendedState, pos, flags);
                     ((SpongeBlockSnapshot) originalBlockSnapshot).captureType = CaptureType.POPULATE;
                     transaction = new Transaction<>(originalBlockSnapshot, originalBlockSnapshot.withState((BlockState) newState));
                     populatorSnapshotList = this.capturedSpongePopulators.get(StaticMixinHelper.runningGenerator);
                     populatorSnapshotList.put(transaction.getOriginal().getPosition(), transaction);
-                } else if (this.captureBlockDecay) {
-                    ((SpongeBlockSnapshot) originalBlockSnapshot).captureType = CaptureType.DECAY;
-                    this.capturedSpongeBlockSnapshots.add(originalBlockSnapshot);
-                } else if (block == Blocks.air) {
-                    ((SpongeBlockSnapshot) originalBlockSnapshot).captureType = CaptureType.BREAK;
-                    this.capturedSpongeBlockSnapshots.add(originalBlockSnapshot);
-                } else if (block != currentState.getBlock()) {
-                    ((SpongeBlockSnapshot) originalBlockSnapshot).captureType = CaptureType.PLACE;
-                    this.capturedSpongeBlockSnapshots.add(originalBlockSnapshot);
                 } else {
-                    ((SpongeBlockSnapshot) originalBlockSnapshot).captureType = CaptureType.MODIFY;
-                    this.capturedSpongeBlockSnapshots.add(originalBlockSnapshot);
+                    coalesceIndex = this.capturedBlocks.indexOf(pos);
+                    if (coalesceIndex == -1) {
+                        // Tile entity data is lost once the block changes, so it has to be snapshotted now
+                        SpongeBlockSnapshot tileSnapshot = null;
+                        if (currentState.getBlock() instanceof ITileEntityProvider) {
+                            tileSnapshot = createSpongeBlockSnapshot(currentState, extendedState, pos, flags);
+                        }
+                        captureIndex = this.capturedBlocks.add(pos, currentState, extendedState, flags, getCaptureType(currentState, newState),
+                                tileSnapshot);
+                    }
                 }
             }
 
@@ -383,11 +386,10 @@ public boolean setBlockState(BlockPos pos, IBlockState newState, int flags) {
             IBlockState iblockstate1 = ((IMixinChunk) chunk).setBlockState(pos, newState, currentState, newBlockSnapshot);
 
             if (iblockstate1 == null) {
-                if (originalBlockSnapshot != null) {
-                    this.capturedSpongeBlockSnapshots.remove(originalBlockSnapshot);
-                    if (populatorSnapshotList != null) {
-                        populatorSnapshotList.remove(transaction);
-                    }
+                if (captureIndex != -1) {
+                    this.capturedBlocks.remove(captureIndex);
+                } else if (populatorSnapshotList != null) {
+                    populatorSnapshotList.remove(transaction);
                 }
                 return false;
             } else {
@@ -400,7 +402,15 @@ public boolean setBlockState(BlockPos pos, IBlockState newState, int flags) {
                 }
 
                 // Don't notify clients or update physics while capturing blockstates
-                if (originalBlockSnapshot == null) {
+                if (coalesceIndex != -1) {
+                    // The position was already captured this tick, keep its original state and order
+                    IBlockState originalState = this.capturedBlocks.getOriginalState(coalesceIndex);
+                    CaptureType captureType = this.capturedBlocks.getCaptureType(coalesceIndex);
+                    this.capturedBlocks.coalesce(coalesceIndex, flags,
+                            captureType == CaptureType.DECAY ? captureType : getCaptureType(originalState, newState));
+                }
+
+                if (originalBlockSnapshot == null && captureIndex == -1 && coalesceIndex == -1) {
                     // Modularize client and physic updates
                     markAndNotifyNeighbors(pos, chunk, iblockstate1, newState, flags);
                 }
@@ -410,6 +420,18 @@ public boolean setBlockState(BlockPos pos, IBlockState newState, int flags) {
         }
     }
 
+    private CaptureType getCaptureType(IBlockState originalState, IBlockState newState) {
+        if (this.captureBlockDecay) {
+            return CaptureType.DECAY;
+        } else if (newState.getBlock() == Blocks.air) {
+            return CaptureType.BREAK;
+        } else if (newState.getBlock() != originalState.getBlock()) {
+            return CaptureType.PLACE;
+        } else {
+            return CaptureType.MODIFY;
+        }
+    }
+
     public void markAndNotifyNeighbors(BlockPos pos, net.minecraft.world.chunk.Chunk chunk, IBlockState old, IBlockState new_, int flags) {
         if ((flags & 2) != 0 && (!this.isRemote || (flags & 4) == 0) && (chunk == null || chunk.isPopulated())) {
             this.markBlockForUpdate(pos);
@@ -668,7 +690,7 @@ else if (!(entityIn instanceof EntityPlayer) && entityIn instanceof EntityTameab
     public void handlePostTickCaptures(Cause cause) {
         if (this.isRemote || this.restoringBlocks || cause == null) {
             return;
-        } else if (this.capturedEntities.size() == 0 && this.capturedEntityItems.size() == 0 && this.capturedSpongeBlockSnapshots.size() == 0
+        } else if (this.capturedEntities.size() == 0 && this.capturedEntityItems.size() == 0 && this.capturedBlocks.isEmpty()
                 && this.capturedSpongePopulators.size() == 0 && StaticMixinHelper.packetPlayer == null) {
             return; // nothing was captured, return
         }
@@ -722,67 +744,40 @@ public void handlePostTickCaptures(Cause cause) {
             }
         }
 
-        ImmutableList<Transaction<BlockSnapshot>> blockBreakTransactions = null;
-        ImmutableList<Transaction<BlockSnapshot>> blockModifyTransactions = null;
-        ImmutableList<Transaction<BlockSnapshot>> blockPlaceTransactions = null;
-        ImmutableList<Transaction<BlockSnapshot>> blockDecayTransactions = null;
-        ImmutableList<Transaction<BlockSnapshot>> blockMultiTransactions = null;
-        ImmutableList.Builder<Transaction<BlockSnapshot>> breakBuilder = new ImmutableList.Builder<>();
-        ImmutableList.Builder<Transaction<BlockSnapshot>> placeBuilder = new ImmutableList.Builder<>();
-        ImmutableList.Builder<Transaction<BlockSnapshot>> decayBuilder = new ImmutableList.Builder<>();
-        ImmutableList.Builder<Transaction<BlockSnapshot>> modifyBuilder = new ImmutableList.Builder<>();
-        ImmutableList.Builder<Transaction<BlockSnapshot>> multiBuilder = new ImmutableList.Builder<>();
         ChangeBlockEvent.Break breakEvent = null;
         ChangeBlockEvent.Modify modifyEvent = null;
         ChangeBlockEvent.Place placeEvent = null;
-        List<ChangeBlockEvent> blockEvents = new ArrayList<>();
-
-        Iterator<BlockSnapshot> iterator = this.capturedSpongeBlockSnapshots.iterator();
-        while (iterator.hasNext()) {
-            SpongeBlockSnapshot blockSnapshot = (SpongeBlockSnapshot) iterator.next();
-            CaptureType captureType = blockSnapshot.captureType;
-            BlockPos pos = VecHelper.toBlockPos(blockSnapshot.getPosition());
-            IBlockState currentState = getBlockState(pos);
-            Transaction<BlockSnapshot> transaction = new Transaction<>(blockSnapshot, createSpongeBlockSnapshot(currentState, currentState.getBlock()
-                .getActualState(currentState, (IBlockAccess) this, pos), pos, 0));
-            if (captureType == CaptureType.BREAK) {
-                breakBuilder.add(transaction);
-            } else if (captureType == CaptureType.DECAY) {
-                decayBuilder.add(transaction);
-            } else if (captureType == CaptureType.PLACE) {
-                placeBuilder.add(transaction);
-            } else if (captureType == CaptureType.MODIFY) {
-                modifyBuilder.add(transaction);
-            }
-            multiBuilder.add(transaction);
-            iterator.remove();
-        }
-
-        blockBreakTransactions = breakBuilder.build();
-        blockDecayTransactions = decayBuilder.build();
-        blockModifyTransactions = modifyBuilder.build();
-        blockPlaceTransactions = placeBuilder.build();
-        blockMultiTransactions = multiBuilder.build();
-        ChangeBlockEvent changeBlockEvent = null;
+        ChangeBlockEvent.Decay decayEvent = null;
+        List<CaptureType> captureTypes = new ArrayList<>(4);
+
+        // Snapshots are only created once an event listener looks at the transactions
+        CapturedBlockTransactions captured = this.capturedBlocks.drain(world);
+        CapturedBlockTransactions.View blockBreakTransactions = captured.of(CaptureType.BREAK);
+        CapturedBlockTransactions.View blockModifyTransactions = captured.of(CaptureType.MODIFY);
+        CapturedBlockTransactions.View blockPlaceTransactions = captured.of(CaptureType.PLACE);
+        CapturedBlockTransactions.View blockDecayTransactions = captured.of(CaptureType.DECAY);
         if (blockBreakTransactions.size() > 0) {
-            changeBlockEvent = SpongeEventFactory.createChangeBlockEventBreak(cause, (World) world, blockBreakTransactions);
-            SpongeImpl.postEvent(changeBlockEvent);
-            breakEvent = (ChangeBlockEvent.Break) changeBlockEvent;
-            blockEvents.add(changeBlockEvent);
+            captureTypes.add(CaptureType.BREAK);
+            if (SpongeImpl.hasListener(ChangeBlockEvent.Break.class)) {
+                breakEvent = SpongeEventFactory.createChangeBlockEventBreak(cause, (World) world, blockBreakTransactions);
+                SpongeImpl.postEvent(breakEvent);
+            }
         }
         if (blockModifyTransactions.size() > 0) {
-            changeBlockEvent = SpongeEventFactory.createChangeBlockEventModify(cause, (World) world, blockModifyTransactions);
-            SpongeImpl.postEvent(changeBlockEvent);
-            modifyEvent = (ChangeBlockEvent.Modify) changeBlockEvent;
-            blockEvents.add(changeBlockEvent);
+            captureTypes.add(CaptureType.MODIFY);
+            if (SpongeImpl.hasListener(ChangeBlockEvent.Modify.class)) {
+                modifyEvent = SpongeEventFactory.createChangeBlockEventModify(cause, (World) world, blockModifyTransactions);
+                SpongeImpl.postEvent(modifyEvent);
+            }
         }
         if (blockPlaceTransactions.size() > 0) {
-            changeBlockEvent = SpongeEventFactory.createChangeBlockEventPlace(cause, (World) world, blockPlaceTransactions);
-            SpongeImpl.postEvent(changeBlockEvent);
-            placeEvent = (ChangeBlockEvent.Place) changeBlockEvent;
-            blockEvents.add(changeBlockEvent);
+            captureTypes.add(CaptureType.PLACE);
+            if (SpongeImpl.hasListener(ChangeBlockEvent.Place.class)) {
+                placeEvent = SpongeEventFactory.createChangeBlockEventPlace(cause, (World) world, blockPlaceTransactions);
+                SpongeImpl.postEvent(placeEvent);
+            }
         }
-        if (blockEvents.size() > 1) {
+        if (captureTypes.size() > 1) {
             if (breakEvent != null) {
                 cause = cause.with(breakEvent);
             }
@@ -792,53 +787,57 @@ public void handlePostTickCaptures(Cause cause) {
             if (placeEvent != null) {
                 cause = cause.with(placeEvent);
             }
-            changeBlockEvent = SpongeEventFactory.createChangeBlockEventPost(cause, (World) world, blockMultiTransactions);
-            SpongeImpl.postEvent(changeBlockEvent);
-            if (changeBlockEvent.isCancelled()) {
-                // Restore original blocks
-                ListIterator<Transaction<BlockSnapshot>> listIterator = changeBlockEvent.getTransactions().listIterator(changeBlockEvent.getTransactions().size());
-                while (listIterator.hasPrevious()) {
-                    Transaction<BlockSnapshot> transaction = listIterator.previous();
-                    this.restoringBlocks = true;
-                    transaction.getOriginal().restore(true, false);
-                    this.restoringBlocks = false;
-                }
-
-                if (player != null) {
-                    CaptureType captureType = null;
-                    if (packetIn instanceof C08PacketPlayerBlockPlacement) {
-                        captureType = CaptureType.PLACE;
-                    } else if (packetIn instanceof C07PacketPlayerDigging) {
-                        captureType = CaptureType.BREAK;
+            if (SpongeImpl.hasListener(ChangeBlockEvent.Post.class)) {
+                ChangeBlockEvent.Post postEvent = SpongeEventFactory.createChangeBlockEventPost(cause, (World) world, captured.all());
+                SpongeImpl.postEvent(postEvent);
+                if (postEvent.isCancelled()) {
+                    // Restore original blocks
+                    ListIterator<Transaction<BlockSnapshot>> listIterator = postEvent.getTransactions().listIterator(postEvent.getTransactions().size());
+                    while (listIterator.hasPrevious()) {
+                        Transaction<BlockSnapshot> transaction = listIterator.previous();
+                        this.restoringBlocks = true;
+                        transaction.getOriginal().restore(true, false);
+                        this.restoringBlocks = false;
                     }
-                    if (captureType != null) {
-                        handlePostPlayerBlockEvent(captureType, player, world, changeBlockEvent.getTransactions());
+
+                    if (player != null) {
+                        CaptureType captureType = null;
+                        if (packetIn instanceof C08PacketPlayerBlockPlacement) {
+                            captureType = CaptureType.PLACE;
+                        } else if (packetIn instanceof C07PacketPlayerDigging) {
+                            captureType = CaptureType.BREAK;
+                        }
+                        if (captureType != null) {
+                            handlePostPlayerBlockEvent(captureType, player, world, postEvent.getTransactions());
+                        }
                     }
-                }
 
-                // clear entity list and return to avoid spawning items
-                this.capturedEntities.clear();
-                this.capturedEntityItems.clear();
-                return;
+                    // clear entity list and return to avoid spawning items
+                    this.capturedEntities.clear();
+                    this.capturedEntityItems.clear();
+                    return;
+                }
             }
         }
 
         if (blockDecayTransactions.size() > 0) {
-            changeBlockEvent = SpongeEventFactory.createChangeBlockEventDecay(cause, (World) world, blockDecayTransactions);
-            SpongeImpl.postEvent(changeBlockEvent);
-            blockEvents.add(changeBlockEvent);
-        }
-
-        for (ChangeBlockEvent blockEvent : blockEvents) {
-            CaptureType captureType = null;
-            if (blockEvent instanceof ChangeBlockEvent.Break) {
-                captureType = CaptureType.BREAK;
-            } else if (blockEvent instanceof ChangeBlockEvent.Decay) {
-                captureType = CaptureType.DECAY;
-            } else if (blockEvent instanceof ChangeBlockEvent.Modify) {
-                captureType = CaptureType.MODIFY;
-            } else if (blockEvent instanceof ChangeBlockEvent.Place) {
-                captureType = CaptureType.PLACE;
+            captureTypes.add(CaptureType.DECAY);
+            if (SpongeImpl.hasListener(ChangeBlockEvent.Decay.class)) {
+                decayEvent = SpongeEventFactory.createChangeBlockEventDecay(cause, (World) world, blockDecayTransactions);
+                SpongeImpl.postEvent(decayEvent);
+            }
+        }
+
+        for (CaptureType captureType : captureTypes) {
+            ChangeBlockEvent blockEvent = null;
+            if (captureType == CaptureType.BREAK) {
+                blockEvent = breakEvent;
+            } else if (captureType == CaptureType.DECAY) {
+                blockEvent = decayEvent;
+            } else if (captureType == CaptureType.MODIFY) {
+                blockEvent = modifyEvent;
+            } else if (captureType == CaptureType.PLACE) {
+                blockEvent = placeEvent;
             }
 
             C08PacketPlayerBlockPlacement packet = null;
@@ -847,7 +846,7 @@ public void handlePostTickCaptures(Cause cause) {
                 packet = (C08PacketPlayerBlockPlacement) packetIn;
             }
 
-            if (blockEvent.isCancelled()) {
+            if (blockEvent != null && blockEvent.isCancelled()) {
                 // Restore original blocks
                 ListIterator<Transaction<BlockSnapshot>> listIterator = blockEvent.getTransactions().listIterator(blockEvent.getTransactions().size());
                 while (listIterator.hasPrevious()) {
@@ -864,33 +863,24 @@ public void handlePostTickCaptures(Cause cause) {
                 this.capturedEntityItems.clear();
                 return;
             } else {
-                for (Transaction<BlockSnapshot> transaction : blockEvent.getTransactions()) {
-                    if (!transaction.isValid()) {
-                        invalidTransactions.add(transaction);
-                    } else {
-                        if (captureType == CaptureType.BREAK && cause.first(User.class).isPresent()) {
-                             BlockPos pos = VecHelper.toBlockPos(transaction.getOriginal().getPosition());
-                             for (EntityHanging hanging : SpongeHooks.findHangingEntities(world, pos)) {
-                                 if (hanging != null) {
-                                     if (hanging instanceof EntityItemFrame) {
-                                         EntityItemFrame itemFrame = (EntityItemFrame) hanging;
-                                         net.minecraft.entity.Entity dropCause = null;
-                                         if (cause.root() instanceof net.minecraft.entity.Entity) {
-                                             dropCause = (net.minecraft.entity.Entity) cause.root();
-                                         }
-
-                                         itemFrame.dropItemOrSelf(dropCause, true);
-                                         itemFrame.setDead();
-                                     }
-                                 }
-                             }
-                         }
-
-                        if (captureType == CaptureType.PLACE && player != null && transaction.getOriginal().getState().getType() == BlockTypes.AIR) {
-                            BlockPos pos = VecHelper.toBlockPos(transaction.getFinal().getPosition());
-                            IMixinChunk spongeChunk = (IMixinChunk) getChunkFromBlockCoords(pos);
-                            spongeChunk.addTrackedBlockPosition((net.minecraft.block.Block) transaction.getFinal().getState().getType(), pos, (User) player, PlayerTracker.Type.OWNER);
-                            spongeChunk.addTrackedBlockPosition((net.minecraft.block.Block) transaction.getFinal().getState().getType(), pos, (User) player, PlayerTracker.Type.NOTIFIER);
+                if (blockEvent != null) {
+                    for (Transaction<BlockSnapshot> transaction : blockEvent.getTransactions()) {
+                        if (!transaction.isValid()) {
+                            invalidTransactions.add(transaction);
+                        } else {
+                            handleCapturedBlockChange(captureType, cause, player, VecHelper.toBlockPos(transaction.getOriginal().getPosition()),
+                                    (IBlockState) transaction.getOriginal().getState(), (IBlockState) transaction.getFinal().getState());
+                        }
+                    }
+                } else {
+                    // Nobody saw these transactions as an event, only the post event may have touched them
+                    CapturedBlockTransactions.View transactions = captured.of(captureType);
+                    for (int i = 0; i < transactions.size(); i++) {
+                        if (!transactions.isValid(i)) {
+                            invalidTransactions.add(transactions.getIfMaterialized(i));
+                        } else {
+                            handleCapturedBlockChange(captureType, cause, player, transactions.getPos(i), transactions.getOriginalState(i),
+                                    transactions.getFinalState(i));
                         }
                     }
                 }
@@ -909,7 +899,11 @@ public void handlePostTickCaptures(Cause cause) {
                             captureType == CaptureType.BREAK ? true : destructDrop);
                 }
 
-                markAndNotifyBlockPost(blockEvent.getTransactions(), captureType, cause);
+                if (blockEvent != null) {
+                    markAndNotifyBlockPost(blockEvent.getTransactions(), captureType, cause);
+                } else {
+                    markAndNotifyBlockPost(captured.of(captureType), captureType, cause);
+                }
 
                 if (captureType == CaptureType.PLACE && player != null && packet != null && packet.getStack() != null) {
                     player.addStat(StatList.objectUseStats[net.minecraft.item.Item.getIdFromItem(packet.getStack().getItem())], 1);
@@ -1185,53 +1179,101 @@ private void handleEntitySpawns(Cause cause, List<Entity> entities, List<Transac
         }
     }
 
+    private void handleCapturedBlockChange(CaptureType captureType, Cause cause, @Nullable EntityPlayerMP player, BlockPos pos,
+            IBlockState originalState, IBlockState newState) {
+        if (captureType == CaptureType.BREAK && cause.first(User.class).isPresent()) {
+            for (EntityHanging hanging : SpongeHooks.findHangingEntities(this.nmsWorld, pos)) {
+                if (hanging != null) {
+                    if (hanging instanceof EntityItemFrame) {
+                        EntityItemFrame itemFrame = (EntityItemFrame) hanging;
+                        net.minecraft.entity.Entity dropCause = null;
+                        if (cause.root() instanceof net.minecraft.entity.Entity) {
+                            dropCause = (net.minecraft.entity.Entity) cause.root();
+                        }
+
+                        itemFrame.dropItemOrSelf(dropCause, true);
+                        itemFrame.setDead();
+                    }
+                }
+            }
+        }
+
+        if (captureType == CaptureType.PLACE && player != null && originalState.getBlock() == Blocks.air) {
+            IMixinChunk spongeChunk = (IMixinChunk) getChunkFromBlockCoords(pos);
+            spongeChunk.addTrackedBlockPosition(newState.getBlock(), pos, (User) player, PlayerTracker.Type.OWNER);
+            spongeChunk.addTrackedBlockPosition(newState.getBlock(), pos, (User) player, PlayerTracker.Type.NOTIFIER);
+        }
+    }
+
     @Override
     public void markAndNotifyBlockPost(List<Transaction<BlockSnapshot>> transactions, CaptureType type, Cause cause) {
-        for (Transaction<BlockSnapshot> transaction : transactions) {
-            // Handle custom replacements
-            if (transaction.isValid() && transaction.getCustom().isPresent()) {
-                this.restoringBlocks = true;
-                transaction.getFinal().restore(true, false);
-                this.restoringBlocks = false;
+        if (transactions instanceof CapturedBlockTransactions.View) {
+            // Avoid creating the snapshots of transactions nobody looked at
+            CapturedBlockTransactions.View view = (CapturedBlockTransactions.View) transactions;
+            for (int i = 0; i < view.size(); i++) {
+                Transaction<BlockSnapshot> transaction = view.getIfMaterialized(i);
+                if (transaction != null) {
+                    markAndNotifyBlockPost(transaction, type, cause);
+                } else {
+                    IBlockState originalState = view.getOriginalState(i);
+                    IBlockState newState = view.getFinalState(i);
+                    SpongeHooks.logBlockAction(cause, this.nmsWorld, type, (BlockState) originalState, (BlockState) newState);
+                    markAndNotifyBlockPost(view.getPos(i), originalState, newState, view.getUpdateFlag(i));
+                }
             }
+            return;
+        }
 
-            SpongeBlockSnapshot oldBlockSnapshot = (SpongeBlockSnapshot) transaction.getOriginal();
-            SpongeBlockSnapshot newBlockSnapshot = (SpongeBlockSnapshot) transaction.getFinal();
-            SpongeHooks.logBlockAction(cause, (net.minecraft.world.World) (Object) this, type, transaction);
-            int updateFlag = oldBlockSnapshot.getUpdateFlag();
-            BlockPos pos = VecHelper.toBlockPos(oldBlockSnapshot.getPosition());
-            IBlockState originalState = (IBlockState) oldBlockSnapshot.getState();
-            IBlockState newState = (IBlockState) newBlockSnapshot.getState();
-            // Containers get placed automatically
-            if (newState != null && !SpongeImplFactory.blockHasTileEntity(newState.getBlock(), newState)) {
-                this.currentTickOnBlockAdded = this.createSpongeBlockSnapshot(newState, newState.getBlock().getActualState(newState, (IBlockAccess) this, pos), pos, updateFlag);
-                newState.getBlock().onBlockAdded((net.minecraft.world.World) (Object) this, pos, newState);
-                if (this.capturedOnBlockAddedItems.size() > 0) {
-                    Cause blockCause = Cause.of(NamedCause.source(this.currentTickOnBlockAdded));
-                    if (this.captureTerrainGen) {
-                        net.minecraft.world.chunk.Chunk chunk = getChunkFromBlockCoords(pos);
-                        if (chunk != null && ((IMixinChunk) chunk).getCurrentPopulateCause() != null) {
-                            blockCause = blockCause.with(((IMixinChunk) chunk).getCurrentPopulateCause().all());
-                        }
+        for (Transaction<BlockSnapshot> transaction : transactions) {
+            markAndNotifyBlockPost(transaction, type, cause);
+        }
+    }
+
+    private void markAndNotifyBlockPost(Transaction<BlockSnapshot> transaction, CaptureType type, Cause cause) {
+        // Handle custom replacements
+        if (transaction.isValid() && transaction.getCustom().isPresent()) {
+            this.restoringBlocks = true;
+            transaction.getFinal().restore(true, false);
+            this.restoringBlocks = false;
+        }
+
+        SpongeBlockSnapshot oldBlockSnapshot = (SpongeBlockSnapshot) transaction.getOriginal();
+        SpongeBlockSnapshot newBlockSnapshot = (SpongeBlockSnapshot) transaction.getFinal();
+        SpongeHooks.logBlockAction(cause, this.nmsWorld, type, transaction);
+        markAndNotifyBlockPost(VecHelper.toBlockPos(oldBlockSnapshot.getPosition()), (IBlockState) oldBlockSnapshot.getState(),
+                (IBlockState) newBlockSnapshot.getState(), oldBlockSnapshot.getUpdateFlag());
+    }
+
+    private void markAndNotifyBlockPost(BlockPos pos, IBlockState originalState, IBlockState newState, int updateFlag) {
+        // Containers get placed automatically
+        if (newState != null && !SpongeImplFactory.blockHasTileEntity(newState.getBlock(), newState)) {
+            this.currentTickOnBlockAdded = this.createSpongeBlockSnapshot(newState, newState.getBlock().getActualState(newState, (IBlockAccess) this, pos), pos, updateFlag);
+            newState.getBlock().onBlockAdded((net.minecraft.world.World) (Object) this, pos, newState);
+            if (this.capturedOnBlockAddedItems.size() > 0) {
+                Cause blockCause = Cause.of(NamedCause.source(this.currentTickOnBlockAdded));
+                if (this.captureTerrainGen) {
+                    net.minecraft.world.chunk.Chunk chunk = getChunkFromBlockCoords(pos);
+                    if (chunk != null && ((IMixinChunk) chunk).getCurrentPopulateCause() != null) {
+                        blockCause = blockCause.with(((IMixinChunk) chunk).getCurrentPopulateCause().all());
                     }
-                    handleDroppedItems(blockCause, this.capturedOnBlockAddedItems, null, getBlockState(pos) != newState);
                 }
-                if (this.capturedOnBlockAddedEntities.size() > 0) {
-                    Cause blockCause = Cause.of(this.currentTickOnBlockAdded);
-                    if (this.captureTerrainGen) {
-                        net.minecraft.world.chunk.Chunk chunk = getChunkFromBlockCoords(pos);
-                        if (chunk != null && ((IMixinChunk) chunk).getCurrentPopulateCause() != null) {
-                            blockCause = blockCause.with(((IMixinChunk) chunk).getCurrentPopulateCause().all());
-                        }
+                handleDroppedItems(blockCause, this.capturedOnBlockAddedItems, null, getBlockState(pos) != newState);
+            }
+            if (this.capturedOnBlockAddedEntities.size() > 0) {
+                Cause blockCause = Cause.of(this.currentTickOnBlockAdded);
+                if (this.captureTerrainGen) {
+                    net.minecraft.world.chunk.Chunk chunk = getChunkFromBlockCoords(pos);
+                    if (chunk != null && ((IMixinChunk) chunk).getCurrentPopulateCause() != null) {
+                        blockCause = blockCause.with(((IMixinChunk) chunk).getCurrentPopulateCause().all());
                     }
-                    handleEntitySpawns(blockCause, this.capturedOnBlockAddedEntities, null);
                 }
-
-                this.currentTickOnBlockAdded = null;
+                handleEntitySpawns(blockCause, this.capturedOnBlockAddedEntities, null);
             }
 
-            markAndNotifyNeighbors(pos, null, originalState, newState, updateFlag);
+            this.currentTickOnBlockAdded = null;
         }
+
+        markAndNotifyNeighbors(pos, null, originalState, newState, updateFlag);
     }
 
     private boolean addWeatherEffect(net.minecraft.entity.Entity entity, Cause cause) {
@@ -2228,12 +2270,15 @@ public Collection<Direction> getFacesWithProperty(int x, int y, int z, Class<? e
         return faces.build();
     }
 
+    @SuppressWarnings("unchecked")
     @Override
     public <E> Optional<E> get(int x, int y, int z, Key<? extends BaseValue<E>> key) {
-        final Optional<E> optional = getBlock(x, y, z).get(key);
-        if (optional.isPresent()) {
-            return optional;
-        } else {
+        final BlockState state = getBlock(x, y, z);
+        final ImmutableValue<?> value = ((IMixinBlockState) state).getDataIndex().getValue(checkNotNull(key));
+        if (value != null) {
+            return Optional.of((E) value.get());
+        }
+        if (((Block) state.getType()).hasTileEntity()) {
             final Optional<TileEntity> tileEntityOptional = getTileEntity(x, y, z);
             if (tileEntityOptional.isPresent()) {
                 return tileEntityOptional.get().get(key);
@@ -25,6 +25,7 @@
 package org.spongepowered.common.mixin.core.world.biome;
 
 import com.flowpowered.math.vector.Vector2i;
+import net.minecraft.server.MinecraftServer;
 import net.minecraft.world.biome.BiomeGenBase;
 import net.minecraft.world.biome.WorldChunkManager;
 import org.spongepowered.api.world.biome.BiomeType;
@@ -48,7 +49,11 @@ public void generateBiomes(MutableBiomeArea buffer) {
         int xSize = size.getX();
         int zSize = size.getY();
 
-        BiomeGenBase[] biomes = getBiomeGenAt(null, xStart, zStart, xSize, zSize, true);
+        // The biome cache is not thread safe, so chunks generated in the
+        // background bypass it. It holds the same biomes either way.
+        final MinecraftServer server = MinecraftServer.getServer();
+        final boolean useCache = server == null || server.isCallingFromMinecraftThread();
+        BiomeGenBase[] biomes = getBiomeGenAt(null, xStart, zStart, xSize, zSize, useCache);
 
         for (int i = 0; i < xSize; i++) {
             for (int j = 0; j < zSize; j++) {
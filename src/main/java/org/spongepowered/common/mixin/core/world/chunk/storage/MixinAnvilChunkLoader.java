@@ -24,7 +24,6 @@
  */
 package org.spongepowered.common.mixin.core.world.chunk.storage;
 
-import com.google.common.collect.Maps;
 import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.nbt.NBTTagList;
 import net.minecraft.world.World;
@@ -36,10 +35,8 @@
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
 import org.spongepowered.asm.mixin.injection.callback.LocalCapture;
 import org.spongepowered.common.data.util.NbtDataUtil;
-import org.spongepowered.common.entity.PlayerTracker;
 import org.spongepowered.common.interfaces.IMixinChunk;
-
-import java.util.Map;
+import org.spongepowered.common.world.TrackedBlockTable;
 
 @Mixin(AnvilChunkLoader.class)
 public class MixinAnvilChunkLoader {
@@ -47,76 +44,65 @@ public class MixinAnvilChunkLoader {
     @Inject(method = "writeChunkToNBT", at = @At(value = "RETURN"))
     public void onWriteChunkToNBT(net.minecraft.world.chunk.Chunk chunkIn, World worldIn, NBTTagCompound compound, CallbackInfo ci) {
         IMixinChunk chunk = (IMixinChunk) chunkIn;
+        TrackedBlockTable trackedBlocks = chunk.getTrackedBlocks();
 
         // Add tracked block positions
-        if (chunk.getTrackedShortPlayerPositions().size() > 0 || chunk.getTrackedIntPlayerPositions().size() > 0) {
+        if (trackedBlocks.size() > 0) {
+            int[] positions = new int[trackedBlocks.size()];
+            int[] owners = new int[trackedBlocks.size()];
+            int[] notifiers = new int[trackedBlocks.size()];
+            int[] index = new int[1];
+            trackedBlocks.forEach((pos, owner, notifier) -> {
+                positions[index[0]] = pos;
+                owners[index[0]] = owner;
+                notifiers[index[0]++] = notifier;
+            });
             NBTTagCompound trackedNbt = new NBTTagCompound();
-            NBTTagList positions = new NBTTagList();
-            trackedNbt.setTag(NbtDataUtil.SPONGE_BLOCK_POS_TABLE, positions);
+            trackedNbt.setIntArray(NbtDataUtil.SPONGE_TRACKED_POSITIONS, positions);
+            trackedNbt.setIntArray(NbtDataUtil.SPONGE_TRACKED_OWNERS, owners);
+            trackedNbt.setIntArray(NbtDataUtil.SPONGE_TRACKED_NOTIFIERS, notifiers);
             compound.setTag(NbtDataUtil.SPONGE_DATA, trackedNbt);
-
-            for (Map.Entry<Short, PlayerTracker> mapEntry : chunk.getTrackedShortPlayerPositions().entrySet()) {
-                Short pos = mapEntry.getKey();
-                Integer ownerUniqueIdIndex = mapEntry.getValue().ownerIndex;
-                Integer notifierUniqueIdIndex = mapEntry.getValue().notifierIndex;
-                NBTTagCompound valueNbt = new NBTTagCompound();
-                if (ownerUniqueIdIndex != -1) {
-                    valueNbt.setInteger("owner", ownerUniqueIdIndex);
-                }
-                if (notifierUniqueIdIndex != -1) {
-                    valueNbt.setInteger("notifier", notifierUniqueIdIndex);
-                }
-                valueNbt.setShort("pos", pos);
-                positions.appendTag(valueNbt);
-            }
-
-            for (Map.Entry<Integer, PlayerTracker> mapEntry : chunk.getTrackedIntPlayerPositions().entrySet()) {
-                Integer pos = mapEntry.getKey();
-                Integer ownerUniqueIdIndex = mapEntry.getValue().ownerIndex;
-                Integer notifierUniqueIdIndex = mapEntry.getValue().notifierIndex;
-                NBTTagCompound valueNbt = new NBTTagCompound();
-                if (ownerUniqueIdIndex != -1) {
-                    valueNbt.setInteger("owner", ownerUniqueIdIndex);
-                }
-                if (notifierUniqueIdIndex != -1) {
-                    valueNbt.setInteger("notifier", notifierUniqueIdIndex);
-                }
-                valueNbt.setInteger("ipos", pos);
-                positions.appendTag(valueNbt);
-            }
         }
     }
 
     @Inject(method = "readChunkFromNBT", at = @At(value = "INVOKE", target = "Lnet/minecraft/nbt/NBTTagCompound;getIntArray(Ljava/lang/String;)[I", shift = At.Shift.BEFORE), locals = LocalCapture.CAPTURE_FAILHARD)
     public void onReadChunkFromNBT(World worldIn, NBTTagCompound compound, CallbackInfoReturnable<net.minecraft.world.chunk.Chunk> ci, int chunkX, int chunkZ, net.minecraft.world.chunk.Chunk chunkIn) {
         if (compound.hasKey(NbtDataUtil.SPONGE_DATA)) {
-            Map<Integer, PlayerTracker> trackedIntPlayerPositions = Maps.newHashMap();
-            Map<Short, PlayerTracker> trackedShortPlayerPositions = Maps.newHashMap();
-            NBTTagList positions = compound.getCompoundTag(NbtDataUtil.SPONGE_DATA).getTagList(NbtDataUtil.SPONGE_BLOCK_POS_TABLE, 10);
-            IMixinChunk chunk = (IMixinChunk) chunkIn;
-            for (int i = 0; i < positions.tagCount(); i++) {
-                NBTTagCompound valueNbt = positions.getCompoundTagAt(i);
-                boolean isShortPos = valueNbt.hasKey("pos");
-                PlayerTracker tracker = new PlayerTracker();
-                if (valueNbt.hasKey("owner")) {
-                    tracker.ownerIndex = valueNbt.getInteger("owner");
-                } else if (valueNbt.hasKey("uuid")) { // Migrate old data, remove in future
-                    tracker.ownerIndex = valueNbt.getInteger("uuid");
-                }
-                if (valueNbt.hasKey("notifier")) {
-                    tracker.notifierIndex = valueNbt.getInteger("notifier");
+            NBTTagCompound trackedNbt = compound.getCompoundTag(NbtDataUtil.SPONGE_DATA);
+            TrackedBlockTable trackedBlocks = new TrackedBlockTable();
+            if (trackedNbt.hasKey(NbtDataUtil.SPONGE_TRACKED_POSITIONS)) {
+                int[] positions = trackedNbt.getIntArray(NbtDataUtil.SPONGE_TRACKED_POSITIONS);
+                int[] owners = trackedNbt.getIntArray(NbtDataUtil.SPONGE_TRACKED_OWNERS);
+                int[] notifiers = trackedNbt.getIntArray(NbtDataUtil.SPONGE_TRACKED_NOTIFIERS);
+                if (owners.length == positions.length && notifiers.length == positions.length) {
+                    for (int i = 0; i < positions.length; i++) {
+                        trackedBlocks.put(positions[i], owners[i], notifiers[i]);
+                    }
                 }
+            } else {
+                // Migrate the old format with a compound per position
+                NBTTagList positions = trackedNbt.getTagList(NbtDataUtil.SPONGE_BLOCK_POS_TABLE, 10);
+                for (int i = 0; i < positions.tagCount(); i++) {
+                    NBTTagCompound valueNbt = positions.getCompoundTagAt(i);
+                    int owner = -1;
+                    int notifier = -1;
+                    if (valueNbt.hasKey("owner")) {
+                        owner = valueNbt.getInteger("owner");
+                    } else if (valueNbt.hasKey("uuid")) { // Migrate old data, remove in future
+                        owner = valueNbt.getInteger("uuid");
+                    }
+                    if (valueNbt.hasKey("notifier")) {
+                        notifier = valueNbt.getInteger("notifier");
+                    }
 
-                if (tracker.notifierIndex != -1 || tracker.ownerIndex != -1) {
-                    if (isShortPos) {
-                        trackedShortPlayerPositions.put(valueNbt.getShort("pos"), tracker);
+                    if (valueNbt.hasKey("pos")) {
+                        trackedBlocks.put(TrackedBlockTable.keyFromShort(valueNbt.getShort("pos")), owner, notifier);
                     } else {
-                        trackedIntPlayerPositions.put(valueNbt.getInteger("ipos"), tracker);
+                        trackedBlocks.put(valueNbt.getInteger("ipos"), owner, notifier);
                     }
                 }
             }
-            chunk.setTrackedIntPlayerPositions(trackedIntPlayerPositions);
-            chunk.setTrackedShortPlayerPositions(trackedShortPlayerPositions);
+            ((IMixinChunk) chunkIn).setTrackedBlocks(trackedBlocks);
         }
     }
 }
@@ -0,0 +1,81 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.mixin.entityactivation;
+
+import co.aikar.timings.SpongeTimings;
+import net.minecraft.entity.Entity;
+import net.minecraft.util.MathHelper;
+import net.minecraft.world.World;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Shadow;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+import org.spongepowered.common.entity.EntityActivationRange;
+import org.spongepowered.common.interfaces.entity.IMixinEntity;
+
+@Mixin(World.class)
+public abstract class MixinWorld {
+
+    @Shadow public boolean isRemote;
+
+    @Shadow public abstract boolean isAreaLoaded(int xStart, int yStart, int zStart, int xEnd, int yEnd, int zEnd, boolean allowEmpty);
+
+    @Inject(method = "updateEntities", at = @At("HEAD"))
+    private void onUpdateEntities(CallbackInfo ci) {
+        if (!this.isRemote) {
+            EntityActivationRange.activateEntities((World) (Object) this);
+        }
+    }
+
+    @Inject(method = "updateEntityWithOptionalForce", at = @At("HEAD"), cancellable = true)
+    private void onUpdateEntityWithOptionalForce(Entity entity, boolean forceUpdate, CallbackInfo ci) {
+        if (this.isRemote || !forceUpdate) {
+            return;
+        }
+
+        // Vanilla doesn't update entities next to unloaded chunks at all, so
+        // leave those to it rather than ticking them as inactive
+        final int x = MathHelper.floor_double(entity.posX);
+        final int z = MathHelper.floor_double(entity.posZ);
+        if (!this.isAreaLoaded(x - 32, 0, z - 32, x + 32, 0, z + 32, true) || EntityActivationRange.checkIfActive(entity)) {
+            SpongeTimings.tickEntityActiveTimer.startTiming();
+            return;
+        }
+
+        SpongeTimings.tickEntityInactiveTimer.startTiming();
+        entity.ticksExisted++;
+        ((IMixinEntity) entity).inactiveTick();
+        SpongeTimings.tickEntityInactiveTimer.stopTiming();
+        ci.cancel();
+    }
+
+    @Inject(method = "updateEntityWithOptionalForce", at = @At("RETURN"))
+    private void onUpdateEntityWithOptionalForceReturn(Entity entity, boolean forceUpdate, CallbackInfo ci) {
+        if (!this.isRemote && forceUpdate) {
+            SpongeTimings.tickEntityActiveTimer.stopTiming();
+        }
+    }
+}
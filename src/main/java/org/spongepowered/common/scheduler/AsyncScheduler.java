@@ -24,27 +24,32 @@
  */
 package org.spongepowered.common.scheduler;
 
-import org.spongepowered.api.scheduler.Task;
+import co.aikar.timings.Timing;
 import org.spongepowered.common.SpongeImpl;
 
-import java.util.Set;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.TimeUnit;
+import java.util.Comparator;
+import java.util.NavigableSet;
+import java.util.TreeSet;
 import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 
 public class AsyncScheduler extends SchedulerBase {
 
-    // Adjustable timeout for pending Tasks
-    private long minimumTimeout = Long.MAX_VALUE;
-    private long lastProcessingTimestamp;
+    // Orders tasks by the time they are due, in submission order when due at the same time
+    private static final Comparator<ScheduledTask> DUE_ORDER = (o1, o2) -> {
+        int result = Long.compare(o1.queuedTimestamp - o2.queuedTimestamp, 0L);
+        return result != 0 ? result : Long.compare(o1.sequence, o2.sequence);
+    };
+
+    // The pending tasks ordered by their next execution
+    private final NavigableSet<ScheduledTask> queue = new TreeSet<>(DUE_ORDER);
+    private long sequence;
     // Locking mechanism
     private final Lock lock = new ReentrantLock();
     private final Condition condition = this.lock.newCondition();
-    // The dynamic thread pooling executor of asynchronous tasks.
-    private final ExecutorService executor = Executors.newCachedThreadPool();
+    // The bounded executor of asynchronous tasks.
+    private final AsyncTaskExecutor executor = new AsyncTaskExecutor();
 
     AsyncScheduler() {
         super(ScheduledTask.TaskSynchronicity.ASYNCHRONOUS);
@@ -55,90 +60,82 @@ public class AsyncScheduler extends SchedulerBase {
         thread.start();
     }
 
-    ExecutorService getExecutor() {
+    AsyncTaskExecutor getExecutor() {
         return this.executor;
     }
 
     private void mainLoop() {
-        this.lastProcessingTimestamp = System.nanoTime();
-        while (true) {
-            recalibrateMinimumTimeout();
-            this.runTick();
-        }
-    }
-
-    private void recalibrateMinimumTimeout() {
         this.lock.lock();
         try {
-            Set<Task> tasks = this.getScheduledTasks();
-            this.minimumTimeout = Long.MAX_VALUE;
-            long now = System.nanoTime();
-            for (Task tmpTask : tasks) {
-                ScheduledTask task = (ScheduledTask) tmpTask;
-                // Recalibrate the wait delay for processing tasks before new
-                // tasks cause the scheduler to process pending tasks.
-                if (task.offset == 0 && task.period == 0) {
-                    this.minimumTimeout = 0;
-                }
-                // The time since the task last executed or was added to the map
-                long timeSinceLast = now - task.getTimestamp();
-
-                if (task.offset > 0 && task.getState() == ScheduledTask.ScheduledTaskState.WAITING) {
-                    // There is an offset and the task hasn't run yet
-                    this.minimumTimeout = Math.min(task.offset - timeSinceLast, this.minimumTimeout);
-                }
-                if (task.period > 0 && task.getState().isActive) {
-                    // The task repeats and has run after the initial delay
-                    this.minimumTimeout = Math.min(task.period - timeSinceLast, this.minimumTimeout);
+            while (true) {
+                try {
+                    if (this.queue.isEmpty()) {
+                        this.condition.await();
+                        continue;
+                    }
+                    ScheduledTask task = this.queue.first();
+                    long wait = task.queuedTimestamp - System.nanoTime();
+                    if (wait > 0) {
+                        // Woken up early when a task is added in front of the queue
+                        this.condition.awaitNanos(wait);
+                        continue;
+                    }
+                    this.queue.pollFirst();
+                    processTask(task);
+                    if (task.period > 0 && task.getState().isActive) {
+                        enqueue(task);
+                    }
+                } catch (InterruptedException ignored) {
+                    // The queue has been modified; there is work to do.
+                    // Continue on without handling the Exception.
+                } catch (Throwable t) {
+                    SpongeImpl.getLogger().error("The scheduler internal state machine suffered a catastrophic error", t);
                 }
-                if (this.minimumTimeout <= 0) {
-                    break;
-                }
-            }
-            if (!tasks.isEmpty()) {
-                long latency = System.nanoTime() - this.lastProcessingTimestamp;
-                this.minimumTimeout -= (latency <= 0) ? 0 : latency;
-                this.minimumTimeout = (this.minimumTimeout < 0) ? 0 : this.minimumTimeout;
             }
         } finally {
             this.lock.unlock();
         }
     }
 
-    @Override
-    protected void preTick() {
-        this.lock.lock();
-        try {
-            this.condition.await(this.minimumTimeout, TimeUnit.NANOSECONDS);
-        } catch (InterruptedException ignored) {
-            // The taskMap has been modified; there is work to do.
-            // Continue on without handling the Exception.
-        } catch (IllegalMonitorStateException e) {
-            SpongeImpl.getLogger().error("The scheduler internal state machine suffered a catastrophic error", e);
+    private void enqueue(ScheduledTask task) {
+        task.queuedTimestamp = task.nextExecutionTimestamp();
+        task.sequence = this.sequence++;
+        this.queue.add(task);
+        if (this.queue.first() == task) {
+            this.condition.signalAll();
         }
     }
 
     @Override
-    protected void postTick() {
-        this.lastProcessingTimestamp = System.nanoTime();
-    }
-
-    @Override
-    protected void finallyPostTick() {
-        this.lock.unlock();
+    protected void executeTaskRunnable(ScheduledTask task, Runnable runnable) {
+        final Timing timings = task.getTimingsHandler();
+        this.executor.execute(task.getOwner(), () -> {
+            timings.startTiming();
+            try {
+                runnable.run();
+            } finally {
+                timings.stopTiming();
+            }
+        });
     }
 
     @Override
-    protected void executeTaskRunnable(Runnable runnable) {
-        this.executor.submit(runnable);
+    protected void addTask(ScheduledTask task) {
+        this.lock.lock();
+        try {
+            super.addTask(task);
+            enqueue(task);
+        } finally {
+            this.lock.unlock();
+        }
     }
 
     @Override
-    protected void addTask(ScheduledTask task) {
+    protected void onCancel(ScheduledTask task) {
         this.lock.lock();
         try {
-            super.addTask(task);
-            this.condition.signalAll();
+            this.queue.remove(task);
+            removeTask(task);
         } finally {
             this.lock.unlock();
         }
@@ -0,0 +1,408 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.scheduler;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.spongepowered.api.plugin.PluginContainer;
+import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.config.SpongeConfig;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.annotation.Nullable;
+
+/**
+ * Runs asynchronous tasks on a pool of named threads.
+ *
+ * <p>Every plugin gets its own queue, and the workers take one task from
+ * each plugin with pending tasks in turn. A single plugin may only use half
+ * of the workers at once, and when every worker is busy, for example blocked
+ * by long running tasks, another one is started for the plugins that are
+ * still waiting, up to the configured maximum number of threads. These extra
+ * workers stop again once they have been idle for a while. So a plugin submitting a burst of blocking tasks can't starve the
+ * others. Alternatively the tasks are handed to a work stealing
+ * {@link ForkJoinPool}, which doesn't provide fairness between plugins.</p>
+ *
+ * <p>The pool is started with the settings of the global config the first
+ * time a task is submitted.</p>
+ */
+public final class AsyncTaskExecutor extends AbstractExecutorService {
+
+    private static final String THREAD_NAME_FORMAT = "Sponge Async Task Thread - #%d";
+    // The id of the lane of tasks not submitted on behalf of a plugin
+    private static final String SPONGE_LANE = "sponge";
+    private static final int LATENCY_SAMPLES = 1024;
+    private static final long EXTRA_WORKER_KEEP_ALIVE_SECONDS = 60;
+
+    private final Map<String, Lane> lanes = new ConcurrentHashMap<>();
+    // Lanes with pending tasks, in the order the workers take turns on them
+    private final BlockingQueue<Lane> ready = new LinkedBlockingQueue<>();
+    @Nullable private volatile ExecutorService pool;
+    private volatile boolean workStealing;
+    // The number of tasks of a single plugin that may run at once
+    private volatile int maxActivePerLane = 1;
+    private final AtomicInteger idleWorkers = new AtomicInteger();
+    private final AtomicInteger extraWorkers = new AtomicInteger();
+    private volatile int maxExtraWorkers;
+    private volatile boolean shutdown;
+
+    AsyncTaskExecutor() {
+    }
+
+    private ExecutorService getPool() {
+        ExecutorService pool = this.pool;
+        if (pool == null) {
+            synchronized (this) {
+                pool = this.pool;
+                if (pool == null) {
+                    SpongeConfig.AsyncSchedulerCategory config = SpongeImpl.getGlobalConfig().getConfig().getAsyncScheduler();
+                    int threads = Math.max(1, config.getThreads());
+                    this.pool = pool = start(threads, Math.max(threads, config.getMaxThreads()), config.isWorkStealing());
+                }
+            }
+        }
+        return pool;
+    }
+
+    private ExecutorService start(int threads, int maxThreads, boolean workStealing) {
+        this.workStealing = workStealing;
+        if (workStealing) {
+            AtomicInteger count = new AtomicInteger();
+            return new ForkJoinPool(threads, pool -> {
+                ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+                thread.setName(String.format(THREAD_NAME_FORMAT, count.getAndIncrement()));
+                return thread;
+            }, null, true);
+        }
+        this.maxActivePerLane = Math.max(1, threads / 2);
+        this.maxExtraWorkers = maxThreads - threads;
+        // Workers only return once they stop, so every execute starts a new
+        // thread; the first ones run for as long as the pool does
+        ExecutorService pool = new ThreadPoolExecutor(threads, maxThreads, EXTRA_WORKER_KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+                new SynchronousQueue<>(), new ThreadFactoryBuilder()
+                .setNameFormat(THREAD_NAME_FORMAT)
+                .setDaemon(true)
+                .build());
+        for (int i = 0; i < threads; i++) {
+            pool.execute(() -> work(false));
+        }
+        return pool;
+    }
+
+    private void work(boolean extra) {
+        try {
+            workLoop(extra);
+        } finally {
+            if (extra) {
+                this.extraWorkers.decrementAndGet();
+            }
+        }
+    }
+
+    private void workLoop(boolean extra) {
+        while (!Thread.currentThread().isInterrupted()) {
+            Lane lane;
+            this.idleWorkers.incrementAndGet();
+            try {
+                lane = extra ? this.ready.poll(EXTRA_WORKER_KEEP_ALIVE_SECONDS, TimeUnit.SECONDS) : this.ready.take();
+            } catch (InterruptedException e) {
+                return;
+            } finally {
+                this.idleWorkers.decrementAndGet();
+            }
+            if (lane == null) {
+                // Idle for long enough, the other workers can keep up again
+                return;
+            }
+            Job job = lane.poll();
+            if (job != null) {
+                try {
+                    job.run();
+                } finally {
+                    lane.finished();
+                }
+            }
+        }
+    }
+
+    private void schedule(Lane lane) {
+        this.ready.add(lane);
+        ExecutorService pool = this.pool;
+        if (pool != null && this.idleWorkers.get() == 0 && !this.shutdown && reserveExtraWorker()) {
+            // Every worker is busy, possibly blocked by long running tasks of
+            // other plugins, so start another one rather than let this plugin
+            // wait
+            try {
+                pool.execute(() -> work(true));
+            } catch (RejectedExecutionException e) {
+                // Shut down meanwhile, or the previous extra worker's thread
+                // has not stopped yet
+                this.extraWorkers.decrementAndGet();
+            }
+        }
+    }
+
+    private boolean reserveExtraWorker() {
+        int extra;
+        do {
+            extra = this.extraWorkers.get();
+            if (extra >= this.maxExtraWorkers) {
+                return false;
+            }
+        } while (!this.extraWorkers.compareAndSet(extra, extra + 1));
+        return true;
+    }
+
+    /**
+     * Submits a task on behalf of a plugin.
+     *
+     * @param plugin The plugin owning the task
+     * @param runnable The task
+     */
+    void execute(PluginContainer plugin, Runnable runnable) {
+        execute(plugin.getId(), runnable);
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        execute(SPONGE_LANE, command);
+    }
+
+    private void execute(String laneId, Runnable runnable) {
+        if (this.shutdown) {
+            throw new RejectedExecutionException("The async task executor has been shut down");
+        }
+        Lane lane = this.lanes.computeIfAbsent(laneId, Lane::new);
+        Job job = new Job(lane, runnable);
+        ExecutorService pool = getPool();
+        lane.queued.incrementAndGet();
+        if (this.workStealing) {
+            pool.execute(job);
+        } else {
+            lane.offer(job);
+        }
+    }
+
+    /**
+     * Gets the task statistics of every plugin that submitted tasks.
+     *
+     * @return The lanes
+     */
+    public Collection<Lane> getLanes() {
+        return ImmutableList.copyOf(this.lanes.values());
+    }
+
+    @Override
+    public void shutdown() {
+        this.shutdown = true;
+        ExecutorService pool = this.pool;
+        if (pool != null) {
+            if (this.workStealing) {
+                pool.shutdown();
+            } else {
+                // Workers idle in take() until interrupted
+                pool.shutdownNow();
+            }
+        }
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        shutdown();
+        ImmutableList.Builder<Runnable> pending = ImmutableList.builder();
+        for (Lane lane : this.lanes.values()) {
+            lane.drainTo(pending);
+        }
+        return pending.build();
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return this.shutdown;
+    }
+
+    @Override
+    public boolean isTerminated() {
+        ExecutorService pool = this.pool;
+        return this.shutdown && (pool == null || pool.isTerminated());
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        ExecutorService pool = this.pool;
+        return pool == null || pool.awaitTermination(timeout, unit);
+    }
+
+    private final class Job implements Runnable {
+
+        final Lane lane;
+        final Runnable runnable;
+        final long submitted = System.nanoTime();
+
+        Job(Lane lane, Runnable runnable) {
+            this.lane = lane;
+            this.runnable = runnable;
+        }
+
+        @Override
+        public void run() {
+            this.lane.queued.decrementAndGet();
+            this.lane.active.incrementAndGet();
+            this.lane.recordLatency(System.nanoTime() - this.submitted);
+            try {
+                this.runnable.run();
+            } catch (Throwable t) {
+                SpongeImpl.getLogger().error("An async task of {} threw an exception", this.lane.id, t);
+            } finally {
+                this.lane.active.decrementAndGet();
+                this.lane.completed.incrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * The tasks of a single plugin.
+     */
+    public final class Lane {
+
+        final String id;
+        private final Queue<Job> jobs = new ArrayDeque<>();
+        private boolean scheduled;
+        // Tasks taken by a worker that haven't finished yet
+        private int running;
+        final AtomicInteger queued = new AtomicInteger();
+        final AtomicInteger active = new AtomicInteger();
+        final AtomicLong completed = new AtomicLong();
+        // The most recent queue latencies, in nanoseconds
+        private final long[] latencies = new long[LATENCY_SAMPLES];
+        private final AtomicLong latencyCount = new AtomicLong();
+
+        Lane(String id) {
+            this.id = id;
+        }
+
+        synchronized void offer(Job job) {
+            this.jobs.add(job);
+            if (!this.scheduled && this.running < AsyncTaskExecutor.this.maxActivePerLane) {
+                this.scheduled = true;
+                schedule(this);
+            }
+        }
+
+        @Nullable
+        synchronized Job poll() {
+            Job job = this.jobs.poll();
+            if (job != null) {
+                this.running++;
+            }
+            // Queue up behind the other plugins before the task runs, so other
+            // workers can continue with this plugin meanwhile, unless it
+            // already runs as many tasks as a single plugin may
+            if (this.jobs.isEmpty() || this.running >= AsyncTaskExecutor.this.maxActivePerLane) {
+                this.scheduled = false;
+            } else {
+                schedule(this);
+            }
+            return job;
+        }
+
+        synchronized void finished() {
+            this.running--;
+            if (!this.scheduled && !this.jobs.isEmpty()) {
+                this.scheduled = true;
+                schedule(this);
+            }
+        }
+
+        synchronized void drainTo(ImmutableList.Builder<Runnable> pending) {
+            Job job;
+            while ((job = this.jobs.poll()) != null) {
+                pending.add(job.runnable);
+            }
+        }
+
+        void recordLatency(long latency) {
+            this.latencies[(int) (this.latencyCount.getAndIncrement() % LATENCY_SAMPLES)] = latency;
+        }
+
+        public String getId() {
+            return this.id;
+        }
+
+        public int getQueueDepth() {
+            return this.queued.get();
+        }
+
+        public int getActiveThreads() {
+            return this.active.get();
+        }
+
+        public long getCompletedCount() {
+            return this.completed.get();
+        }
+
+        /**
+         * Gets the latency percentiles of the most recent tasks, the time
+         * they spent queued before a thread picked them up.
+         *
+         * @param percentiles The percentiles, between 0 and 100
+         * @return The latencies in microseconds, in the order of the given
+         *     percentiles
+         */
+        public long[] getLatencyPercentiles(double... percentiles) {
+            int count = (int) Math.min(this.latencyCount.get(), LATENCY_SAMPLES);
+            long[] samples = Arrays.copyOf(this.latencies, count);
+            Arrays.sort(samples);
+            long[] result = new long[percentiles.length];
+            if (count > 0) {
+                for (int i = 0; i < percentiles.length; i++) {
+                    int index = (int) Math.ceil(percentiles[i] / 100 * count) - 1;
+                    result[i] = TimeUnit.NANOSECONDS.toMicros(samples[Math.max(0, Math.min(count - 1, index))]);
+                }
+            }
+            return result;
+        }
+    }
+
+}
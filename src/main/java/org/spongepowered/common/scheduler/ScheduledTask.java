@@ -24,6 +24,8 @@
  */
 package org.spongepowered.common.scheduler;
 
+import co.aikar.timings.SpongeTimings;
+import co.aikar.timings.Timing;
 import com.google.common.base.Objects;
 import org.spongepowered.api.plugin.PluginContainer;
 import org.spongepowered.api.scheduler.Task;
@@ -32,6 +34,8 @@
 import java.util.function.Consumer;
 import java.util.concurrent.TimeUnit;
 
+import javax.annotation.Nullable;
+
 /**
  * An internal representation of a {@link Task} created by a plugin.
  */
@@ -49,6 +53,12 @@ public class ScheduledTask implements Task {
     private final String name;
     private final TaskSynchronicity syncType;
     private final String stringRepresentation;
+    // The scheduler the task was submitted to, notified when it is cancelled
+    SchedulerBase scheduler;
+    // Ordering of the task in the async queue, fixed while the task is queued
+    long queuedTimestamp;
+    long sequence;
+    @Nullable private Timing timings;
 
     // Internal Task state. Not for user-service use.
     public enum ScheduledTaskState {
@@ -123,6 +133,13 @@ public long getInterval() {
         }
     }
 
+    Timing getTimingsHandler() {
+        if (this.timings == null) {
+            this.timings = SpongeTimings.getPluginTaskTimings(this, this.period);
+        }
+        return this.timings;
+    }
+
     @Override
     public boolean cancel() {
         boolean success = false;
@@ -130,6 +147,9 @@ public boolean cancel() {
             success = true;
         }
         this.setState(ScheduledTask.ScheduledTaskState.CANCELED);
+        if (this.scheduler != null) {
+            this.scheduler.onCancel(this);
+        }
         return success;
     }
 
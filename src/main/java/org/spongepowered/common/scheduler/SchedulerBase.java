@@ -72,6 +72,7 @@ protected long getTimestamp(ScheduledTask task) {
      * @param task The task to add
      */
     protected void addTask(ScheduledTask task) {
+        task.scheduler = this;
         task.setTimestamp(this.getTimestamp(task));
         this.taskMap.put(task.getUniqueId(), task);
     }
@@ -85,6 +86,16 @@ protected void removeTask(ScheduledTask task) {
         this.taskMap.remove(task.getUniqueId());
     }
 
+    /**
+     * Called when a task of this scheduler is cancelled. Cancelled tasks are
+     * removed the next time they are processed unless the scheduler removes
+     * them sooner.
+     *
+     * @param task The cancelled task
+     */
+    protected void onCancel(ScheduledTask task) {
+    }
+
     protected Optional<Task> getTask(UUID id) {
         return Optional.<Task>ofNullable(this.taskMap.get(id));
     }
@@ -101,13 +112,21 @@ protected Set<Task> getScheduledTasks() {
     protected final void runTick() {
         this.preTick();
         try {
-            this.taskMap.values().forEach(this::processTask);
+            this.processTasks();
             this.postTick();
         } finally {
             this.finallyPostTick();
         }
     }
 
+    /**
+     * Processes the tasks which may be due. By default every task in the map
+     * is checked.
+     */
+    protected void processTasks() {
+        this.taskMap.values().forEach(this::processTask);
+    }
+
     /**
      * Fired when the scheduler begins to tick, before any tasks are processed.
      */
@@ -131,20 +150,23 @@ protected void finallyPostTick() {
      * Processes the task.
      *
      * @param task The task to process
+     * @return Whether the task was started
      */
-    protected void processTask(ScheduledTask task) {
+    protected boolean processTask(ScheduledTask task) {
         // If the task is now slated to be cancelled, we just remove it as if it
         // no longer exists.
         if (task.getState() == ScheduledTask.ScheduledTaskState.CANCELED) {
             this.removeTask(task);
-            return;
+            return false;
         }
         long threshold = Long.MAX_VALUE;
         // Figure out if we start a delayed Task after threshold ticks or, start
         // it after the interval (period) of the repeating task parameter.
         if (task.getState() == ScheduledTask.ScheduledTaskState.WAITING) {
             threshold = task.offset;
-        } else if (task.getState() == ScheduledTask.ScheduledTaskState.RUNNING) {
+        } else if (task.getState().isActive) {
+            // A repeating task may be due again before its previous run has
+            // started on the async executor
             threshold = task.period;
         }
         // This moment is 'now'
@@ -162,7 +184,9 @@ protected void processTask(ScheduledTask task) {
             if (task.period == 0L) {
                 this.removeTask(task);
             }
+            return true;
         }
+        return false;
     }
 
     /**
@@ -171,7 +195,7 @@ protected void processTask(ScheduledTask task) {
      * @param task The task to start
      */
     protected void startTask(final ScheduledTask task) {
-        this.executeTaskRunnable(() -> {
+        this.executeTaskRunnable(task, () -> {
             task.setState(ScheduledTask.ScheduledTaskState.RUNNING);
             try {
                 task.getConsumer().accept(task);
@@ -185,8 +209,9 @@ protected void startTask(final ScheduledTask task) {
     /**
      * Actually run the runnable that will begin the task
      *
+     * @param task The task the runnable begins
      * @param runnable The runnable to run
      */
-    protected abstract void executeTaskRunnable(Runnable runnable);
+    protected abstract void executeTaskRunnable(ScheduledTask task, Runnable runnable);
 
 }
@@ -186,6 +186,33 @@ public void tickSyncScheduler() {
         this.syncScheduler.tick();
     }
 
+    /**
+     * Gets the number of synchronous tasks started during the last tick.
+     *
+     * @return The number of tasks
+     */
+    public int getSyncTasksRunLastTick() {
+        return this.syncScheduler.getTasksRunLastTick();
+    }
+
+    /**
+     * Gets the number of synchronous tasks started since the server started.
+     *
+     * @return The number of tasks
+     */
+    public long getSyncTasksRun() {
+        return this.syncScheduler.getTasksRun();
+    }
+
+    /**
+     * Gets the executor running asynchronous tasks.
+     *
+     * @return The executor
+     */
+    public AsyncTaskExecutor getAsyncExecutor() {
+        return this.asyncScheduler.getExecutor();
+    }
+
     private ListeningExecutorService listeningExec = null;
 
     public ListeningExecutorService getListeningExecService() {
@@ -24,21 +24,143 @@
  */
 package org.spongepowered.common.scheduler;
 
+import co.aikar.timings.SpongeTimings;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
 public class SyncScheduler extends SchedulerBase {
 
+    // The number of ticks covered by the ring of task buckets
+    private static final int RING_SIZE = 256;
+    private static final int RING_MASK = RING_SIZE - 1;
+
     // The number of ticks elapsed since this scheduler began.
     private volatile long counter = 0L;
+    // Tasks due within the next RING_SIZE ticks, bucketed by due tick
+    @SuppressWarnings("unchecked")
+    private final List<ScheduledTask>[] ring = new List[RING_SIZE];
+    private List<ScheduledTask> spareBucket = new ArrayList<>();
+    // Tasks due later, ordered by due tick
+    private final Queue<ScheduledTask> overflow = new PriorityQueue<>((o1, o2) -> Long.compare(o1.queuedTimestamp, o2.queuedTimestamp));
+    // Tasks submitted since the last tick, possibly from other threads
+    private final Queue<ScheduledTask> submitted = new ConcurrentLinkedQueue<>();
+    private int tasksRunLastTick;
+    private long tasksRun;
 
     SyncScheduler() {
         super(ScheduledTask.TaskSynchronicity.SYNCHRONOUS);
+        for (int i = 0; i < RING_SIZE; i++) {
+            this.ring[i] = new ArrayList<>();
+        }
     }
 
     /**
      * The hook to update the Ticks known by the SyncScheduler.
      */
     void tick() {
-        this.counter++;
-        this.runTick();
+        SpongeTimings.schedulerTimer.startTiming();
+        try {
+            this.counter++;
+            this.tasksRunLastTick = 0;
+            this.runTick();
+            this.tasksRun += this.tasksRunLastTick;
+        } finally {
+            SpongeTimings.schedulerTimer.stopTiming();
+        }
+    }
+
+    /**
+     * Gets the number of tasks started during the last tick.
+     *
+     * @return The number of tasks
+     */
+    int getTasksRunLastTick() {
+        return this.tasksRunLastTick;
+    }
+
+    /**
+     * Gets the number of tasks started since this scheduler began.
+     *
+     * @return The number of tasks
+     */
+    long getTasksRun() {
+        return this.tasksRun;
+    }
+
+    @Override
+    protected void addTask(ScheduledTask task) {
+        super.addTask(task);
+        this.submitted.add(task);
+    }
+
+    @Override
+    protected void onCancel(ScheduledTask task) {
+        // Dropped from its bucket when the bucket is processed
+        removeTask(task);
+    }
+
+    @Override
+    protected void processTasks() {
+        final long now = this.counter;
+        ScheduledTask task;
+        while ((task = this.submitted.poll()) != null) {
+            schedule(task, now);
+        }
+        while ((task = this.overflow.peek()) != null && task.queuedTimestamp - now < RING_SIZE) {
+            this.overflow.poll();
+            this.ring[(int) (task.queuedTimestamp & RING_MASK)].add(task);
+        }
+
+        final int index = (int) (now & RING_MASK);
+        final List<ScheduledTask> bucket = this.ring[index];
+        this.ring[index] = this.spareBucket;
+        for (int i = 0; i < bucket.size(); i++) {
+            task = bucket.get(i);
+            if (task.getState() == ScheduledTask.ScheduledTaskState.CANCELED) {
+                removeTask(task);
+                continue;
+            }
+            if (processTask(task)) {
+                this.tasksRunLastTick++;
+            }
+            if (task.getState() != ScheduledTask.ScheduledTaskState.CANCELED && (task.period > 0 || !task.getState().isActive)) {
+                // Repeating, or a real time delay which hasn't fully passed yet
+                schedule(task, now + 1);
+            }
+        }
+        bucket.clear();
+        this.spareBucket = bucket;
+    }
+
+    /**
+     * Puts the task in the bucket of the tick it is due.
+     *
+     * @param task The task
+     * @param minimumTick The earliest tick the task may run
+     */
+    private void schedule(ScheduledTask task, long minimumTick) {
+        long dueTick;
+        final boolean waiting = task.getState() == ScheduledTask.ScheduledTaskState.WAITING;
+        if (waiting ? task.delayIsTicks : task.intervalIsTicks) {
+            dueTick = task.nextExecutionTimestamp();
+        } else {
+            // Round real time up to whole ticks, the task is checked again if the server runs ahead
+            long remaining = task.nextExecutionTimestamp() - super.getTimestamp(task);
+            dueTick = this.counter + (remaining <= 0 ? 0 : (remaining + SpongeScheduler.TICK_DURATION_NS - 1) / SpongeScheduler.TICK_DURATION_NS);
+        }
+        if (dueTick < minimumTick) {
+            dueTick = minimumTick;
+        }
+        task.queuedTimestamp = dueTick;
+        if (dueTick - this.counter < RING_SIZE) {
+            this.ring[(int) (dueTick & RING_MASK)].add(task);
+        } else {
+            this.overflow.add(task);
+        }
     }
 
     @Override
@@ -62,7 +184,7 @@ protected long getTimestamp(ScheduledTask task) {
     }
 
     @Override
-    protected void executeTaskRunnable(Runnable runnable) {
+    protected void executeTaskRunnable(ScheduledTask task, Runnable runnable) {
         runnable.run();
     }
 
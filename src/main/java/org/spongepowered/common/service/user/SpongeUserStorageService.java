@@ -36,6 +36,7 @@
 import java.util.Locale;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 public class SpongeUserStorageService implements UserStorageService {
 
@@ -46,6 +47,28 @@ public Optional<User> get(UUID uniqueId) {
         return Optional.ofNullable(UserDiscoverer.findByUuid(checkNotNull(uniqueId, "uniqueId")));
     }
 
+    /**
+     * Gets the user data of the given UUID without reading stored user data
+     * on the calling thread.
+     *
+     * @param uniqueId The user's UUID
+     * @return A future completed with the user, if found
+     */
+    public CompletableFuture<Optional<User>> getAsync(UUID uniqueId) {
+        return UserDiscoverer.findByUuidAsync(checkNotNull(uniqueId, "uniqueId")).thenApply(Optional::ofNullable);
+    }
+
+    /**
+     * Gets the user data of the given profile without reading stored user
+     * data on the calling thread.
+     *
+     * @param profile The user's profile
+     * @return A future completed with the user, if found
+     */
+    public CompletableFuture<Optional<User>> getAsync(GameProfile profile) {
+        return getAsync(checkNotNull(checkNotNull(profile, "profile").getUniqueId(), "profile UUID"));
+    }
+
     @Override
     public Optional<User> get(String lastKnownName) {
         checkNotNull(lastKnownName, "lastKnownName");
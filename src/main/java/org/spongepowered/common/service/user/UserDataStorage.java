@@ -0,0 +1,247 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.service.user;
+
+import co.aikar.timings.SpongeTimings;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import net.minecraft.nbt.CompressedStreamTools;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.world.storage.SaveHandler;
+import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.world.DimensionManager;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.annotation.Nullable;
+
+/**
+ * Reads and writes offline user data files off the main thread.
+ *
+ * <p>Writes are queued as immutable snapshots taken on the calling thread and
+ * are applied on a single I/O thread, so they are written in the order they
+ * were queued. Saving a user again before its previous snapshot was written
+ * replaces that snapshot instead of queueing another write. Reads are
+ * performed on the same thread, which means they always observe the writes
+ * queued before them.</p>
+ */
+public final class UserDataStorage {
+
+    private static final long FLUSH_TIMEOUT_SECONDS = 30;
+
+    private static final ExecutorService IO_EXECUTOR = Executors.newSingleThreadExecutor(
+            new ThreadFactoryBuilder().setNameFormat("Sponge User IO - #%d").setDaemon(true).build());
+    private static final ConcurrentMap<UUID, PendingWrite> pendingWrites = new ConcurrentHashMap<>();
+
+    private UserDataStorage() {
+    }
+
+    /**
+     * Gets the player data file of the given user in the overworld's player
+     * directory, whether or not it exists.
+     *
+     * @param uniqueId The user's UUID
+     * @return The data file
+     */
+    public static File getDataFile(UUID uniqueId) {
+        SaveHandler saveHandler = (SaveHandler) DimensionManager.getWorldFromDimId(0).getSaveHandler();
+        return new File(saveHandler.playersDirectory, uniqueId + ".dat");
+    }
+
+    /**
+     * Checks whether there is stored data for the given user, including data
+     * that is still waiting to be written.
+     *
+     * @param uniqueId The user's UUID
+     * @return True if data is stored for the user
+     */
+    public static boolean hasData(UUID uniqueId) {
+        return pendingWrites.containsKey(uniqueId) || getDataFile(uniqueId).isFile();
+    }
+
+    /**
+     * Queues the given user data to be merged into the user's data file. The
+     * snapshot is owned by the storage afterwards and must not be modified by
+     * the caller.
+     *
+     * @param uniqueId The user's UUID
+     * @param snapshot The tags to replace in the data file
+     * @param removedKeys The tags to remove from the data file before merging
+     * @return A future completed once the data, or a newer snapshot of it, is written
+     */
+    public static CompletableFuture<Void> queueSave(UUID uniqueId, NBTTagCompound snapshot, Set<String> removedKeys) {
+        final File dataFile = getDataFile(uniqueId);
+        final PendingWrite write = pendingWrites.compute(uniqueId, (id, queued) -> {
+            if (queued == null) {
+                return new PendingWrite(dataFile, snapshot, removedKeys);
+            }
+            queued.snapshot = snapshot;
+            queued.removedKeys = removedKeys;
+            return queued;
+        });
+        if (write.scheduled.compareAndSet(false, true)) {
+            IO_EXECUTOR.execute(() -> write(uniqueId, write));
+        }
+        return write.future;
+    }
+
+    /**
+     * Reads the stored data of the given user on the I/O thread.
+     *
+     * @param uniqueId The user's UUID
+     * @return A future completed with the data, or null if there is none
+     */
+    public static CompletableFuture<NBTTagCompound> readAsync(UUID uniqueId) {
+        final File dataFile = getDataFile(uniqueId);
+        return CompletableFuture.supplyAsync(() -> read(dataFile), IO_EXECUTOR);
+    }
+
+    /**
+     * Reads the stored data of the given user on the calling thread, after
+     * waiting for any write of it that is still queued.
+     *
+     * @param uniqueId The user's UUID
+     * @return The data, or null if there is none
+     */
+    @Nullable
+    public static NBTTagCompound read(UUID uniqueId) {
+        final PendingWrite pending = pendingWrites.get(uniqueId);
+        if (pending != null) {
+            await(pending.future);
+        }
+        return read(getDataFile(uniqueId));
+    }
+
+    /**
+     * Waits for the queued write of the given user, if there is one.
+     *
+     * @param uniqueId The user's UUID
+     */
+    public static void flush(UUID uniqueId) {
+        final PendingWrite pending = pendingWrites.get(uniqueId);
+        if (pending != null) {
+            await(pending.future);
+        }
+    }
+
+    /**
+     * Waits for all writes queued so far, called when the server stops.
+     */
+    public static void flush() {
+        await(CompletableFuture.runAsync(() -> { }, IO_EXECUTOR));
+    }
+
+    @Nullable
+    private static NBTTagCompound read(File dataFile) {
+        if (!dataFile.isFile()) {
+            return null;
+        }
+        try (InputStream in = new FileInputStream(dataFile)) {
+            return CompressedStreamTools.readCompressed(in);
+        } catch (IOException e) {
+            SpongeImpl.getLogger().warn("Corrupt user file {}", dataFile, e);
+            return null;
+        }
+    }
+
+    private static void write(UUID uniqueId, PendingWrite write) {
+        // Once removed, newer saves queue a new write, so the snapshot can no longer change
+        pendingWrites.remove(uniqueId, write);
+        SpongeTimings.userDataSaveTimer.startTiming();
+        try {
+            NBTTagCompound compound = read(write.dataFile);
+            if (compound == null) {
+                compound = new NBTTagCompound();
+            }
+            for (String key : write.removedKeys) {
+                compound.removeTag(key);
+            }
+            for (Object key : write.snapshot.getKeySet()) {
+                compound.setTag((String) key, write.snapshot.getTag((String) key));
+            }
+            final File tempFile = new File(write.dataFile.getPath() + ".tmp");
+            try (FileOutputStream out = new FileOutputStream(tempFile)) {
+                CompressedStreamTools.writeCompressed(compound, out);
+            }
+            try {
+                Files.move(tempFile.toPath(), write.dataFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tempFile.toPath(), write.dataFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+            write.future.complete(null);
+        } catch (Exception e) {
+            SpongeImpl.getLogger().warn("Failed to save user file {}", write.dataFile, e);
+            write.future.completeExceptionally(e);
+        } finally {
+            SpongeTimings.userDataSaveTimer.stopTiming();
+        }
+    }
+
+    private static void await(CompletableFuture<?> future) {
+        try {
+            future.get(FLUSH_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            // Already logged by the writer
+        } catch (TimeoutException e) {
+            SpongeImpl.getLogger().warn("Timed out waiting for user data to be written");
+        }
+    }
+
+    private static final class PendingWrite {
+
+        final File dataFile;
+        final AtomicBoolean scheduled = new AtomicBoolean();
+        final CompletableFuture<Void> future = new CompletableFuture<>();
+        volatile NBTTagCompound snapshot;
+        volatile Set<String> removedKeys;
+
+        PendingWrite(File dataFile, NBTTagCompound snapshot, Set<String> removedKeys) {
+            this.dataFile = dataFile;
+            this.snapshot = snapshot;
+            this.removedKeys = removedKeys;
+        }
+
+    }
+
+}
@@ -28,7 +28,7 @@
 import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.Sets;
 import com.mojang.authlib.GameProfile;
-import net.minecraft.nbt.CompressedStreamTools;
+import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.server.MinecraftServer;
 import net.minecraft.server.management.BanEntry;
 import net.minecraft.server.management.PlayerProfileCache;
@@ -45,13 +45,12 @@
 import org.spongepowered.common.world.DimensionManager;
 
 import java.io.File;
-import java.io.FileInputStream;
-import java.io.IOException;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.Locale;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
 
 class UserDiscoverer {
@@ -63,6 +62,7 @@ class UserDiscoverer {
     static User create(GameProfile profile) {
         User user = (User) new SpongeUser(profile);
         userCache.put(profile.getId(), user);
+        UserProfileCache.put(profile);
         return user;
     }
 
@@ -96,6 +96,42 @@ static User findByUuid(UUID uniqueId) {
         return user;
     }
 
+    /**
+     * Searches for user data like {@link #findByUuid(UUID)}, but reads stored
+     * user data on the user I/O thread instead of the calling thread.
+     *
+     * @param uniqueId The user's UUID
+     * @return A future completed with the user data, or null if not found
+     */
+    static CompletableFuture<User> findByUuidAsync(UUID uniqueId) {
+        User user = userCache.getIfPresent(uniqueId);
+        if (user == null) {
+            user = getOnlinePlayer(uniqueId);
+        }
+        if (user != null) {
+            return CompletableFuture.completedFuture(user);
+        }
+        final GameProfile profile = UserDataStorage.hasData(uniqueId)
+                ? MinecraftServer.getServer().getPlayerProfileCache().getProfileByUUID(uniqueId) : null;
+        if (profile == null) {
+            // Nothing to read, the remaining sources are all in memory
+            return CompletableFuture.completedFuture(findByUuid(uniqueId));
+        }
+        return UserDataStorage.readAsync(uniqueId).thenApply(compound -> {
+            SpongeUser created = new SpongeUser(profile);
+            if (compound != null) {
+                created.readFromNbt(compound);
+            }
+            // Another lookup may have created the user while the data was read
+            User existing = userCache.asMap().putIfAbsent(uniqueId, (User) created);
+            if (existing != null) {
+                return existing;
+            }
+            UserProfileCache.put(profile);
+            return (User) created;
+        });
+    }
+
     static User findByUsername(String username) {
         PlayerProfileCache cache = MinecraftServer.getServer().getPlayerProfileCache();
         HashSet<String> names = Sets.newHashSet(cache.getUsernames());
@@ -171,17 +207,15 @@ private static User getOnlinePlayer(UUID uniqueId) {
 
     private static User getFromStoredData(UUID uniqueId) {
         // Note: Uses the overworld's player data
-        File dataFile = getPlayerDataFile(uniqueId);
-        if (dataFile == null) {
+        if (!UserDataStorage.hasData(uniqueId)) {
             return null;
         }
         GameProfile profile = MinecraftServer.getServer().getPlayerProfileCache().getProfileByUUID(uniqueId);
         if (profile != null) {
             User user = create(profile);
-            try {
-                ((SpongeUser) user).readFromNbt(CompressedStreamTools.readCompressed(new FileInputStream(dataFile)));
-            } catch (IOException e) {
-                SpongeHooks.logWarning("Corrupt user file {}. {}", dataFile, e);
+            NBTTagCompound compound = UserDataStorage.read(uniqueId);
+            if (compound != null) {
+                ((SpongeUser) user).readFromNbt(compound);
             }
             return user;
         } else {
@@ -215,21 +249,11 @@ private static User getFromBanlist(UUID uniqueId) {
         return null;
     }
 
-    private static File getPlayerDataFile(UUID uniqueId) {
-        // Note: Uses the overworld's player data
-        SaveHandler saveHandler = (SaveHandler) DimensionManager.getWorldFromDimId(0).getSaveHandler();
-        String[] uuids = saveHandler.getAvailablePlayerDat();
-        for (String playerUuid : uuids) {
-            if (uniqueId.toString().equals(playerUuid)) {
-                return new File(saveHandler.playersDirectory, playerUuid + ".dat");
-            }
-        }
-        return null;
-    }
-
     private static boolean deleteStoredPlayerData(UUID uniqueId) {
-        File dataFile = getPlayerDataFile(uniqueId);
-        if (dataFile != null) {
+        // Don't let a queued save recreate the file afterwards
+        UserDataStorage.flush(uniqueId);
+        File dataFile = UserDataStorage.getDataFile(uniqueId);
+        if (dataFile.isFile()) {
             try {
                 return dataFile.delete();
             } catch (SecurityException e) {
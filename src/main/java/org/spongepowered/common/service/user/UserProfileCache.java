@@ -0,0 +1,89 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.service.user;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.mojang.authlib.GameProfile;
+import net.minecraft.entity.player.EntityPlayerMP;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.management.ServerConfigurationManager;
+
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A bounded cache of the profiles of known users, used to resolve a UUID to a
+ * profile without looking up or creating the full user data.
+ */
+public final class UserProfileCache {
+
+    private static final int MAXIMUM_SIZE = 1024;
+
+    private static final Cache<UUID, GameProfile> profiles = CacheBuilder.newBuilder()
+            .maximumSize(MAXIMUM_SIZE)
+            .expireAfterAccess(1, TimeUnit.HOURS)
+            .build();
+
+    private UserProfileCache() {
+    }
+
+    /**
+     * Gets the profile of the given UUID, from online players or the server's
+     * profile cache if it isn't cached yet.
+     *
+     * @param uniqueId The user's UUID
+     * @return The profile, if known
+     */
+    public static Optional<org.spongepowered.api.profile.GameProfile> get(UUID uniqueId) {
+        GameProfile profile = profiles.getIfPresent(uniqueId);
+        if (profile == null) {
+            profile = lookup(uniqueId);
+            if (profile == null) {
+                return Optional.empty();
+            }
+            profiles.put(uniqueId, profile);
+        }
+        return Optional.of((org.spongepowered.api.profile.GameProfile) profile);
+    }
+
+    static void put(GameProfile profile) {
+        profiles.put(profile.getId(), profile);
+    }
+
+    private static GameProfile lookup(UUID uniqueId) {
+        MinecraftServer server = MinecraftServer.getServer();
+        ServerConfigurationManager confMgr = server.getConfigurationManager();
+        if (confMgr != null) {
+            EntityPlayerMP player = confMgr.getPlayerByUUID(uniqueId);
+            if (player != null) {
+                return player.getGameProfile();
+            }
+        }
+        return server.getPlayerProfileCache().getProfileByUUID(uniqueId);
+    }
+
+}
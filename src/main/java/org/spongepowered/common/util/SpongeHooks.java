@@ -24,9 +24,11 @@
  */
 package org.spongepowered.common.util;
 
+import co.aikar.timings.TimingHistory;
 import com.flowpowered.math.vector.Vector3i;
 import com.google.common.base.Predicate;
-import gnu.trove.map.hash.TObjectLongHashMap;
+import gnu.trove.map.hash.TLongIntHashMap;
+import gnu.trove.map.hash.TLongLongHashMap;
 import net.minecraft.block.Block;
 import net.minecraft.block.state.IBlockState;
 import net.minecraft.entity.Entity;
@@ -83,7 +85,16 @@ public class SpongeHooks {
     public static int tickingDimension = 0;
     public static ChunkCoordIntPair tickingChunk = null;
 
-    private static TObjectLongHashMap<CollisionWarning> recentWarnings = new TObjectLongHashMap<>();
+    private static final long COLLISION_WARNING_INTERVAL = 30000;
+    // When collisions were last logged per chunk section, and how many were not logged since
+    private static final TLongLongHashMap collisionWarnings = new TLongLongHashMap();
+    private static final TLongIntHashMap suppressedCollisionWarnings = new TLongIntHashMap();
+    private static long lastCollisionWarningCleanup;
+
+    // Living entities per block space that already checked for collisions this tick
+    private static final TLongIntHashMap crammingCounts = new TLongIntHashMap();
+    private static long crammingTick = -1;
+    private static int crammingDimension;
 
     public static void logInfo(String msg, Object... args) {
         SpongeImpl.getLogger().info(MessageFormat.format(msg, args));
@@ -176,6 +187,10 @@ public static void logBlockTrack(World world, Block block, BlockPos pos, User us
     }
 
     public static void logBlockAction(Cause cause, World world, CaptureType type, Transaction<BlockSnapshot> transaction) {
+        logBlockAction(cause, world, type, transaction.getOriginal().getState(), transaction.getFinal().getState());
+    }
+
+    public static void logBlockAction(Cause cause, World world, CaptureType type, BlockState originalState, BlockState newState) {
         if (world.isRemote) {
             return;
         }
@@ -192,8 +207,8 @@ public static void logBlockAction(Cause cause, World world, CaptureType type, Tr
                     user.isPresent() ? user.get().getName() : "None",
                     world.getWorldInfo().getWorldName(),
                     world.provider.getDimensionId(),
-                    transaction.getOriginal().getState(),
-                    transaction.getFinal().getState());
+                    originalState,
+                    newState);
             logStack(config);
         }
     }
@@ -357,7 +372,6 @@ public static boolean checkEntitySpeed(Entity entity, double x, double y, double
         return true;
     }
 
-    // TODO - needs to be hooked
     @SuppressWarnings("rawtypes")
     public static void logEntitySize(Entity entity, List list) {
         if (entity == null || entity.worldObj.isRemote) {
@@ -374,45 +388,70 @@ public static void logEntitySize(Entity entity, List list) {
             return;
         }
 
-        if (collisionWarnSize > 0 && (MinecraftServer.getServer().getTickCounter() % 10) == 0 && list.size() >= collisionWarnSize) {
-            SpongeHooks.CollisionWarning warning = new SpongeHooks.CollisionWarning(entity.worldObj, entity);
-            if (SpongeHooks.recentWarnings.contains(warning)) {
-                long lastWarned = SpongeHooks.recentWarnings.get(warning);
-                if ((MinecraftServer.getCurrentTimeMillis() - lastWarned) < 30000) {
-                    return;
-                }
+        if (collisionWarnSize > 0 && list.size() >= collisionWarnSize) {
+            long now = MinecraftServer.getCurrentTimeMillis();
+            if (now - lastCollisionWarningCleanup >= COLLISION_WARNING_INTERVAL) {
+                // Forget the sections that have been quiet for a while
+                lastCollisionWarningCleanup = now;
+                collisionWarnings.retainEntries((key, lastWarning) -> {
+                    if (now - lastWarning < COLLISION_WARNING_INTERVAL) {
+                        return true;
+                    }
+                    suppressedCollisionWarnings.remove(key);
+                    return false;
+                });
+            }
+
+            long key = ((long) entity.worldObj.provider.getDimensionId() & 0xFFFFL) << 48
+                    | ((long) entity.chunkCoordX & 0x3FFFFFL) << 26
+                    | ((long) entity.chunkCoordZ & 0x3FFFFFL) << 4
+                    | (long) entity.chunkCoordY & 0xFL;
+            if (collisionWarnings.containsKey(key) && now - collisionWarnings.get(key) < COLLISION_WARNING_INTERVAL) {
+                suppressedCollisionWarnings.adjustOrPutValue(key, 1, 1);
+                return;
             }
-            SpongeHooks.recentWarnings.put(warning, System.currentTimeMillis());
-            logWarning("Entity collision > {0, number} at: {1}", collisionWarnSize, entity);
+            collisionWarnings.put(key, now);
+            logWarning("Entity collision > {0, number} at: {1} ({2, number} more checks in this chunk section since the last warning)",
+                    collisionWarnSize, entity, suppressedCollisionWarnings.remove(key));
         }
     }
 
-    private static class CollisionWarning {
-
-        public BlockPos blockPos;
-        public int dimensionId;
+    /**
+     * Counts the given living entity towards the cramming cap of the block
+     * space it is in for the current tick.
+     *
+     * @param entity The entity about to check for collisions
+     * @return False if the block space is already full and the entity should
+     *     skip its collision checks
+     */
+    public static boolean checkEntityCramming(Entity entity) {
+        if (entity == null || entity.worldObj.isRemote) {
+            return true;
+        }
 
-        public CollisionWarning(World world, Entity entity) {
-            this.dimensionId = world.provider.getDimensionId();
-            this.blockPos = new BlockPos(entity.chunkCoordX, entity.chunkCoordY, entity.chunkCoordZ);
+        int maxCramming = getActiveConfig(entity.worldObj).getConfig().getEntity().getMaxEntityCramming();
+        if (maxCramming <= 0) {
+            return true;
         }
 
-        @Override
-        public boolean equals(Object otherObj) {
-            if (!(otherObj instanceof CollisionWarning) || (otherObj == null)) {
-                return false;
-            }
-            CollisionWarning other = (CollisionWarning) otherObj;
-            return (other.dimensionId == this.dimensionId) && other.blockPos.equals(this.blockPos);
+        long tick = MinecraftServer.getServer().getTickCounter();
+        int dimension = entity.worldObj.provider.getDimensionId();
+        if (tick != crammingTick || dimension != crammingDimension) {
+            crammingCounts.clear();
+            crammingTick = tick;
+            crammingDimension = dimension;
         }
 
-        @Override
-        public int hashCode() {
-            return this.blockPos.hashCode() + this.dimensionId;
+        long key = ((long) MathHelper.floor_double(entity.posX) & 0x3FFFFFFL) << 38
+                | ((long) MathHelper.floor_double(entity.posY) & 0xFFFL) << 26
+                | ((long) MathHelper.floor_double(entity.posZ) & 0x3FFFFFFL);
+        if (crammingCounts.adjustOrPutValue(key, 1, 1) > maxCramming) {
+            TimingHistory.crammedEntityCollisionChecks++;
+            return false;
         }
+        return true;
     }
 
-
     @SuppressWarnings({"rawtypes", "unchecked"})
     public static void dumpHeap(File file, boolean live) {
         try {
@@ -27,8 +27,11 @@
 import static com.google.common.base.Preconditions.checkArgument;
 
 import com.flowpowered.math.vector.Vector3i;
+import net.minecraft.block.Block;
 import net.minecraft.block.state.IBlockState;
+import net.minecraft.world.chunk.Chunk;
 import net.minecraft.world.chunk.ChunkPrimer;
+import net.minecraft.world.chunk.storage.ExtendedBlockStorage;
 import org.spongepowered.api.block.BlockState;
 import org.spongepowered.api.block.BlockType;
 import org.spongepowered.api.util.DiscreteTransform3;
@@ -64,6 +67,39 @@ private static Vector3i getBlockStart(int chunkX, int chunkZ) {
         return worldCoords.get();
     }
 
+    /**
+     * Gets whether this buffer covers the chunk at the given coordinates.
+     *
+     * @param chunkX The chunk x coordinate
+     * @param chunkZ The chunk z coordinate
+     * @return Whether this buffer covers the chunk
+     */
+    public boolean isChunk(int chunkX, int chunkZ) {
+        return this.start.getX() == chunkX << 4 && this.start.getZ() == chunkZ << 4;
+    }
+
+    /**
+     * Copies all blocks of the given chunk into the primer. The block storage
+     * and the primer both hold {@link Block#BLOCK_STATE_IDS} ids, so no block
+     * states are looked up. Missing sections are left untouched.
+     *
+     * @param chunk The chunk to copy from
+     */
+    public void copyFrom(Chunk chunk) {
+        final short[] primerData = this.chunkPrimer.data;
+        for (ExtendedBlockStorage section : chunk.getBlockStorageArray()) {
+            if (section == null) {
+                continue;
+            }
+            final char[] data = section.getData();
+            final int yOffset = section.getYLocation();
+            for (int i = 0; i < data.length; i++) {
+                // Section index is y << 8 | z << 4 | x, primer index is x << 12 | z << 8 | y
+                primerData[(i & 15) << 12 | (i >> 4 & 15) << 8 | (yOffset + (i >> 8))] = (short) data[i];
+            }
+        }
+    }
+
     @Override
     public BlockState getBlock(int x, int y, int z) {
         checkRange(x, y, z);
@@ -74,16 +74,17 @@ private static NBTTagCompound containerToCompound(final DataView container) {
     }
 
     private static void containerToCompound(final DataView container, final NBTTagCompound compound) {
-        // We don't need to get deep values since all nested DataViews will be found
-        // from the instance of checks.
         checkNotNull(container);
         checkNotNull(compound);
-        for (Map.Entry<DataQuery, Object> entry : container.getValues(false).entrySet()) {
-            Object value = entry.getValue();
-            String key = entry.getKey().asString('.');
+        // Walk the shallow keys and read each value once. getValues(false) would
+        // instead build a fresh map per level and turn every nested view into
+        // another map, only for us to look the view up a second time.
+        for (DataQuery query : container.getKeys(false)) {
+            final Object value = container.get(query).get();
+            final String key = toKey(query);
             if (value instanceof DataView) {
-                NBTTagCompound inner = new NBTTagCompound();
-                containerToCompound(container.getView(entry.getKey()).get(), inner);
+                final NBTTagCompound inner = new NBTTagCompound();
+                containerToCompound((DataView) value, inner);
                 compound.setTag(key, inner);
             } else if (value instanceof Boolean) {
                 compound.setTag(key + BOOLEAN_IDENTIFER, new NBTTagByte(((Boolean) value) ? (byte) 1 : 0));
@@ -93,6 +94,15 @@ private static void containerToCompound(final DataView container, final NBTTagCo
         }
     }
 
+    private static String toKey(DataQuery query) {
+        final List<String> parts = query.getParts();
+        return parts.size() == 1 ? parts.get(0) : query.asString('.');
+    }
+
+    private static DataQuery fromKey(String key) {
+        return key.indexOf('.') < 0 ? DataQuery.of(key) : of('.', key);
+    }
+
     @SuppressWarnings({"unchecked", "rawtypes"})
     private static NBTBase getBaseFromObject(Object value) {
         checkNotNull(value);
@@ -112,34 +122,22 @@ private static NBTBase getBaseFromObject(Object value) {
             return new NBTTagDouble((Double) value);
         } else if (value instanceof String) {
             return new NBTTagString((String) value);
-        } else if (value.getClass().isArray()) {
-            if (value instanceof byte[]) {
-                byte[] array = ArrayUtils.clone((byte[]) value);
-                return new NBTTagByteArray(array);
-            } else if (value instanceof Byte[]) {
-                byte[] array = new byte[((Byte[]) value).length];
-                int counter = 0;
-                for (Byte data : (Byte[]) value) {
-                    array[counter++] = data;
-                }
-                return new NBTTagByteArray(array);
-            } else if (value instanceof int[]) {
-                int[] array = ArrayUtils.clone((int[]) value);
-                return new NBTTagIntArray(array);
-            } else if (value instanceof Integer[]) {
-                int[] array = new int[((Integer[]) value).length];
-                int counter = 0;
-                for (Integer data : (Integer[]) value) {
-                    array[counter++] = data;
-                }
-                return new NBTTagIntArray(array);
-            }
+        } else if (value instanceof byte[]) {
+            // Views may hand out arrays that are still owned by a data holder,
+            // so the tag always gets its own copy.
+            return new NBTTagByteArray(((byte[]) value).clone());
+        } else if (value instanceof int[]) {
+            return new NBTTagIntArray(((int[]) value).clone());
+        } else if (value instanceof Byte[]) {
+            return new NBTTagByteArray(ArrayUtils.toPrimitive((Byte[]) value));
+        } else if (value instanceof Integer[]) {
+            return new NBTTagIntArray(ArrayUtils.toPrimitive((Integer[]) value));
         } else if (value instanceof List) {
             NBTTagList list = new NBTTagList();
             for (Object object : (List) value) {
                 // Oh hey, we already have a translation already
                 // since DataView only supports some primitive types anyways...
-                list.appendTag(getBaseFromObject(object));
+                list.appendTag(object instanceof DataView ? containerToCompound((DataView) object) : getBaseFromObject(object));
             }
             return list;
         } else if (value instanceof Map) {
@@ -187,32 +185,33 @@ private static void setInternal(NBTBase base, byte type, DataView view, String k
         checkArgument(type > NbtDataUtil.TAG_END && type <= NbtDataUtil.TAG_INT_ARRAY);
         switch (type) {
             case NbtDataUtil.TAG_BYTE:
-                if (key.contains(BOOLEAN_IDENTIFER)) {
-                    view.set(of('.', key.replace(BOOLEAN_IDENTIFER, "")), (((NBTBase.NBTPrimitive) base).getByte() == 1));
+                if (key.endsWith(BOOLEAN_IDENTIFER)) {
+                    view.set(fromKey(key.substring(0, key.length() - BOOLEAN_IDENTIFER.length())),
+                            (((NBTBase.NBTPrimitive) base).getByte() == 1));
                 } else {
-                    view.set(of('.', key), ((NBTBase.NBTPrimitive) base).getByte());
+                    view.set(fromKey(key), ((NBTBase.NBTPrimitive) base).getByte());
                 }
                 break;
             case NbtDataUtil.TAG_SHORT:
-                view.set(of('.', key), ((NBTBase.NBTPrimitive) base).getShort());
+                view.set(fromKey(key), ((NBTBase.NBTPrimitive) base).getShort());
                 break;
             case NbtDataUtil.TAG_INT:
-                view.set(of('.', key), ((NBTBase.NBTPrimitive) base).getInt());
+                view.set(fromKey(key), ((NBTBase.NBTPrimitive) base).getInt());
                 break;
             case NbtDataUtil.TAG_LONG:
-                view.set(of('.', key), ((NBTBase.NBTPrimitive) base).getLong());
+                view.set(fromKey(key), ((NBTBase.NBTPrimitive) base).getLong());
                 break;
             case NbtDataUtil.TAG_FLOAT:
-                view.set(of('.', key), ((NBTBase.NBTPrimitive) base).getFloat());
+                view.set(fromKey(key), ((NBTBase.NBTPrimitive) base).getFloat());
                 break;
             case NbtDataUtil.TAG_DOUBLE:
-                view.set(of('.', key), ((NBTBase.NBTPrimitive) base).getDouble());
+                view.set(fromKey(key), ((NBTBase.NBTPrimitive) base).getDouble());
                 break;
             case NbtDataUtil.TAG_BYTE_ARRAY:
-                view.set(of('.', key), ((NBTTagByteArray) base).getByteArray());
+                view.set(fromKey(key), ((NBTTagByteArray) base).getByteArray());
                 break;
             case NbtDataUtil.TAG_STRING:
-                view.set(of('.', key), ((NBTTagString) base).getString());
+                view.set(fromKey(key), ((NBTTagString) base).getString());
                 break;
             case NbtDataUtil.TAG_LIST:
                 NBTTagList list = (NBTTagList) base;
@@ -222,10 +221,10 @@ private static void setInternal(NBTBase base, byte type, DataView view, String k
                 for (int i = 0; i < count; i++) {
                     objectList.add(fromTagBase(list.get(i), listType));
                 }
-                view.set(of('.', key), objectList);
+                view.set(fromKey(key), objectList);
                 break;
             case NbtDataUtil.TAG_COMPOUND:
-                DataView internalView = view.createView(of('.', key));
+                DataView internalView = view.createView(fromKey(key));
                 NBTTagCompound compound = (NBTTagCompound) base;
                 for (String internalKey : (Set<String>) compound.getKeySet()) {
                     NBTBase internalBase = compound.getTag(internalKey);
@@ -238,7 +237,7 @@ private static void setInternal(NBTBase base, byte type, DataView view, String k
                 }
                 break;
             case NbtDataUtil.TAG_INT_ARRAY:
-                view.set(of('.', key), ((NBTTagIntArray) base).getIntArray());
+                view.set(fromKey(key), ((NBTTagIntArray) base).getIntArray());
                 break;
         }
     }
@@ -267,7 +266,7 @@ private static Object fromTagBase(NBTBase base, byte type) {
                 byte listType = (byte) list.getTagType();
                 int count = list.tagCount();
                 List objectList = Lists.newArrayListWithCapacity(count);
-                for (int i = 0; i < list.tagCount(); i++) {
+                for (int i = 0; i < count; i++) {
                     objectList.add(fromTagBase(list.get(i), listType));
                 }
                 return objectList;
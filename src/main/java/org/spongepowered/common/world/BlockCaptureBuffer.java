@@ -0,0 +1,300 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world;
+
+import net.minecraft.block.ITileEntityProvider;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.util.BlockPos;
+import net.minecraft.world.IBlockAccess;
+import net.minecraft.world.World;
+import org.spongepowered.common.block.SpongeBlockSnapshot;
+import org.spongepowered.common.interfaces.world.IMixinWorld;
+
+import java.util.Arrays;
+
+import javax.annotation.Nullable;
+
+/**
+ * A reusable buffer of the original blocks captured by a world during a
+ * tick.
+ *
+ * <p>Only the position, states and update flag of a block are stored. Blocks
+ * that may have a tile entity are snapshotted eagerly, as their data can't be
+ * recovered once the block has changed. The buffer is drained into a
+ * {@link CapturedBlockTransactions} when the captures are processed, which
+ * creates the actual snapshots lazily.</p>
+ *
+ * <p>A position is only captured once. Further changes to it are coalesced
+ * into the existing capture, which keeps the first original state and its
+ * place in the capture order, while the final state is read from the world
+ * when the buffer is drained.</p>
+ */
+public final class BlockCaptureBuffer {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private int size;
+    private long[] positions = new long[INITIAL_CAPACITY];
+    private IBlockState[] states = new IBlockState[INITIAL_CAPACITY];
+    private IBlockState[] extendedStates = new IBlockState[INITIAL_CAPACITY];
+    private int[] flags = new int[INITIAL_CAPACITY];
+    private CaptureType[] captureTypes = new CaptureType[INITIAL_CAPACITY];
+    private SpongeBlockSnapshot[] snapshots = new SpongeBlockSnapshot[INITIAL_CAPACITY];
+
+    // Open addressing table from packed positions to capture index + 1, 0 marks a free slot
+    private long[] tableKeys = new long[INITIAL_CAPACITY * 2];
+    private int[] tableValues = new int[INITIAL_CAPACITY * 2];
+
+    /**
+     * Captures the original state of a block.
+     *
+     * @param pos The position of the block
+     * @param state The original state
+     * @param extendedState The original actual state
+     * @param flags The update flag of the change
+     * @param captureType The type of the change
+     * @param snapshot The snapshot of the original block, if it was taken
+     *     eagerly
+     * @return The index of the captured block
+     */
+    public int add(BlockPos pos, IBlockState state, IBlockState extendedState, int flags, CaptureType captureType,
+            @Nullable SpongeBlockSnapshot snapshot) {
+        if (this.size == this.positions.length) {
+            int capacity = this.size * 2;
+            this.positions = Arrays.copyOf(this.positions, capacity);
+            this.states = Arrays.copyOf(this.states, capacity);
+            this.extendedStates = Arrays.copyOf(this.extendedStates, capacity);
+            this.flags = Arrays.copyOf(this.flags, capacity);
+            this.captureTypes = Arrays.copyOf(this.captureTypes, capacity);
+            this.snapshots = Arrays.copyOf(this.snapshots, capacity);
+        }
+        final int index = this.size++;
+        final long key = pos.toLong();
+        tablePut(key, index);
+        this.positions[index] = key;
+        this.states[index] = state;
+        this.extendedStates[index] = extendedState;
+        this.flags[index] = flags;
+        this.captureTypes[index] = captureType;
+        this.snapshots[index] = snapshot;
+        return index;
+    }
+
+    /**
+     * Removes a captured block, keeping the order of the other blocks.
+     *
+     * @param index The index returned when the block was captured
+     */
+    public void remove(int index) {
+        tableRemove(this.positions[index]);
+        if (index != this.size - 1) {
+            final int[] values = this.tableValues;
+            for (int i = 0; i < values.length; i++) {
+                if (values[i] > index + 1) {
+                    values[i]--;
+                }
+            }
+        }
+        final int moved = this.size - index - 1;
+        if (moved > 0) {
+            System.arraycopy(this.positions, index + 1, this.positions, index, moved);
+            System.arraycopy(this.states, index + 1, this.states, index, moved);
+            System.arraycopy(this.extendedStates, index + 1, this.extendedStates, index, moved);
+            System.arraycopy(this.flags, index + 1, this.flags, index, moved);
+            System.arraycopy(this.captureTypes, index + 1, this.captureTypes, index, moved);
+            System.arraycopy(this.snapshots, index + 1, this.snapshots, index, moved);
+        }
+        this.size--;
+        this.states[this.size] = null;
+        this.extendedStates[this.size] = null;
+        this.captureTypes[this.size] = null;
+        this.snapshots[this.size] = null;
+    }
+
+    /**
+     * Gets the index of the capture of a position.
+     *
+     * @param pos The position
+     * @return The index, or -1 if the position wasn't captured
+     */
+    public int indexOf(BlockPos pos) {
+        final long key = pos.toLong();
+        final int mask = this.tableKeys.length - 1;
+        for (int slot = hash(key) & mask; this.tableValues[slot] != 0; slot = (slot + 1) & mask) {
+            if (this.tableKeys[slot] == key) {
+                return this.tableValues[slot] - 1;
+            }
+        }
+        return -1;
+    }
+
+    public IBlockState getOriginalState(int index) {
+        return this.states[index];
+    }
+
+    public CaptureType getCaptureType(int index) {
+        return this.captureTypes[index];
+    }
+
+    /**
+     * Merges another change of an already captured position into its
+     * capture.
+     *
+     * @param index The index of the capture
+     * @param flags The update flag of the change
+     * @param captureType The type of the combined change
+     */
+    public void coalesce(int index, int flags, CaptureType captureType) {
+        this.flags[index] |= flags;
+        this.captureTypes[index] = captureType;
+    }
+
+    public int size() {
+        return this.size;
+    }
+
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    public void clear() {
+        Arrays.fill(this.states, 0, this.size, null);
+        Arrays.fill(this.extendedStates, 0, this.size, null);
+        Arrays.fill(this.captureTypes, 0, this.size, null);
+        Arrays.fill(this.snapshots, 0, this.size, null);
+        if (this.size > 0) {
+            Arrays.fill(this.tableValues, 0);
+        }
+        this.size = 0;
+    }
+
+    private static int hash(long key) {
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        return (int) key;
+    }
+
+    private void tablePut(long key, int index) {
+        if ((this.size + 1) * 2 > this.tableKeys.length) {
+            final long[] keys = this.tableKeys;
+            final int[] values = this.tableValues;
+            this.tableKeys = new long[keys.length * 2];
+            this.tableValues = new int[values.length * 2];
+            for (int i = 0; i < keys.length; i++) {
+                if (values[i] != 0) {
+                    tableInsert(keys[i], values[i]);
+                }
+            }
+        }
+        tableInsert(key, index + 1);
+    }
+
+    private void tableInsert(long key, int value) {
+        final int mask = this.tableKeys.length - 1;
+        int slot = hash(key) & mask;
+        while (this.tableValues[slot] != 0) {
+            slot = (slot + 1) & mask;
+        }
+        this.tableKeys[slot] = key;
+        this.tableValues[slot] = value;
+    }
+
+    private void tableRemove(long key) {
+        final long[] keys = this.tableKeys;
+        final int[] values = this.tableValues;
+        final int mask = keys.length - 1;
+        int slot = hash(key) & mask;
+        while (keys[slot] != key || values[slot] == 0) {
+            if (values[slot] == 0) {
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+        // Shift back following entries of the probe sequence to close the gap
+        int gap = slot;
+        for (int next = (gap + 1) & mask; values[next] != 0; next = (next + 1) & mask) {
+            final int home = hash(keys[next]) & mask;
+            if (((next - home) & mask) >= ((next - gap) & mask)) {
+                keys[gap] = keys[next];
+                values[gap] = values[next];
+                gap = next;
+            }
+        }
+        values[gap] = 0;
+    }
+
+    /**
+     * Pairs every captured block with its current state in the world and
+     * clears this buffer for reuse. Blocks that were changed back to their
+     * original state are dropped, unless their original tile entity was
+     * snapshotted.
+     *
+     * @param world The world the blocks were captured in
+     * @return The captured transactions
+     */
+    public CapturedBlockTransactions drain(World world) {
+        final int size = this.size;
+        final IBlockState[] finalStates = new IBlockState[size];
+        final IBlockState[] finalExtendedStates = new IBlockState[size];
+        SpongeBlockSnapshot[] finalSnapshots = null;
+        int kept = 0;
+        for (int i = 0; i < size; i++) {
+            BlockPos pos = BlockPos.fromLong(this.positions[i]);
+            IBlockState state = world.getBlockState(pos);
+            if (state == this.states[i] && this.snapshots[i] == null) {
+                // Changed and changed back within the tick, so nothing changed
+                continue;
+            }
+            if (kept != i) {
+                this.positions[kept] = this.positions[i];
+                this.states[kept] = this.states[i];
+                this.extendedStates[kept] = this.extendedStates[i];
+                this.flags[kept] = this.flags[i];
+                this.captureTypes[kept] = this.captureTypes[i];
+                this.snapshots[kept] = this.snapshots[i];
+            }
+            IBlockState extendedState = state.getBlock().getActualState(state, (IBlockAccess) world, pos);
+            finalStates[kept] = state;
+            finalExtendedStates[kept] = extendedState;
+            if (state.getBlock() instanceof ITileEntityProvider) {
+                if (finalSnapshots == null) {
+                    finalSnapshots = new SpongeBlockSnapshot[size];
+                }
+                finalSnapshots[kept] = (SpongeBlockSnapshot) ((IMixinWorld) world).createSpongeBlockSnapshot(state, extendedState, pos, 0);
+            }
+            kept++;
+        }
+
+        CapturedBlockTransactions transactions = new CapturedBlockTransactions((org.spongepowered.api.world.World) world, kept,
+                Arrays.copyOf(this.positions, kept), Arrays.copyOf(this.states, kept), Arrays.copyOf(this.extendedStates, kept),
+                Arrays.copyOf(finalStates, kept), Arrays.copyOf(finalExtendedStates, kept), Arrays.copyOf(this.flags, kept),
+                Arrays.copyOf(this.captureTypes, kept), Arrays.copyOf(this.snapshots, kept),
+                finalSnapshots == null ? null : Arrays.copyOf(finalSnapshots, kept));
+        clear();
+        return transactions;
+    }
+
+}
@@ -0,0 +1,231 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world;
+
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.util.BlockPos;
+import org.spongepowered.api.block.BlockSnapshot;
+import org.spongepowered.api.block.BlockState;
+import org.spongepowered.api.data.Transaction;
+import org.spongepowered.api.world.World;
+import org.spongepowered.common.block.SpongeBlockSnapshot;
+import org.spongepowered.common.block.SpongeBlockSnapshotBuilder;
+import org.spongepowered.common.util.VecHelper;
+
+import java.util.AbstractList;
+import java.util.RandomAccess;
+import java.util.UUID;
+
+import javax.annotation.Nullable;
+
+/**
+ * The block changes captured by a world during a tick.
+ *
+ * <p>The {@link Transaction}s and their {@link SpongeBlockSnapshot}s are only
+ * created once they are accessed, usually by an event listener. Until then a
+ * transaction is known to be valid and without a custom replacement, so the
+ * world can process it directly from the stored states.</p>
+ */
+public final class CapturedBlockTransactions {
+
+    private static final CaptureType[] CAPTURE_TYPES = CaptureType.values();
+
+    private final UUID worldId;
+    private final int size;
+    private final long[] positions;
+    private final IBlockState[] originalStates;
+    private final IBlockState[] originalExtendedStates;
+    private final IBlockState[] finalStates;
+    private final IBlockState[] finalExtendedStates;
+    private final int[] flags;
+    private final CaptureType[] captureTypes;
+    private final SpongeBlockSnapshot[] originalSnapshots;
+    @Nullable private final SpongeBlockSnapshot[] finalSnapshots;
+    private final Transaction<BlockSnapshot>[] transactions;
+
+    private final View all;
+    private final View[] byCaptureType = new View[CAPTURE_TYPES.length];
+
+    @SuppressWarnings("unchecked")
+    CapturedBlockTransactions(World world, int size, long[] positions, IBlockState[] originalStates, IBlockState[] originalExtendedStates,
+            IBlockState[] finalStates, IBlockState[] finalExtendedStates, int[] flags, CaptureType[] captureTypes,
+            SpongeBlockSnapshot[] originalSnapshots, @Nullable SpongeBlockSnapshot[] finalSnapshots) {
+        this.worldId = world.getUniqueId();
+        this.size = size;
+        this.positions = positions;
+        this.originalStates = originalStates;
+        this.originalExtendedStates = originalExtendedStates;
+        this.finalStates = finalStates;
+        this.finalExtendedStates = finalExtendedStates;
+        this.flags = flags;
+        this.captureTypes = captureTypes;
+        this.originalSnapshots = originalSnapshots;
+        this.finalSnapshots = finalSnapshots;
+        this.transactions = new Transaction[size];
+        this.all = new View(null);
+    }
+
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Gets all captured transactions in the order they were captured.
+     *
+     * @return The transactions
+     */
+    public View all() {
+        return this.all;
+    }
+
+    /**
+     * Gets the captured transactions of a capture type in the order they
+     * were captured.
+     *
+     * @param captureType The capture type
+     * @return The transactions
+     */
+    public View of(CaptureType captureType) {
+        View view = this.byCaptureType[captureType.ordinal()];
+        if (view == null) {
+            int count = 0;
+            for (int i = 0; i < this.size; i++) {
+                if (this.captureTypes[i] == captureType) {
+                    count++;
+                }
+            }
+            int[] indices = new int[count];
+            for (int i = 0, j = 0; j < count; i++) {
+                if (this.captureTypes[i] == captureType) {
+                    indices[j++] = i;
+                }
+            }
+            view = this.byCaptureType[captureType.ordinal()] = new View(indices);
+        }
+        return view;
+    }
+
+    // Listeners may read the transactions from async event threads
+    synchronized Transaction<BlockSnapshot> getTransaction(int index) {
+        Transaction<BlockSnapshot> transaction = this.transactions[index];
+        if (transaction == null) {
+            SpongeBlockSnapshot original = this.originalSnapshots[index];
+            if (original == null) {
+                original = createSnapshot(this.originalStates[index], this.originalExtendedStates[index], this.positions[index], this.flags[index]);
+            }
+            original.captureType = this.captureTypes[index];
+            SpongeBlockSnapshot replacement = this.finalSnapshots == null ? null : this.finalSnapshots[index];
+            if (replacement == null) {
+                replacement = createSnapshot(this.finalStates[index], this.finalExtendedStates[index], this.positions[index], 0);
+            }
+            transaction = this.transactions[index] = new Transaction<>(original, replacement);
+        }
+        return transaction;
+    }
+
+    @Nullable
+    synchronized Transaction<BlockSnapshot> getIfMaterialized(int index) {
+        return this.transactions[index];
+    }
+
+    private SpongeBlockSnapshot createSnapshot(IBlockState state, IBlockState extendedState, long pos, int flag) {
+        SpongeBlockSnapshotBuilder builder = new SpongeBlockSnapshotBuilder();
+        builder.blockState((BlockState) state)
+                .extendedState((BlockState) extendedState)
+                .worldId(this.worldId)
+                .position(VecHelper.toVector(BlockPos.fromLong(pos)));
+        return new SpongeBlockSnapshot(builder, flag);
+    }
+
+    /**
+     * An unmodifiable list of captured transactions, which creates the
+     * transactions as they are accessed.
+     *
+     * <p>The accessors taking an index read the stored states unless the
+     * transaction was already created, in which case they reflect any
+     * changes made to it.</p>
+     */
+    public final class View extends AbstractList<Transaction<BlockSnapshot>> implements RandomAccess {
+
+        @Nullable private final int[] indices;
+
+        View(@Nullable int[] indices) {
+            this.indices = indices;
+        }
+
+        private int index(int i) {
+            if (i < 0 || i >= size()) {
+                throw new IndexOutOfBoundsException("Index: " + i + ", Size: " + size());
+            }
+            return this.indices == null ? i : this.indices[i];
+        }
+
+        @Override
+        public Transaction<BlockSnapshot> get(int i) {
+            return getTransaction(index(i));
+        }
+
+        @Override
+        public int size() {
+            return this.indices == null ? CapturedBlockTransactions.this.size : this.indices.length;
+        }
+
+        /**
+         * Gets the transaction at the given index, if it was already created.
+         *
+         * @param i The index
+         * @return The transaction, or null if it was not accessed yet
+         */
+        @Nullable
+        public Transaction<BlockSnapshot> getIfMaterialized(int i) {
+            return CapturedBlockTransactions.this.getIfMaterialized(index(i));
+        }
+
+        public boolean isValid(int i) {
+            Transaction<BlockSnapshot> transaction = getIfMaterialized(i);
+            return transaction == null || transaction.isValid();
+        }
+
+        public BlockPos getPos(int i) {
+            return BlockPos.fromLong(CapturedBlockTransactions.this.positions[index(i)]);
+        }
+
+        public IBlockState getOriginalState(int i) {
+            Transaction<BlockSnapshot> transaction = getIfMaterialized(i);
+            return transaction == null ? CapturedBlockTransactions.this.originalStates[index(i)] : (IBlockState) transaction.getOriginal().getState();
+        }
+
+        public IBlockState getFinalState(int i) {
+            Transaction<BlockSnapshot> transaction = getIfMaterialized(i);
+            return transaction == null ? CapturedBlockTransactions.this.finalStates[index(i)] : (IBlockState) transaction.getFinal().getState();
+        }
+
+        public int getUpdateFlag(int i) {
+            return CapturedBlockTransactions.this.flags[index(i)];
+        }
+
+    }
+
+}
@@ -56,16 +56,20 @@
 import java.io.File;
 import java.util.ArrayList;
 import java.util.BitSet;
-import java.util.Hashtable;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 
 public class DimensionManager {
 
-    public static final Hashtable<Integer, Class<? extends WorldProvider>> providers = new Hashtable<>();
-    public static final Hashtable<Integer, Boolean> spawnSettings = new Hashtable<>();
-    public static final Hashtable<Integer, Integer> dimensions = new Hashtable<>();
-    public static final Hashtable<Integer, WorldServer> worlds = new Hashtable<>();
+    private static final WorldServer[] NO_WORLDS = new WorldServer[0];
+
+    public static final ConcurrentMap<Integer, Class<? extends WorldProvider>> providers = new ConcurrentHashMap<>();
+    public static final ConcurrentMap<Integer, Boolean> spawnSettings = new ConcurrentHashMap<>();
+    public static final ConcurrentMap<Integer, Integer> dimensions = new ConcurrentHashMap<>();
+    public static final ConcurrentMap<Integer, WorldServer> worlds = new ConcurrentHashMap<>();
+    // Snapshot of the loaded worlds, only republished when a world is loaded or unloaded so readers never lock or copy
+    private static volatile WorldServer[] loadedWorlds = NO_WORLDS;
     public static final ConcurrentMap<World, World> weakWorldMap = new MapMaker().weakKeys().weakValues().makeMap();
     public static final ArrayList<Integer> unloadQueue = Lists.newArrayList();
     public static final BitSet dimensionMap = new BitSet(Long.SIZE << 4);
@@ -127,10 +131,11 @@ public static boolean registerProviderType(int id, Class<? extends WorldProvider
     }
 
     public static int getProviderType(int dim) {
-        if (!dimensions.containsKey(dim)) {
+        final Integer providerType = dimensions.get(dim);
+        if (providerType == null) {
             throw new IllegalArgumentException(String.format("Could not get provider type for dimension %d, does not exist", dim));
         }
-        return dimensions.get(dim);
+        return providerType;
     }
 
     public static WorldProvider createProviderFor(int dim) {
@@ -165,7 +170,7 @@ public static boolean shouldLoadSpawn(int dim) {
 
         // Don't use configs at this point, use spawn settings in the provider type
         int id = DimensionManager.getProviderType(dim);
-        return spawnSettings.containsKey(id) && spawnSettings.get(id);
+        return Boolean.TRUE.equals(spawnSettings.get(id));
     }
 
     public static void loadDimensionDataMap(NBTTagCompound compound) {
@@ -223,7 +228,7 @@ public static boolean unloadWorldFromDimId(int id) {
         return true;
     }
 
-    public static void setWorld(int id, WorldServer world) {
+    public static synchronized void setWorld(int id, WorldServer world) {
         if (world != null) {
             worlds.put(id, world);
             weakWorldMap.put(world, world);
@@ -254,11 +259,21 @@ public static void setWorld(int id, WorldServer world) {
             tmp.add(entry.getValue());
         }
 
-        MinecraftServer.getServer().worldServers = tmp.toArray(new WorldServer[tmp.size()]);
+        final WorldServer[] snapshot = tmp.toArray(new WorldServer[tmp.size()]);
+        loadedWorlds = snapshot;
+        MinecraftServer.getServer().worldServers = snapshot.clone();
     }
 
+    /**
+     * Gets the currently loaded worlds, overworld, nether and end first.
+     *
+     * <p>The returned array is a shared snapshot which is only replaced when
+     * a world is loaded or unloaded, it must not be modified.</p>
+     *
+     * @return The loaded worlds
+     */
     public static WorldServer[] getWorlds() {
-        return worlds.values().toArray(new WorldServer[worlds.size()]);
+        return loadedWorlds;
     }
 
     public static boolean isDimensionRegistered(int dim) {
@@ -30,15 +30,32 @@
 import com.flowpowered.math.GenericMath;
 import com.flowpowered.math.vector.Vector3d;
 import com.flowpowered.math.vector.Vector3i;
+import net.minecraft.nbt.CompressedStreamTools;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.world.WorldServer;
 import org.apache.commons.lang3.time.DurationFormatUtils;
 import org.slf4j.Logger;
 import org.spongepowered.api.scheduler.Task;
 import org.spongepowered.api.world.Chunk;
 import org.spongepowered.api.world.World;
 import org.spongepowered.api.world.WorldBorder;
+import org.spongepowered.api.world.gen.WorldGenerator;
+import org.spongepowered.common.SpongeImpl;
 import org.spongepowered.common.scheduler.SpongeScheduler;
+import org.spongepowered.common.world.gen.SpongeChunkProvider;
 import org.spongepowered.common.world.storage.SpongeChunkLayout;
 
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 
 import javax.annotation.Nullable;
@@ -133,70 +150,261 @@ public WorldBorder.ChunkPreGenerate reset() {
 
     private static class ChunkPreGenerator implements Consumer<Task> {
 
-        private static final Vector3i[] OFFSETS = {
+        private static final Vector3i[] POPULATION_NEIGHBOURS = {
                 Vector3i.UNIT_X,
                 Vector3i.UNIT_Z,
-                Vector3i.UNIT_X.negate(),
-                Vector3i.UNIT_Z.negate()
+                Vector3i.UNIT_X.add(Vector3i.UNIT_Z)
         };
         private static final String TIME_FORMAT = "s's 'S'ms'";
+        private static final String ETA_FORMAT = "H'h 'm'm 's's'";
+        private static final long LOG_INTERVAL = TimeUnit.SECONDS.toMillis(5);
+        private static final long SAVE_INTERVAL = TimeUnit.SECONDS.toMillis(30);
+        // How many chunks ahead of the current position are generated in the background
+        private static final int LOOKAHEAD = 32;
+        private static final String PROGRESS_FILE = "sponge_pregenerate.dat";
         private final World world;
+        private final Vector3i centerChunk;
         private final int chunkRadius;
+        private final long chunksInArea;
         private final int chunkCount;
         private final float tickPercent;
         private final long tickTimeLimit;
         @Nullable private final Logger logger;
-        private Vector3i currentPosition;
-        private int currentLayerIndex;
-        private int currentLayerSize;
-        private int currentIndexInLayer;
-        private int totalCount;
+        // Only set if it generates chunks in the background
+        @Nullable private final SpongeChunkProvider chunkProvider;
+        @Nullable private final File progressFile;
+        private ChunkSpiral spiral;
+        private ChunkSpiral lookahead;
+        private final List<Chunk> loadedChunks = new ArrayList<>();
+        private long totalCount;
         private long totalTime;
+        private final long runStartTime;
+        private long runCount;
+        private long lastLogTime;
+        private int countSinceLog;
+        private long timeSinceLog;
+        private long lastSaveTime;
 
         public ChunkPreGenerator(World world, Vector3d center, double diameter, int chunkCount, float tickPercent, @Nullable Logger logger) {
             this.world = world;
+            this.centerChunk = SpongeChunkLayout.instance.toChunk(center.toInt()).get();
             this.chunkRadius = GenericMath.floor(diameter / 32);
+            this.chunksInArea = (2L * this.chunkRadius + 1) * (2L * this.chunkRadius + 1);
             this.chunkCount = chunkCount;
             this.tickPercent = tickPercent;
             this.logger = logger;
             this.tickTimeLimit = Math.round(SpongeScheduler.getInstance().getPreferredTickInterval() * tickPercent);
-            this.currentPosition = SpongeChunkLayout.instance.toChunk(center.toInt()).get();
-            this.currentLayerIndex = 0;
-            this.currentLayerSize = 0;
-            this.currentIndexInLayer = 0;
+            final WorldGenerator generator = world.getWorldGenerator();
+            this.chunkProvider = generator instanceof SpongeChunkProvider && ((SpongeChunkProvider) generator).getAsyncGenerator().isPresent()
+                    ? (SpongeChunkProvider) generator : null;
+            this.progressFile = world instanceof WorldServer
+                    ? new File(((WorldServer) world).getSaveHandler().getWorldDirectory(), PROGRESS_FILE) : null;
+            this.spiral = new ChunkSpiral(this.centerChunk);
             this.totalCount = 0;
             this.totalTime = 0;
+            resume();
+            this.lookahead = this.spiral.copy();
+            this.runStartTime = System.currentTimeMillis();
+            this.lastLogTime = this.runStartTime;
+            this.lastSaveTime = this.runStartTime;
         }
 
         @Override
         public void accept(Task task) {
             final long startTime = System.currentTimeMillis();
+            prefetch();
             int count = 0;
             do {
-                this.world.loadChunk(nextChunkPosition(), true).ifPresent(Chunk::unloadChunk);
-            } while (hasNextChunkPosition() && checkChunkCount(++count) && checkTickTime(System.currentTimeMillis() - startTime));
-            if (this.logger != null) {
-                this.totalCount += count;
-                final long deltaTime = System.currentTimeMillis() - startTime;
-                this.totalTime += deltaTime;
-                this.logger.info("Generated {} chunks in {}, {}% complete", count,
-                        DurationFormatUtils.formatDuration(deltaTime, TIME_FORMAT, false),
-                        Math.round((float) this.totalCount / (this.chunkRadius * this.chunkRadius * 4) * 100));
-            }
+                generate(this.spiral.next());
+                count++;
+            } while (hasNextChunkPosition() && checkChunkCount(count) && checkTickTime(System.currentTimeMillis() - startTime));
+            // Chunks are only unloaded at the end of the tick, so neighbours
+            // loaded for population are shared within the batch
+            this.loadedChunks.forEach(Chunk::unloadChunk);
+            this.loadedChunks.clear();
+            final long endTime = System.currentTimeMillis();
+            final long deltaTime = endTime - startTime;
+            this.totalCount += count;
+            this.totalTime += deltaTime;
+            this.runCount += count;
+            this.countSinceLog += count;
+            this.timeSinceLog += deltaTime;
             if (!hasNextChunkPosition()) {
                 if (this.logger != null) {
                     this.logger.info("Done! Generated a total of {} chunks in {}", this.totalCount,
                             DurationFormatUtils.formatDuration(this.totalTime, TIME_FORMAT, false));
                 }
+                deleteProgress();
                 task.cancel();
+                return;
+            }
+            if (this.logger != null && endTime - this.lastLogTime >= LOG_INTERVAL) {
+                logProgress(endTime);
+            }
+            if (endTime - this.lastSaveTime >= SAVE_INTERVAL) {
+                saveProgress();
+                this.lastSaveTime = endTime;
+            }
+        }
+
+        private void logProgress(long now) {
+            final Runtime runtime = Runtime.getRuntime();
+            final double chunksPerSecond = this.runCount * 1000.0 / Math.max(1, now - this.runStartTime);
+            final long remaining = this.chunksInArea - this.totalCount;
+            final long eta = chunksPerSecond > 0 ? Math.round(remaining / chunksPerSecond * 1000) : 0;
+            this.logger.info("Generated {} chunks in {}, {}% complete, {} chunks/s, ETA {}, memory {}/{} MB", this.countSinceLog,
+                    DurationFormatUtils.formatDuration(this.timeSinceLog, TIME_FORMAT, false),
+                    Math.round((float) this.totalCount / this.chunksInArea * 100),
+                    String.format("%.1f", chunksPerSecond),
+                    DurationFormatUtils.formatDuration(eta, ETA_FORMAT, false),
+                    (runtime.totalMemory() - runtime.freeMemory()) / (1024 * 1024), runtime.maxMemory() / (1024 * 1024));
+            this.lastLogTime = now;
+            this.countSinceLog = 0;
+            this.timeSinceLog = 0;
+        }
+
+        /**
+         * Queues the terrain of the chunks ahead of the current position to
+         * be generated in the background, so this task only has to assemble
+         * and populate them.
+         */
+        private void prefetch() {
+            if (this.chunkProvider == null) {
+                return;
+            }
+            if (this.lookahead.getIndex() < this.spiral.getIndex()) {
+                this.lookahead = this.spiral.copy();
+            }
+            while (this.lookahead.hasNext(this.chunkRadius) && this.lookahead.getIndex() - this.spiral.getIndex() < LOOKAHEAD) {
+                final Vector3i position = this.lookahead.next();
+                this.chunkProvider.prefetchChunk(position.getX(), position.getZ());
+            }
+        }
+
+        private void generate(Vector3i position) {
+            final Optional<Chunk> chunk = this.world.loadChunk(position, true);
+            if (!chunk.isPresent()) {
+                return;
+            }
+            this.loadedChunks.add(chunk.get());
+            if (!chunk.get().isPopulated()) {
+                // A chunk is populated once the chunks at +x, +z and +x+z are
+                // loaded as well, so load them now rather than leaving the
+                // chunk unpopulated when they are generated in a later batch
+                for (Vector3i offset : POPULATION_NEIGHBOURS) {
+                    this.world.loadChunk(position.add(offset), true).ifPresent(this.loadedChunks::add);
+                }
             }
         }
 
         private boolean hasNextChunkPosition() {
-            return this.currentLayerIndex <= this.chunkRadius;
+            return this.spiral.hasNext(this.chunkRadius);
+        }
+
+        private boolean checkChunkCount(int count) {
+            return this.chunkCount <= 0 || count < this.chunkCount;
+        }
+
+        private boolean checkTickTime(long tickTime) {
+            return this.tickPercent <= 0 || tickTime < this.tickTimeLimit;
+        }
+
+        private void resume() {
+            if (this.progressFile == null || !this.progressFile.exists()) {
+                return;
+            }
+            try (FileInputStream in = new FileInputStream(this.progressFile)) {
+                final NBTTagCompound compound = CompressedStreamTools.readCompressed(in);
+                if (compound.getInteger("CenterX") != this.centerChunk.getX() || compound.getInteger("CenterZ") != this.centerChunk.getZ()
+                        || compound.getInteger("Radius") != this.chunkRadius) {
+                    // Progress of a different area, start over
+                    return;
+                }
+                this.spiral = ChunkSpiral.read(compound);
+                this.totalCount = compound.getLong("Count");
+                this.totalTime = compound.getLong("Time");
+                if (this.logger != null) {
+                    this.logger.info("Resuming chunk pre-generation, {}% complete",
+                            Math.round((float) this.totalCount / this.chunksInArea * 100));
+                }
+            } catch (IOException e) {
+                SpongeImpl.getLogger().warn("Could not read chunk pre-generation progress from {}", this.progressFile, e);
+            }
+        }
+
+        private void saveProgress() {
+            if (this.progressFile == null) {
+                return;
+            }
+            final NBTTagCompound compound = new NBTTagCompound();
+            compound.setInteger("CenterX", this.centerChunk.getX());
+            compound.setInteger("CenterZ", this.centerChunk.getZ());
+            compound.setInteger("Radius", this.chunkRadius);
+            compound.setLong("Count", this.totalCount);
+            compound.setLong("Time", this.totalTime);
+            this.spiral.write(compound);
+            final File tempFile = new File(this.progressFile.getPath() + ".tmp");
+            try {
+                try (FileOutputStream out = new FileOutputStream(tempFile)) {
+                    CompressedStreamTools.writeCompressed(compound, out);
+                }
+                try {
+                    Files.move(tempFile.toPath(), this.progressFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                } catch (AtomicMoveNotSupportedException e) {
+                    Files.move(tempFile.toPath(), this.progressFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+                }
+            } catch (IOException e) {
+                SpongeImpl.getLogger().warn("Could not save chunk pre-generation progress to {}", this.progressFile, e);
+            }
+        }
+
+        private void deleteProgress() {
+            if (this.progressFile != null && this.progressFile.exists() && !this.progressFile.delete()) {
+                SpongeImpl.getLogger().warn("Could not delete chunk pre-generation progress file {}", this.progressFile);
+            }
+        }
+
+    }
+
+    /**
+     * Walks the chunks of a square area in layers, starting at the center.
+     */
+    private static final class ChunkSpiral {
+
+        private static final Vector3i[] OFFSETS = {
+                Vector3i.UNIT_X,
+                Vector3i.UNIT_Z,
+                Vector3i.UNIT_X.negate(),
+                Vector3i.UNIT_Z.negate()
+        };
+        private Vector3i currentPosition;
+        private int currentLayerIndex;
+        private int currentLayerSize;
+        private int currentIndexInLayer;
+        private long index;
+
+        ChunkSpiral(Vector3i center) {
+            this.currentPosition = center;
+        }
+
+        ChunkSpiral copy() {
+            final ChunkSpiral copy = new ChunkSpiral(this.currentPosition);
+            copy.currentLayerIndex = this.currentLayerIndex;
+            copy.currentLayerSize = this.currentLayerSize;
+            copy.currentIndexInLayer = this.currentIndexInLayer;
+            copy.index = this.index;
+            return copy;
+        }
+
+        long getIndex() {
+            return this.index;
+        }
+
+        boolean hasNext(int radius) {
+            return this.currentLayerIndex <= radius;
         }
 
-        private Vector3i nextChunkPosition() {
+        Vector3i next() {
             final Vector3i nextPosition = this.currentPosition;
             if (++this.currentIndexInLayer >= this.currentLayerSize * 4) {
                 this.currentLayerIndex++;
@@ -205,15 +413,26 @@ private Vector3i nextChunkPosition() {
                 this.currentPosition = this.currentPosition.sub(Vector3i.UNIT_Z).sub(Vector3i.UNIT_X);
             }
             this.currentPosition = this.currentPosition.add(OFFSETS[this.currentIndexInLayer / this.currentLayerSize]);
+            this.index++;
             return nextPosition;
         }
 
-        private boolean checkChunkCount(int count) {
-            return this.chunkCount <= 0 || count < this.chunkCount;
+        void write(NBTTagCompound compound) {
+            compound.setInteger("PositionX", this.currentPosition.getX());
+            compound.setInteger("PositionZ", this.currentPosition.getZ());
+            compound.setInteger("LayerIndex", this.currentLayerIndex);
+            compound.setInteger("LayerSize", this.currentLayerSize);
+            compound.setInteger("IndexInLayer", this.currentIndexInLayer);
+            compound.setLong("Index", this.index);
         }
 
-        private boolean checkTickTime(long tickTime) {
-            return this.tickPercent <= 0 || tickTime < this.tickTimeLimit;
+        static ChunkSpiral read(NBTTagCompound compound) {
+            final ChunkSpiral spiral = new ChunkSpiral(new Vector3i(compound.getInteger("PositionX"), 0, compound.getInteger("PositionZ")));
+            spiral.currentLayerIndex = compound.getInteger("LayerIndex");
+            spiral.currentLayerSize = compound.getInteger("LayerSize");
+            spiral.currentIndexInLayer = compound.getInteger("IndexInLayer");
+            spiral.index = compound.getLong("Index");
+            return spiral;
         }
 
     }
@@ -0,0 +1,197 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world;
+
+import net.minecraft.util.BlockPos;
+
+import java.util.Arrays;
+
+/**
+ * The owners and notifiers of the tracked blocks of a chunk.
+ *
+ * <p>Positions are keyed by their packed position within the chunk, and the
+ * owner and notifier indexes of a position are packed into a single long of
+ * an open addressing table. A chunk without tracked blocks doesn't allocate
+ * any arrays.</p>
+ */
+public final class TrackedBlockTable {
+
+    private static final int INITIAL_CAPACITY = 16;
+    // Owner and notifier both unset, marks a free slot
+    private static final long EMPTY = -1L;
+
+    private int size;
+    private int[] keys;
+    private long[] values;
+
+    /**
+     * Packs a position into a key. The x and z coordinates are taken within
+     * the chunk.
+     *
+     * @param pos The position
+     * @return The key
+     */
+    public static int key(BlockPos pos) {
+        return (pos.getX() & 0xF) | (pos.getY() & 0xFFFFFF) << 4 | (pos.getZ() & 0xF) << 28;
+    }
+
+    /**
+     * Converts a position packed into a short, as used by old chunk data for
+     * positions below y 256, into a key.
+     *
+     * @param pos The packed position
+     * @return The key
+     */
+    public static int keyFromShort(short pos) {
+        return (pos & 0xF) | ((pos >> 4) & 0xFF) << 4 | ((pos >> 12) & 0xF) << 28;
+    }
+
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Gets the owner index of a position.
+     *
+     * @param key The key of the position
+     * @return The owner index, or -1 if it has no owner
+     */
+    public int getOwner(int key) {
+        return (int) (get(key) >> 32);
+    }
+
+    /**
+     * Gets the notifier index of a position.
+     *
+     * @param key The key of the position
+     * @return The notifier index, or -1 if it has no notifier
+     */
+    public int getNotifier(int key) {
+        return (int) get(key);
+    }
+
+    public void setOwner(int key, int owner) {
+        put(key, owner, getNotifier(key));
+    }
+
+    public void setNotifier(int key, int notifier) {
+        put(key, getOwner(key), notifier);
+    }
+
+    /**
+     * Sets the owner and notifier indexes of a position.
+     *
+     * @param key The key of the position
+     * @param owner The owner index, or -1
+     * @param notifier The notifier index, or -1
+     */
+    public void put(int key, int owner, int notifier) {
+        final long value = (long) owner << 32 | notifier & 0xFFFFFFFFL;
+        if (value == EMPTY) {
+            // Untracking is not supported, a position keeps its last tracked users
+            return;
+        }
+        if (this.keys == null) {
+            this.keys = new int[INITIAL_CAPACITY];
+            this.values = new long[INITIAL_CAPACITY];
+            Arrays.fill(this.values, EMPTY);
+        } else if ((this.size + 1) * 2 > this.keys.length) {
+            resize(this.keys.length * 2);
+        }
+        final int mask = this.keys.length - 1;
+        int slot = hash(key) & mask;
+        while (this.values[slot] != EMPTY) {
+            if (this.keys[slot] == key) {
+                this.values[slot] = value;
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+        this.keys[slot] = key;
+        this.values[slot] = value;
+        this.size++;
+    }
+
+    private long get(int key) {
+        if (this.keys == null) {
+            return EMPTY;
+        }
+        final int mask = this.keys.length - 1;
+        for (int slot = hash(key) & mask; this.values[slot] != EMPTY; slot = (slot + 1) & mask) {
+            if (this.keys[slot] == key) {
+                return this.values[slot];
+            }
+        }
+        return EMPTY;
+    }
+
+    private void resize(int capacity) {
+        final int[] keys = this.keys;
+        final long[] values = this.values;
+        this.keys = new int[capacity];
+        this.values = new long[capacity];
+        Arrays.fill(this.values, EMPTY);
+        final int mask = capacity - 1;
+        for (int i = 0; i < keys.length; i++) {
+            if (values[i] != EMPTY) {
+                int slot = hash(keys[i]) & mask;
+                while (this.values[slot] != EMPTY) {
+                    slot = (slot + 1) & mask;
+                }
+                this.keys[slot] = keys[i];
+                this.values[slot] = values[i];
+            }
+        }
+    }
+
+    private static int hash(int key) {
+        key *= 0x9E3779B9;
+        return key ^ key >>> 16;
+    }
+
+    /**
+     * Calls the consumer for every tracked position.
+     *
+     * @param consumer The consumer
+     */
+    public void forEach(EntryConsumer consumer) {
+        if (this.keys == null) {
+            return;
+        }
+        for (int i = 0; i < this.keys.length; i++) {
+            final long value = this.values[i];
+            if (value != EMPTY) {
+                consumer.accept(this.keys[i], (int) (value >> 32), (int) value);
+            }
+        }
+    }
+
+    @FunctionalInterface
+    public interface EntryConsumer {
+
+        void accept(int key, int owner, int notifier);
+    }
+
+}
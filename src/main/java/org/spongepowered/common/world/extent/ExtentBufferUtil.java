@@ -27,7 +27,10 @@
 import com.flowpowered.math.vector.Vector2i;
 import com.flowpowered.math.vector.Vector3i;
 import net.minecraft.block.Block;
+import net.minecraft.world.World;
 import net.minecraft.world.biome.BiomeGenBase;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraft.world.chunk.storage.ExtendedBlockStorage;
 import org.spongepowered.api.world.extent.BiomeArea;
 import org.spongepowered.api.world.extent.BlockVolume;
 
@@ -58,6 +61,24 @@ public static short[] copyToArray(BlockVolume volume, Vector3i min, Vector3i max
             throw new OutOfMemoryError("Cannot copy the blocks to an array because the size limit was reached");
         }
         final short[] copy = new short[(int) memory];
+        // Views that only restrict the bounds can be copied from their extent
+        BlockVolume source = volume;
+        while (source instanceof ExtentViewDownsize) {
+            source = ((ExtentViewDownsize) source).getBackingExtent();
+        }
+        if (source instanceof Chunk) {
+            copyFromChunk((Chunk) source, min, max, size, copy);
+            return copy;
+        }
+        if (source instanceof World) {
+            final World world = (World) source;
+            for (int chunkX = min.getX() >> 4; chunkX <= max.getX() >> 4; chunkX++) {
+                for (int chunkZ = min.getZ() >> 4; chunkZ <= max.getZ() >> 4; chunkZ++) {
+                    copyFromChunk(world.getChunkFromChunkCoords(chunkX, chunkZ), min, max, size, copy);
+                }
+            }
+            return copy;
+        }
         int i = 0;
         for (int x = min.getX(); x <= max.getX(); x++) {
             for (int z = min.getZ(); z <= max.getZ(); z++) {
@@ -69,4 +90,38 @@ public static short[] copyToArray(BlockVolume volume, Vector3i min, Vector3i max
         return copy;
     }
 
+    /**
+     * Copies the part of the chunk that lies within the given bounds straight
+     * from its block storage. The storage holds the same ids as
+     * {@link Block#BLOCK_STATE_IDS}, so no block state has to be looked up.
+     * Missing sections are left as air.
+     */
+    private static void copyFromChunk(Chunk chunk, Vector3i min, Vector3i max, Vector3i size, short[] copy) {
+        final int xMin = Math.max(min.getX(), chunk.xPosition << 4);
+        final int xMax = Math.min(max.getX(), (chunk.xPosition << 4) + 15);
+        final int zMin = Math.max(min.getZ(), chunk.zPosition << 4);
+        final int zMax = Math.min(max.getZ(), (chunk.zPosition << 4) + 15);
+        final int yLine = size.getY();
+        final int yzSlice = size.getY() * size.getZ();
+        for (ExtendedBlockStorage section : chunk.getBlockStorageArray()) {
+            if (section == null) {
+                continue;
+            }
+            final int yMin = Math.max(min.getY(), section.getYLocation());
+            final int yMax = Math.min(max.getY(), section.getYLocation() + 15);
+            if (yMin > yMax) {
+                continue;
+            }
+            final char[] data = section.getData();
+            for (int x = xMin; x <= xMax; x++) {
+                for (int z = zMin; z <= zMax; z++) {
+                    int index = (x - min.getX()) * yzSlice + (z - min.getZ()) * yLine + (yMin - min.getY());
+                    for (int y = yMin; y <= yMax; y++) {
+                        copy[index++] = (short) data[(y & 15) << 8 | (z & 15) << 4 | (x & 15)];
+                    }
+                }
+            }
+        }
+    }
+
 }
@@ -0,0 +1,217 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.gen;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import org.spongepowered.common.SpongeImpl;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+import javax.annotation.Nullable;
+
+/**
+ * Generates chunks ahead of time on an {@link Executor}, so that a later
+ * request for the same chunk can pick up the finished result instead of
+ * generating it on the calling thread.
+ *
+ * <p>The number of queued chunks is bounded. Once the limit is reached, the
+ * oldest completed results that were never taken are dropped to make room;
+ * if every queued chunk is still being generated no more are accepted.</p>
+ *
+ * @param <T> The type of generated result
+ */
+public final class AsyncChunkGenerator<T> {
+
+    /**
+     * Generates the result for a single chunk. Must produce the same result
+     * for the same chunk no matter on which thread or in which order chunks
+     * are generated.
+     *
+     * @param <T> The type of generated result
+     */
+    @FunctionalInterface
+    public interface Generator<T> {
+
+        T generate(int chunkX, int chunkZ);
+
+    }
+
+    private final Executor executor;
+    private final Generator<T> generator;
+    private final int maxQueued;
+    // Guarded by itself, in insertion order so the oldest results are dropped first
+    private final Map<Long, CompletableFuture<T>> queued = new LinkedHashMap<>();
+
+    public AsyncChunkGenerator(Executor executor, Generator<T> generator, int maxQueued) {
+        checkArgument(maxQueued > 0, "maxQueued must be positive");
+        this.executor = checkNotNull(executor, "executor");
+        this.generator = checkNotNull(generator, "generator");
+        this.maxQueued = maxQueued;
+    }
+
+    private static long key(int chunkX, int chunkZ) {
+        return (long) chunkX << 32 | chunkZ & 0xFFFFFFFFL;
+    }
+
+    /**
+     * Queues the given chunk to be generated, unless it is already queued or
+     * the queue is full.
+     *
+     * @param chunkX The chunk x coordinate
+     * @param chunkZ The chunk z coordinate
+     * @return Whether the chunk was queued by this call
+     */
+    public boolean prefetch(int chunkX, int chunkZ) {
+        final long key = key(chunkX, chunkZ);
+        synchronized (this.queued) {
+            if (this.queued.containsKey(key)) {
+                return false;
+            }
+            if (this.queued.size() >= this.maxQueued && !evictCompleted()) {
+                return false;
+            }
+            final CompletableFuture<T> future;
+            try {
+                future = CompletableFuture.supplyAsync(() -> this.generator.generate(chunkX, chunkZ), this.executor);
+            } catch (RejectedExecutionException e) {
+                return false;
+            }
+            this.queued.put(key, future);
+            return true;
+        }
+    }
+
+    private boolean evictCompleted() {
+        for (Iterator<CompletableFuture<T>> it = this.queued.values().iterator(); it.hasNext();) {
+            if (it.next().isDone()) {
+                it.remove();
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Takes the result for the given chunk, waiting for it if it is still
+     * being generated.
+     *
+     * @param chunkX The chunk x coordinate
+     * @param chunkZ The chunk z coordinate
+     * @return The generated result, or null if the chunk was never queued or
+     *     its generation failed and the caller has to generate it itself
+     */
+    @Nullable
+    public T take(int chunkX, int chunkZ) {
+        final CompletableFuture<T> future;
+        synchronized (this.queued) {
+            future = this.queued.remove(key(chunkX, chunkZ));
+        }
+        if (future == null) {
+            return null;
+        }
+        return getResult(future, chunkX, chunkZ);
+    }
+
+    /**
+     * Takes the result for the given chunk only if it is already generated,
+     * without waiting. A chunk that is still being generated is dropped from
+     * the queue instead, and its result discarded once it finishes.
+     *
+     * @param chunkX The chunk x coordinate
+     * @param chunkZ The chunk z coordinate
+     * @return The generated result, or null if it is not available yet and
+     *     the caller has to generate it itself
+     */
+    @Nullable
+    public T poll(int chunkX, int chunkZ) {
+        final CompletableFuture<T> future;
+        synchronized (this.queued) {
+            future = this.queued.remove(key(chunkX, chunkZ));
+        }
+        if (future == null) {
+            return null;
+        }
+        if (!future.isDone()) {
+            future.cancel(false);
+            return null;
+        }
+        return getResult(future, chunkX, chunkZ);
+    }
+
+    @Nullable
+    private T getResult(CompletableFuture<T> future, int chunkX, int chunkZ) {
+        try {
+            return future.join();
+        } catch (CancellationException e) {
+            return null;
+        } catch (CompletionException e) {
+            SpongeImpl.getLogger().error("Could not generate chunk ({}, {}) in the background, generating it again", chunkX, chunkZ, e.getCause());
+            return null;
+        }
+    }
+
+    /**
+     * Gets whether the given chunk is queued or has a result waiting.
+     *
+     * @param chunkX The chunk x coordinate
+     * @param chunkZ The chunk z coordinate
+     * @return Whether the chunk is queued
+     */
+    public boolean isQueued(int chunkX, int chunkZ) {
+        synchronized (this.queued) {
+            return this.queued.containsKey(key(chunkX, chunkZ));
+        }
+    }
+
+    public int getQueuedCount() {
+        synchronized (this.queued) {
+            return this.queued.size();
+        }
+    }
+
+    /**
+     * Drops all queued chunks, for example because the generator changed
+     * and the results would be stale. Chunks that are being generated right
+     * now still finish, but their results are discarded.
+     */
+    public void invalidate() {
+        synchronized (this.queued) {
+            for (CompletableFuture<T> future : this.queued.values()) {
+                future.cancel(false);
+            }
+            this.queued.clear();
+        }
+    }
+
+}
@@ -40,6 +40,8 @@
 import java.util.List;
 import java.util.Random;
 
+import javax.annotation.Nullable;
+
 /**
  * Implementation of {@link WorldChunkManager} (bad name for the class that is
  * responsible for where the biomes appear) based on a {@link BiomeGenerator}.
@@ -47,6 +49,12 @@
  * <p>This class does the opposite of {@link SpongeBiomeGenerator}, that class
  * wraps a world chunk manager so that it is usable as a {@link BiomeGenerator}
  * .</p>
+ *
+ * <p>Biome generators share the static {@link IntCache}, and chunks may be
+ * generated on a background thread. Every biome lookup therefore holds the
+ * {@link IntCache} monitor, the same one chunk generation holds. When the
+ * biome generator is a vanilla world chunk manager, lookups are passed on to
+ * it unchanged while holding the monitor.</p>
  */
 public final class CustomWorldChunkManager extends WorldChunkManager {
 
@@ -54,6 +62,7 @@ public final class CustomWorldChunkManager extends WorldChunkManager {
 
     private final ByteArrayMutableBiomeBuffer areaForGeneration = new ByteArrayMutableBiomeBuffer(Vector2i.ZERO, CACHED_AREA_SIZE);
     private final BiomeGenerator biomeGenerator;
+    @Nullable private final WorldChunkManager delegate;
 
     /**
      * Gets a world chunk manager based on the given biome generator.
@@ -62,15 +71,18 @@ public final class CustomWorldChunkManager extends WorldChunkManager {
      * @return The world chunk manager.
      */
     public static WorldChunkManager of(BiomeGenerator biomeGenerator) {
-        if (biomeGenerator instanceof WorldChunkManager) {
+        if (biomeGenerator instanceof CustomWorldChunkManager) {
             return ((WorldChunkManager) biomeGenerator);
         }
-        // Biome generator set to some custom implementation
+        // Either a vanilla world chunk manager, which is wrapped so that it
+        // is only used while holding the IntCache monitor, or some custom
+        // implementation
         return new CustomWorldChunkManager(biomeGenerator);
     }
 
     private CustomWorldChunkManager(BiomeGenerator biomeGenerator) {
         this.biomeGenerator = checkNotNull(biomeGenerator, "biomeGenerator");
+        this.delegate = biomeGenerator instanceof WorldChunkManager ? (WorldChunkManager) biomeGenerator : null;
     }
 
     public BiomeGenerator getBiomeGenerator() {
@@ -87,11 +99,59 @@ public BiomeGenerator getBiomeGenerator() {
      */
     @Override
     public BiomeGenBase[] getBiomeGenAt(BiomeGenBase[] listToReuse, int x, int z, int width, int length, boolean cacheFlag) {
-        return this.loadBlockGeneratorData(listToReuse, x, z, width, length);
+        synchronized (IntCache.class) {
+            if (this.delegate != null) {
+                return this.delegate.getBiomeGenAt(listToReuse, x, z, width, length, cacheFlag);
+            }
+            return this.loadBlockGeneratorData(listToReuse, x, z, width, length);
+        }
+    }
+
+    @Override
+    public BiomeGenBase getBiomeGenerator(BlockPos pos) {
+        if (this.delegate != null) {
+            synchronized (IntCache.class) {
+                return this.delegate.getBiomeGenerator(pos);
+            }
+        }
+        return super.getBiomeGenerator(pos);
+    }
+
+    @Override
+    public BiomeGenBase getBiomeGenerator(BlockPos pos, BiomeGenBase defaultBiome) {
+        if (this.delegate != null) {
+            synchronized (IntCache.class) {
+                return this.delegate.getBiomeGenerator(pos, defaultBiome);
+            }
+        }
+        return super.getBiomeGenerator(pos, defaultBiome);
+    }
+
+    @SuppressWarnings("rawtypes")
+    @Override
+    public List getBiomesToSpawnIn() {
+        return this.delegate != null ? this.delegate.getBiomesToSpawnIn() : super.getBiomesToSpawnIn();
+    }
+
+    @Override
+    public void cleanupCache() {
+        if (this.delegate != null) {
+            this.delegate.cleanupCache();
+        }
+        super.cleanupCache();
     }
 
     @Override
     public BiomeGenBase[] getBiomesForGeneration(BiomeGenBase[] biomeArrayZoomedOut, int xStart, int zStart, int xSize, int zSize) {
+        synchronized (IntCache.class) {
+            if (this.delegate != null) {
+                return this.delegate.getBiomesForGeneration(biomeArrayZoomedOut, xStart, zStart, xSize, zSize);
+            }
+            return getBiomesForGeneration0(biomeArrayZoomedOut, xStart, zStart, xSize, zSize);
+        }
+    }
+
+    private BiomeGenBase[] getBiomesForGeneration0(BiomeGenBase[] biomeArrayZoomedOut, int xStart, int zStart, int xSize, int zSize) {
         // "Biomes for generation" are a 4x zoomed out (on both the x and z
         // axis) version of the normal biomes
         // The easiest way to obtain these biomes is to obtain the normal
@@ -135,6 +195,15 @@ private ByteArrayMutableBiomeBuffer getBiomeBuffer(int xStart, int zStart, int x
 
     @Override
     public float[] getRainfall(float[] rainfallArray, int x, int z, int xSize, int zSize) {
+        synchronized (IntCache.class) {
+            if (this.delegate != null) {
+                return this.delegate.getRainfall(rainfallArray, x, z, xSize, zSize);
+            }
+            return getRainfall0(rainfallArray, x, z, xSize, zSize);
+        }
+    }
+
+    private float[] getRainfall0(float[] rainfallArray, int x, int z, int xSize, int zSize) {
         if (rainfallArray == null || rainfallArray.length < xSize * zSize) {
             rainfallArray = new float[xSize * zSize];
         }
@@ -160,6 +229,16 @@ public float[] getRainfall(float[] rainfallArray, int x, int z, int xSize, int z
 
     @Override
     public BlockPos findBiomePosition(int xCenter, int zCenter, int range, @SuppressWarnings("rawtypes") List searchingFor, Random random) {
+        synchronized (IntCache.class) {
+            if (this.delegate != null) {
+                return this.delegate.findBiomePosition(xCenter, zCenter, range, searchingFor, random);
+            }
+            return findBiomePosition0(xCenter, zCenter, range, searchingFor, random);
+        }
+    }
+
+    @Nullable
+    private BlockPos findBiomePosition0(int xCenter, int zCenter, int range, @SuppressWarnings("rawtypes") List searchingFor, Random random) {
         IntCache.resetIntCache();
         int xStartSegment = xCenter - range >> 2;
         int zStartSegment = zCenter - range >> 2;
@@ -191,6 +270,15 @@ public BlockPos findBiomePosition(int xCenter, int zCenter, int range, @Suppress
 
     @Override
     public boolean areBiomesViable(int xCenter, int zCenter, int range, @SuppressWarnings("rawtypes") List searchingForBiomes) {
+        synchronized (IntCache.class) {
+            if (this.delegate != null) {
+                return this.delegate.areBiomesViable(xCenter, zCenter, range, searchingForBiomes);
+            }
+            return areBiomesViable0(xCenter, zCenter, range, searchingForBiomes);
+        }
+    }
+
+    private boolean areBiomesViable0(int xCenter, int zCenter, int range, @SuppressWarnings("rawtypes") List searchingForBiomes) {
         IntCache.resetIntCache();
         int xStartSegment = xCenter - range >> 2;
         int zStartSegment = zCenter - range >> 2;
@@ -216,6 +304,15 @@ public boolean areBiomesViable(int xCenter, int zCenter, int range, @SuppressWar
 
     @Override
     public BiomeGenBase[] loadBlockGeneratorData(BiomeGenBase[] biomeArray, int startX, int startZ, int sizeX, int sizeZ) {
+        synchronized (IntCache.class) {
+            if (this.delegate != null) {
+                return this.delegate.loadBlockGeneratorData(biomeArray, startX, startZ, sizeX, sizeZ);
+            }
+            return loadBlockGeneratorData0(biomeArray, startX, startZ, sizeX, sizeZ);
+        }
+    }
+
+    private BiomeGenBase[] loadBlockGeneratorData0(BiomeGenBase[] biomeArray, int startX, int startZ, int sizeX, int sizeZ) {
         if (biomeArray == null || biomeArray.length < sizeX * sizeZ) {
             biomeArray = new BiomeGenBase[sizeX * sizeZ];
         } else {
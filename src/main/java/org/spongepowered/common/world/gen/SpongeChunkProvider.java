@@ -32,6 +32,7 @@
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import net.minecraft.block.BlockFalling;
 import net.minecraft.block.material.Material;
 import net.minecraft.block.state.IBlockState;
@@ -46,11 +47,12 @@
 import net.minecraft.world.chunk.Chunk;
 import net.minecraft.world.chunk.ChunkPrimer;
 import net.minecraft.world.chunk.IChunkProvider;
+import net.minecraft.world.chunk.storage.RegionFileCache;
 import net.minecraft.world.gen.ChunkProviderGenerate;
 import net.minecraft.world.gen.NoiseGeneratorPerlin;
+import net.minecraft.world.gen.layer.IntCache;
 import net.minecraft.world.gen.structure.MapGenStronghold;
 import net.minecraft.world.gen.structure.StructureOceanMonument;
-import org.spongepowered.api.Sponge;
 import org.spongepowered.api.block.BlockSnapshot;
 import org.spongepowered.api.data.Transaction;
 import org.spongepowered.api.event.SpongeEventFactory;
@@ -72,17 +74,25 @@
 import org.spongepowered.common.interfaces.world.biome.IBiomeGenBase;
 import org.spongepowered.common.interfaces.world.gen.IChunkProviderGenerate;
 import org.spongepowered.common.interfaces.world.gen.IFlaggedPopulator;
+import org.spongepowered.common.util.SpongeHooks;
 import org.spongepowered.common.util.StaticMixinHelper;
 import org.spongepowered.common.util.gen.ByteArrayMutableBiomeBuffer;
 import org.spongepowered.common.util.gen.ChunkPrimerBuffer;
 import org.spongepowered.common.world.CaptureType;
 
+import java.io.File;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
 import java.util.stream.Collectors;
 
+import javax.annotation.Nullable;
+
 /**
  * Similar class to {@link ChunkProviderGenerate}, but instead gets its blocks
  * from a custom chunk generator.
@@ -90,6 +100,16 @@
 public class SpongeChunkProvider implements WorldGenerator, IChunkProvider {
 
     private static final Vector2i CHUNK_AREA = new Vector2i(16, 16);
+    private static final int MAX_QUEUED_CHUNKS = 64;
+    // Vanilla biome generation shares the static IntCache, so chunks of all
+    // worlds are generated one at a time and a single thread is enough
+    private static final Executor GENERATION_EXECUTOR = Executors.newSingleThreadExecutor(
+            new ThreadFactoryBuilder().setNameFormat("Sponge Chunk Generator - #%d").setDaemon(true).build());
+    // Generators keep state between calls, so they are only ever used while
+    // holding this lock, whichever thread the chunk is generated on. It is
+    // shared by all worlds like the generation thread, so a thread holding it
+    // can tell that waiting for a background result could deadlock.
+    private static final Object GENERATION_LOCK = new Object();
 
     protected BiomeGenerator biomeGenerator;
     protected GenerationPopulator baseGenerator;
@@ -97,32 +117,54 @@ public class SpongeChunkProvider implements WorldGenerator, IChunkProvider {
     protected List<Populator> pop;
     protected Map<BiomeType, BiomeGenerationSettings> biomeSettings;
     protected final World world;
-    private final ByteArrayMutableBiomeBuffer cachedBiomes;
 
     protected Random rand;
     private NoiseGeneratorPerlin noise4;
-    private double[] stoneNoise;
+
+    private final ThreadLocal<GenerationBuffers> buffers = ThreadLocal.withInitial(GenerationBuffers::new);
+    @Nullable private final AsyncChunkGenerator<GeneratedChunk> asyncGenerator;
 
     public SpongeChunkProvider(World world, GenerationPopulator base, BiomeGenerator biomegen) {
+        this(world, base, biomegen, SpongeHooks.getActiveConfig(world).getConfig().getWorld().isAsyncChunkGeneration());
+    }
+
+    SpongeChunkProvider(World world, GenerationPopulator base, BiomeGenerator biomegen, boolean asyncGeneration) {
         this.world = checkNotNull(world, "world");
         this.baseGenerator = checkNotNull(base, "baseGenerator");
         this.biomeGenerator = checkNotNull(biomegen, "biomeGenerator");
 
-        // Make initially empty biome cache
-        this.cachedBiomes = new ByteArrayMutableBiomeBuffer(Vector2i.ZERO, CHUNK_AREA);
-        this.cachedBiomes.detach();
-
         this.genpop = Lists.newArrayList();
         this.pop = Lists.newArrayList();
-        this.biomeSettings = Maps.newHashMap();
+        this.biomeSettings = Maps.newConcurrentMap();
         this.rand = new Random(world.getSeed());
         this.noise4 = new NoiseGeneratorPerlin(this.rand, 4);
-        this.stoneNoise = new double[256];
 
         this.world.provider.worldChunkMgr = CustomWorldChunkManager.of(this.biomeGenerator);
         if (this.baseGenerator instanceof IChunkProviderGenerate) {
             ((IChunkProviderGenerate) this.baseGenerator).setBiomeGenerator(this.biomeGenerator);
         }
+
+        if (asyncGeneration) {
+            this.asyncGenerator = new AsyncChunkGenerator<>(GENERATION_EXECUTOR, this::generateChunk, MAX_QUEUED_CHUNKS);
+        } else {
+            this.asyncGenerator = null;
+        }
+    }
+
+    /**
+     * Gets the generator that generates chunks in the background for this
+     * provider, if asynchronous chunk generation is enabled for the world.
+     *
+     * @return The background generator
+     */
+    public Optional<AsyncChunkGenerator<?>> getAsyncGenerator() {
+        return Optional.ofNullable(this.asyncGenerator);
+    }
+
+    private void invalidateQueuedChunks() {
+        if (this.asyncGenerator != null) {
+            this.asyncGenerator.invalidate();
+        }
     }
 
     @Override
@@ -132,10 +174,13 @@ public GenerationPopulator getBaseGenerationPopulator() {
 
     @Override
     public void setBaseGenerationPopulator(GenerationPopulator baseGenerationPopulator) {
-        this.baseGenerator = baseGenerationPopulator;
-        if (this.baseGenerator instanceof IChunkProviderGenerate) {
-            ((IChunkProviderGenerate) this.baseGenerator).setBiomeGenerator(this.biomeGenerator);
+        synchronized (GENERATION_LOCK) {
+            this.baseGenerator = baseGenerationPopulator;
+            if (this.baseGenerator instanceof IChunkProviderGenerate) {
+                ((IChunkProviderGenerate) this.baseGenerator).setBiomeGenerator(this.biomeGenerator);
+            }
         }
+        invalidateQueuedChunks();
     }
 
     @Override
@@ -145,6 +190,7 @@ public List<GenerationPopulator> getGenerationPopulators() {
 
     public void setGenerationPopulators(List<GenerationPopulator> generationPopulators) {
         this.genpop = Lists.newArrayList(generationPopulators);
+        invalidateQueuedChunks();
     }
 
     @Override
@@ -161,7 +207,8 @@ public Map<BiomeType, BiomeGenerationSettings> getBiomeOverrides() {
     }
 
     public void setBiomeOverrides(Map<BiomeType, BiomeGenerationSettings> biomeOverrides) {
-        this.biomeSettings = Maps.newHashMap(biomeOverrides);
+        this.biomeSettings = new ConcurrentHashMap<>(biomeOverrides);
+        invalidateQueuedChunks();
     }
 
     @Override
@@ -171,19 +218,19 @@ public BiomeGenerator getBiomeGenerator() {
 
     @Override
     public void setBiomeGenerator(BiomeGenerator biomeGenerator) {
-        this.biomeGenerator = biomeGenerator;
-        this.world.provider.worldChunkMgr = CustomWorldChunkManager.of(biomeGenerator);
-        if (this.baseGenerator instanceof IChunkProviderGenerate) {
-            ((IChunkProviderGenerate) this.baseGenerator).setBiomeGenerator(biomeGenerator);
+        synchronized (GENERATION_LOCK) {
+            this.biomeGenerator = biomeGenerator;
+            this.world.provider.worldChunkMgr = CustomWorldChunkManager.of(biomeGenerator);
+            if (this.baseGenerator instanceof IChunkProviderGenerate) {
+                ((IChunkProviderGenerate) this.baseGenerator).setBiomeGenerator(biomeGenerator);
+            }
         }
+        invalidateQueuedChunks();
     }
 
     @Override
     public BiomeGenerationSettings getBiomeSettings(BiomeType type) {
-        if (!this.biomeSettings.containsKey(type)) {
-            this.biomeSettings.put(type, ((IBiomeGenBase) type).initPopulators(this.world));
-        }
-        return this.biomeSettings.get(type);
+        return this.biomeSettings.computeIfAbsent(type, biome -> ((IBiomeGenBase) biome).initPopulators(this.world));
     }
 
     @Override
@@ -202,17 +249,101 @@ public List<Populator> getPopulators(Class<? extends Populator> type) {
 
     @Override
     public Chunk provideChunk(int chunkX, int chunkZ) {
-        this.rand.setSeed((long) chunkX * 341873128712L + (long) chunkZ * 132897987541L);
-        this.cachedBiomes.reuse(new Vector2i(chunkX * 16, chunkZ * 16));
-        this.biomeGenerator.generateBiomes(this.cachedBiomes);
+        GeneratedChunk generated = null;
+        if (this.asyncGenerator != null) {
+            // Populators load neighbouring chunks while holding the generation
+            // lock, and the background thread needs that lock to finish, so
+            // only results that are already done may be used then
+            if (Thread.holdsLock(GENERATION_LOCK) || Thread.holdsLock(IntCache.class)) {
+                generated = this.asyncGenerator.poll(chunkX, chunkZ);
+            } else {
+                generated = this.asyncGenerator.take(chunkX, chunkZ);
+            }
+        }
+        if (generated == null) {
+            generated = generateChunk(chunkX, chunkZ);
+        }
+
+        // Assemble chunk
+        Chunk chunk = new Chunk(this.world, generated.primer, chunkX, chunkZ);
+        byte[] biomeArray = chunk.getBiomeArray();
+        System.arraycopy(generated.biomes, 0, biomeArray, 0, biomeArray.length);
+        chunk.generateSkylightMap();
+
+        if (this.asyncGenerator != null) {
+            // A chunk that had to be generated is likely at the edge of the
+            // explored terrain, so its neighbours probably need generating soon
+            for (int x = chunkX - 1; x <= chunkX + 1; x++) {
+                for (int z = chunkZ - 1; z <= chunkZ + 1; z++) {
+                    if (x != chunkX || z != chunkZ) {
+                        prefetchChunk(x, z);
+                    }
+                }
+            }
+        }
+        return chunk;
+    }
+
+    /**
+     * Queues the given chunk to be generated in the background, unless it is
+     * loaded or saved already and so will never be generated again.
+     *
+     * @param chunkX The chunk x coordinate
+     * @param chunkZ The chunk z coordinate
+     * @return Whether the chunk was queued
+     */
+    public boolean prefetchChunk(int chunkX, int chunkZ) {
+        if (this.asyncGenerator == null || this.world.getChunkProvider().chunkExists(chunkX, chunkZ) || isChunkSaved(chunkX, chunkZ)) {
+            return false;
+        }
+        return this.asyncGenerator.prefetch(chunkX, chunkZ);
+    }
+
+    private boolean isChunkSaved(int chunkX, int chunkZ) {
+        final File worldDirectory = this.world.getSaveHandler().getWorldDirectory();
+        // Looking up a region file creates it, so check that it exists first
+        final File regionFile = new File(worldDirectory, "region/r." + (chunkX >> 5) + "." + (chunkZ >> 5) + ".mca");
+        return regionFile.exists() && RegionFileCache.createOrLoadRegionFile(worldDirectory, chunkX, chunkZ).isChunkSaved(chunkX & 31, chunkZ & 31);
+    }
+
+    /**
+     * Generates the blocks and biomes of a chunk, without any population.
+     * Safe to call from any thread; the same chunk is always generated the
+     * same, regardless of the thread and the order chunks are generated in.
+     *
+     * @param chunkX The chunk x coordinate
+     * @param chunkZ The chunk z coordinate
+     * @return The generated chunk data
+     */
+    GeneratedChunk generateChunk(int chunkX, int chunkZ) {
+        final GenerationBuffers buffers = this.buffers.get();
+        synchronized (GENERATION_LOCK) {
+            // Vanilla biome and terrain generators reset and reuse the arrays
+            // of the static IntCache, so no other generation may run meanwhile
+            synchronized (IntCache.class) {
+                return generateChunk(chunkX, chunkZ, buffers);
+            }
+        }
+    }
+
+    private GeneratedChunk generateChunk(int chunkX, int chunkZ, GenerationBuffers buffers) {
+        final Random random = buffers.rand;
+        final ByteArrayMutableBiomeBuffer cachedBiomes = buffers.biomes;
+        if (!cachedBiomes.isDetached()) {
+            // A previous generation on this thread failed halfway through
+            cachedBiomes.detach();
+        }
+        random.setSeed((long) chunkX * 341873128712L + (long) chunkZ * 132897987541L);
+        cachedBiomes.reuse(new Vector2i(chunkX * 16, chunkZ * 16));
+        this.biomeGenerator.generateBiomes(cachedBiomes);
 
         // Generate base terrain
         ChunkPrimer chunkprimer = new ChunkPrimer();
         MutableBlockVolume blockBuffer = new ChunkPrimerBuffer(chunkprimer, chunkX, chunkZ);
-        ImmutableBiomeArea biomeBuffer = this.cachedBiomes.getImmutableBiomeCopy();
+        ImmutableBiomeArea biomeBuffer = cachedBiomes.getImmutableBiomeCopy();
         this.baseGenerator.populate((org.spongepowered.api.world.World) this.world, blockBuffer, biomeBuffer);
 
-        replaceBiomeBlocks(this.world, this.rand, chunkX, chunkZ, chunkprimer, biomeBuffer);
+        replaceBiomeBlocks(this.world, random, chunkX, chunkZ, chunkprimer, biomeBuffer);
 
         // Apply the generator populators to complete the blockBuffer
         for (GenerationPopulator populator : this.genpop) {
@@ -224,7 +355,7 @@ public Chunk provideChunk(int chunkX, int chunkZ) {
         BiomeType biome;
         for (int x = 0; x < 16; x++) {
             for (int z = 0; z < 16; z++) {
-                biome = this.cachedBiomes.getBiome(chunkX * 16 + x, chunkZ * 16 + z);
+                biome = cachedBiomes.getBiome(chunkX * 16 + x, chunkZ * 16 + z);
                 if (!uniqueBiomes.contains(biome)) {
                     uniqueBiomes.add(biome);
                 }
@@ -233,24 +364,22 @@ public Chunk provideChunk(int chunkX, int chunkZ) {
 
         // run our generator populators
         for (BiomeType type : uniqueBiomes) {
-            if (!this.biomeSettings.containsKey(type)) {
-                this.biomeSettings.put(type, ((IBiomeGenBase) type).initPopulators(this.world));
-            }
-            for (GenerationPopulator populator : this.biomeSettings.get(type).getGenerationPopulators()) {
+            for (GenerationPopulator populator : getBiomeSettings(type).getGenerationPopulators()) {
                 populator.populate((org.spongepowered.api.world.World) this.world, blockBuffer, biomeBuffer);
             }
         }
 
-        // Assemble chunk
-        Chunk chunk = new Chunk(this.world, chunkprimer, chunkX, chunkZ);
-        byte[] biomeArray = chunk.getBiomeArray();
-        System.arraycopy(this.cachedBiomes.detach(), 0, biomeArray, 0, biomeArray.length);
-        chunk.generateSkylightMap();
-        return chunk;
+        return new GeneratedChunk(chunkprimer, cachedBiomes.detach().clone());
     }
 
     @Override
     public void populate(IChunkProvider chunkProvider, int chunkX, int chunkZ) {
+        synchronized (GENERATION_LOCK) {
+            populateChunk(chunkProvider, chunkX, chunkZ);
+        }
+    }
+
+    private void populateChunk(IChunkProvider chunkProvider, int chunkX, int chunkZ) {
         IMixinWorld world = (IMixinWorld) this.world;
         world.setProcessingCaptureCause(true);
         world.setCapturingTerrainGen(true);
@@ -266,17 +395,17 @@ public void populate(IChunkProvider chunkProvider, int chunkX, int chunkZ) {
 
         org.spongepowered.api.world.Chunk chunk = (org.spongepowered.api.world.Chunk) this.world.getChunkFromChunkCoords(chunkX, chunkZ);
 
-        if (!this.biomeSettings.containsKey(biome)) {
-            this.biomeSettings.put(biome, ((IBiomeGenBase) biome).initPopulators(this.world));
-        }
         List<Populator> populators = Lists.newArrayList(this.pop);
-        populators.addAll(this.biomeSettings.get(biome).getPopulators());
+        populators.addAll(getBiomeSettings(biome).getPopulators());
 
-        Sponge.getGame().getEventManager().post(SpongeEventFactory.createPopulateChunkEventPre(populateCause, populators, chunk));
+        if (SpongeImpl.hasListener(PopulateChunkEvent.Pre.class)) {
+            SpongeImpl.postEvent(SpongeEventFactory.createPopulateChunkEventPre(populateCause, populators, chunk));
+        }
 
+        final boolean populateListeners = SpongeImpl.hasListener(PopulateChunkEvent.Populate.class);
         List<String> flags = Lists.newArrayList();
         for (Populator populator : populators) {
-            if(Sponge.getGame().getEventManager().post(SpongeEventFactory.createPopulateChunkEventPopulate(populateCause, populator, chunk))) {
+            if (populateListeners && SpongeImpl.postEvent(SpongeEventFactory.createPopulateChunkEventPopulate(populateCause, populator, chunk))) {
                 continue;
             }
             StaticMixinHelper.runningGenerator = populator.getType();
@@ -297,18 +426,25 @@ public void populate(IChunkProvider chunkProvider, int chunkX, int chunkZ) {
         world.setCapturingTerrainGen(false);
         world.setProcessingCaptureCause(false);
 
-        ImmutableMap.Builder<PopulatorType, List<Transaction<BlockSnapshot>>> populatorChanges = ImmutableMap.builder();
-        for (Map.Entry<PopulatorType, LinkedHashMap<Vector3i, Transaction<BlockSnapshot>>> entry : world.getCapturedPopulatorChanges().entrySet()) {
-            populatorChanges.put(entry.getKey(), ImmutableList.copyOf(entry.getValue().values()));
-        }
-        PopulateChunkEvent.Post event =
-                SpongeEventFactory.createPopulateChunkEventPost(populateCause,
-                        populatorChanges.build(),
-                        chunk);
-        SpongeImpl.postEvent(event);
-
-        for (List<Transaction<BlockSnapshot>> transactions : event.getPopulatedTransactions().values()) {
-            world.markAndNotifyBlockPost(transactions, CaptureType.POPULATE, populateCause);
+        if (SpongeImpl.hasListener(PopulateChunkEvent.Post.class)) {
+            ImmutableMap.Builder<PopulatorType, List<Transaction<BlockSnapshot>>> populatorChanges = ImmutableMap.builder();
+            for (Map.Entry<PopulatorType, LinkedHashMap<Vector3i, Transaction<BlockSnapshot>>> entry : world.getCapturedPopulatorChanges().entrySet()) {
+                populatorChanges.put(entry.getKey(), ImmutableList.copyOf(entry.getValue().values()));
+            }
+            PopulateChunkEvent.Post event =
+                    SpongeEventFactory.createPopulateChunkEventPost(populateCause,
+                            populatorChanges.build(),
+                            chunk);
+            SpongeImpl.postEvent(event);
+
+            for (List<Transaction<BlockSnapshot>> transactions : event.getPopulatedTransactions().values()) {
+                world.markAndNotifyBlockPost(transactions, CaptureType.POPULATE, populateCause);
+            }
+        } else {
+            // Nobody can modify the transactions, so skip building the event
+            for (LinkedHashMap<Vector3i, Transaction<BlockSnapshot>> changes : world.getCapturedPopulatorChanges().values()) {
+                world.markAndNotifyBlockPost(Lists.newArrayList(changes.values()), CaptureType.POPULATE, populateCause);
+            }
         }
         world.getCapturedPopulatorChanges().clear();
 
@@ -319,9 +455,11 @@ public void populate(IChunkProvider chunkProvider, int chunkX, int chunkZ) {
     public boolean func_177460_a(IChunkProvider chunkProvider, Chunk chunk, int chunkX, int chunkZ) {
         boolean flag = false;
         if (chunk.getInhabitedTime() < 3600L) {
-            for (Populator populator : this.pop) {
-                if (populator instanceof StructureOceanMonument) {
-                    flag |= ((StructureOceanMonument) populator).generateStructure(this.world, this.rand, new ChunkCoordIntPair(chunkX, chunkZ));
+            synchronized (GENERATION_LOCK) {
+                for (Populator populator : this.pop) {
+                    if (populator instanceof StructureOceanMonument) {
+                        flag |= ((StructureOceanMonument) populator).generateStructure(this.world, this.rand, new ChunkCoordIntPair(chunkX, chunkZ));
+                    }
                 }
             }
         }
@@ -341,7 +479,9 @@ public BlockPos getStrongholdGen(World worldIn, String structureName, BlockPos p
         if ("Stronghold".equals(structureName)) {
             for (GenerationPopulator gen : this.genpop) {
                 if (gen instanceof MapGenStronghold) {
-                    return ((MapGenStronghold) gen).getClosestStrongholdPos(worldIn, position);
+                    synchronized (GENERATION_LOCK) {
+                        return ((MapGenStronghold) gen).getClosestStrongholdPos(worldIn, position);
+                    }
                 }
             }
         }
@@ -397,12 +537,14 @@ public boolean chunkExists(int x, int z) {
 
     public void replaceBiomeBlocks(World world, Random rand, int x, int z, ChunkPrimer chunk, ImmutableBiomeArea biomes) {
         double d0 = 0.03125D;
-        this.stoneNoise = this.noise4.func_151599_a(this.stoneNoise, (double) (x * 16), (double) (z * 16), 16, 16, d0 * 2.0D, d0 * 2.0D, 1.0D);
+        final GenerationBuffers buffers = this.buffers.get();
+        buffers.stoneNoise = this.noise4.func_151599_a(buffers.stoneNoise, (double) (x * 16), (double) (z * 16), 16, 16, d0 * 2.0D, d0 * 2.0D, 1.0D);
+        final double[] stoneNoise = buffers.stoneNoise;
         Vector2i min = biomes.getBiomeMin();
         for (int k = 0; k < 16; ++k) {
             for (int l = 0; l < 16; ++l) {
                 BiomeType biomegenbase = biomes.getBiome(min.getX() + l, min.getY() + k);
-                generateBiomeTerrain(world, rand, chunk, x * 16 + k, z * 16 + l, this.stoneNoise[l + k * 16],
+                generateBiomeTerrain(world, rand, chunk, x * 16 + k, z * 16 + l, stoneNoise[l + k * 16],
                         getBiomeSettings(biomegenbase).getGroundCoverLayers());
             }
         }
@@ -473,4 +615,30 @@ public void generateBiomeTerrain(World worldIn, Random rand, ChunkPrimer chunk,
         }
     }
 
+    /**
+     * The buffers used while generating a chunk, one set per thread.
+     */
+    private static final class GenerationBuffers {
+
+        final ByteArrayMutableBiomeBuffer biomes = new ByteArrayMutableBiomeBuffer(Vector2i.ZERO, CHUNK_AREA);
+        final Random rand = new Random();
+        double[] stoneNoise = new double[256];
+
+        GenerationBuffers() {
+            // Make initially empty biome cache
+            this.biomes.detach();
+        }
+    }
+
+    static final class GeneratedChunk {
+
+        final ChunkPrimer primer;
+        final byte[] biomes;
+
+        GeneratedChunk(ChunkPrimer primer, byte[] biomes) {
+            this.primer = primer;
+            this.biomes = biomes;
+        }
+    }
+
 }
@@ -40,6 +40,7 @@
 import org.spongepowered.api.world.extent.ImmutableBiomeArea;
 import org.spongepowered.api.world.extent.MutableBlockVolume;
 import org.spongepowered.api.world.gen.GenerationPopulator;
+import org.spongepowered.common.util.gen.ChunkPrimerBuffer;
 
 /**
  * Generator populator that wraps a Minecraft {@link IChunkProvider}.
@@ -96,6 +97,11 @@ public void populate(org.spongepowered.api.world.World world, MutableBlockVolume
     }
 
     private void placeChunkInBuffer(Chunk chunk, MutableBlockVolume buffer, int chunkX, int chunkZ) {
+        if (buffer instanceof ChunkPrimerBuffer && ((ChunkPrimerBuffer) buffer).isChunk(chunkX, chunkZ)) {
+            // Both store block state ids, so copy them section by section
+            ((ChunkPrimerBuffer) buffer).copyFrom(chunk);
+            return;
+        }
 
         // Calculate bounds
         int xOffset = chunkX * 16;
@@ -0,0 +1,183 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.event;
+
+import static org.mockito.Mockito.mock;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.spongepowered.api.event.cause.Cause;
+import org.spongepowered.api.plugin.PluginContainer;
+import org.spongepowered.api.plugin.PluginManager;
+import org.spongepowered.common.config.SpongeConfig;
+import org.spongepowered.common.event.listener.PostOrderListener;
+import org.spongepowered.common.event.listener.SimpleListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+public class SpongeEventManagerTest {
+
+    private final SpongeEventManager eventManager = new SpongeEventManager(mock(PluginManager.class));
+    private final PluginContainer plugin = mock(PluginContainer.class);
+
+    @Test
+    public void testHasListener() {
+        Assert.assertFalse("Event manager reported a listener before any was registered!",
+                this.eventManager.hasListener(EventFilterTest.SubEvent.class));
+
+        SimpleListener listener = new SimpleListener();
+        this.eventManager.registerListener(this.plugin, listener);
+        Assert.assertTrue("Event manager did not report a registered listener!", this.eventManager.hasListener(EventFilterTest.SubEvent.class));
+        Assert.assertFalse("Event manager reported a listener for a supertype of the listened event!",
+                this.eventManager.hasListener(EventFilterTest.TestEvent.class));
+
+        this.eventManager.unregisterListeners(listener);
+        Assert.assertFalse("Event manager reported a listener after it was unregistered!",
+                this.eventManager.hasListener(EventFilterTest.SubEvent.class));
+    }
+
+    @Test
+    public void testRegisterAfterPost() {
+        SimpleListener first = new SimpleListener();
+        this.eventManager.registerListener(this.plugin, first);
+        this.eventManager.post(new EventFilterTest.SubEvent(Cause.of(this)));
+        Assert.assertTrue("Listener was not called!", first.called);
+
+        // The handlers for SubEvent are baked now, registering must update them
+        SimpleListener second = new SimpleListener();
+        this.eventManager.registerListener(this.plugin, second);
+        first.called = false;
+        this.eventManager.post(new EventFilterTest.SubEvent(Cause.of(this)));
+        Assert.assertTrue("Listener registered before the first post was not called!", first.called);
+        Assert.assertTrue("Listener registered after the first post was not called!", second.called);
+
+        this.eventManager.unregisterListeners(first);
+        first.called = false;
+        second.called = false;
+        this.eventManager.post(new EventFilterTest.SubEvent(Cause.of(this)));
+        Assert.assertFalse("Unregistered listener was called!", first.called);
+        Assert.assertTrue("Remaining listener was not called!", second.called);
+    }
+
+    @Test
+    public void testListenerStats() {
+        SimpleListener listener = new SimpleListener();
+        this.eventManager.registerListener(this.plugin, listener);
+        this.eventManager.post(new EventFilterTest.SubEvent(Cause.of(this)));
+        this.eventManager.post(new EventFilterTest.SubEvent(Cause.of(this)));
+
+        EventListenerStats stats = this.eventManager.getListenerStats();
+        Assert.assertEquals("Listener was not registered with the statistics!", 1, stats.getListeners().size());
+        RegisteredListener<?> registered = stats.getListeners().get(0);
+        Assert.assertEquals("Listener invocations were not counted!", 2, stats.getInvocations(registered));
+        Assert.assertEquals("Listener exceptions were counted!", 0, stats.getExceptions(registered));
+        Assert.assertTrue("Listener max time exceeds its total time!", stats.getMaxTime(registered) <= stats.getTotalTime(registered));
+
+        stats.reset();
+        Assert.assertEquals("Listener invocations were not reset!", 0, stats.getInvocations(registered));
+    }
+
+    @Test
+    public void testSameOrderListenersAreCalledInRegistrationOrder() {
+        List<String> called = new ArrayList<>();
+        // Baked before the second listener is added
+        this.eventManager.registerListener(this.plugin, EventFilterTest.TestEvent.class, event -> called.add("first"));
+        this.eventManager.post(new EventFilterTest.SubEvent(Cause.of(this)));
+        this.eventManager.registerListener(this.plugin, EventFilterTest.SubEvent.class, event -> called.add("second"));
+        called.clear();
+        this.eventManager.post(new EventFilterTest.SubEvent(Cause.of(this)));
+        Assert.assertEquals("Listeners added to a baked event were called out of order!", Arrays.asList("first", "second"), called);
+
+        // Baked with both listeners at once
+        SpongeEventManager eventManager = new SpongeEventManager(mock(PluginManager.class));
+        eventManager.registerListener(this.plugin, EventFilterTest.TestEvent.class, event -> called.add("first"));
+        eventManager.registerListener(this.plugin, EventFilterTest.SubEvent.class, event -> called.add("second"));
+        called.clear();
+        eventManager.post(new EventFilterTest.SubEvent(Cause.of(this)));
+        Assert.assertEquals("Listeners of a newly baked event were called out of order!", Arrays.asList("first", "second"), called);
+    }
+
+    @Test
+    public void testListenerStatsUnregister() {
+        SimpleListener first = new SimpleListener();
+        this.eventManager.registerListener(this.plugin, first);
+        this.eventManager.post(new EventFilterTest.SubEvent(Cause.of(this)));
+        EventListenerStats stats = this.eventManager.getListenerStats();
+        RegisteredListener<?> unregistered = stats.getListeners().get(0);
+
+        this.eventManager.unregisterListeners(first);
+        Assert.assertTrue("Unregistered listener was kept in the statistics!", stats.getListeners().isEmpty());
+        Assert.assertEquals("Unregistered listener still has statistics!", 0, stats.getInvocations(unregistered));
+
+        SimpleListener second = new SimpleListener();
+        this.eventManager.registerListener(this.plugin, second);
+        RegisteredListener<?> registered = stats.getListeners().get(0);
+        Assert.assertEquals("Slot of the unregistered listener was not reused!", 0, registered.getStatsSlot());
+        Assert.assertEquals("Statistics of the unregistered listener were kept!", 0, stats.getInvocations(registered));
+    }
+
+    @Test
+    public void testAsyncEventsRestart() {
+        SpongeConfig.AsyncEventsCategory config = new SpongeConfig.AsyncEventsCategory();
+        config.setEnabled(true);
+        this.eventManager.startAsyncEvents(config);
+        try {
+            // A second server started in the same game
+            this.eventManager.startAsyncEvents(config);
+            Assert.assertTrue("Async events were not started!", this.eventManager.getAsyncDispatcher().isPresent());
+        } finally {
+            this.eventManager.stopAsyncEvents();
+        }
+        Assert.assertFalse("Async events were not stopped!", this.eventManager.getAsyncDispatcher().isPresent());
+        this.eventManager.startAsyncEvents(config);
+        Assert.assertTrue("Async events were not started again!", this.eventManager.getAsyncDispatcher().isPresent());
+        this.eventManager.stopAsyncEvents();
+    }
+
+    @Test
+    public void testAsyncPostListener() throws Exception {
+        SpongeConfig.AsyncEventsCategory config = new SpongeConfig.AsyncEventsCategory();
+        config.setEnabled(true);
+        config.getEventTypes().add(EventFilterTest.TestEvent.class.getName());
+        this.eventManager.startAsyncEvents(config);
+        try {
+            SimpleListener syncListener = new SimpleListener();
+            PostOrderListener asyncListener = new PostOrderListener();
+            this.eventManager.registerListener(this.plugin, syncListener);
+            this.eventManager.registerListener(this.plugin, asyncListener);
+
+            this.eventManager.post(new EventFilterTest.SubEvent(Cause.of(this)));
+            Assert.assertTrue("Default order listener was not called on the posting thread!", syncListener.called);
+            Assert.assertTrue("POST order listener was not called!", asyncListener.called.await(5, TimeUnit.SECONDS));
+            Assert.assertNotSame("POST order listener was called on the posting thread!", Thread.currentThread(), asyncListener.thread);
+        } finally {
+            this.eventManager.stopAsyncEvents();
+        }
+    }
+
+}
@@ -24,8 +24,12 @@
  */
 package org.spongepowered.common.util.persistence.data;
 
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
+import com.google.common.collect.ImmutableList;
+
 import net.minecraft.nbt.NBTTagCompound;
 import org.junit.Test;
 import org.mockito.Mockito;
@@ -55,4 +59,36 @@ public void testContainerToNBT() {
         assertTrue(container.equals(translatedContainer));
     }
 
+    @Test
+    public void testNestedViewsRoundTrip() {
+        DataContainer container = new MemoryDataContainer();
+        container.set(DataQuery.of("flag"), true);
+        container.set(DataQuery.of("outer", "inner", "count"), 3);
+        container.set(DataQuery.of("outer", "inner", "enabled"), false);
+        container.set(DataQuery.of("outer", "name"), "foo");
+        container.set(DataQuery.of("outer", "values"), ImmutableList.of("a", "b", "c"));
+        container.set(DataQuery.of("bytes"), new byte[] {1, 2, 3});
+        container.set(DataQuery.of("ints"), new int[] {4, 5, 6});
+        NBTTagCompound compound = NbtTranslator.getInstance().translateData(container);
+        assertTrue(compound.getBoolean("flag" + NbtTranslator.BOOLEAN_IDENTIFER));
+        assertEquals(3, compound.getCompoundTag("outer").getCompoundTag("inner").getInteger("count"));
+        DataView translated = NbtTranslator.getInstance().translateFrom(compound);
+        assertEquals(Optional.of(true), translated.getBoolean(DataQuery.of("flag")));
+        assertEquals(Optional.of(false), translated.getBoolean(DataQuery.of("outer", "inner", "enabled")));
+        assertEquals(Optional.of("foo"), translated.getString(DataQuery.of("outer", "name")));
+        assertEquals(Optional.of(ImmutableList.of("a", "b", "c")), translated.getStringList(DataQuery.of("outer", "values")));
+        assertArrayEquals(new byte[] {1, 2, 3}, (byte[]) translated.get(DataQuery.of("bytes")).get());
+        assertArrayEquals(new int[] {4, 5, 6}, (int[]) translated.get(DataQuery.of("ints")).get());
+    }
+
+    @Test
+    public void testArraysAreCopiedIntoTags() {
+        byte[] bytes = {1, 2, 3};
+        DataContainer container = new MemoryDataContainer();
+        container.set(DataQuery.of("bytes"), bytes);
+        NBTTagCompound compound = NbtTranslator.getInstance().translateData(container);
+        bytes[0] = 9;
+        assertEquals(1, compound.getByteArray("bytes")[0]);
+    }
+
 }
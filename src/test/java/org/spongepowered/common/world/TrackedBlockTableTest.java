@@ -0,0 +1,67 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world;
+
+import net.minecraft.util.BlockPos;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TrackedBlockTableTest {
+
+    @Test
+    public void testPutAndGet() {
+        TrackedBlockTable table = new TrackedBlockTable();
+        Assert.assertEquals(-1, table.getOwner(TrackedBlockTable.key(BlockPos.ORIGIN)));
+        Assert.assertEquals(-1, table.getNotifier(TrackedBlockTable.key(BlockPos.ORIGIN)));
+
+        for (int i = 0; i < 1000; i++) {
+            table.put(TrackedBlockTable.key(new BlockPos(i & 15, i >> 4, 0)), i, i + 1);
+        }
+        Assert.assertEquals(1000, table.size());
+        for (int i = 0; i < 1000; i++) {
+            int key = TrackedBlockTable.key(new BlockPos(i & 15, i >> 4, 0));
+            Assert.assertEquals(i, table.getOwner(key));
+            Assert.assertEquals(i + 1, table.getNotifier(key));
+        }
+
+        int key = TrackedBlockTable.key(new BlockPos(31, 70, -1));
+        table.setNotifier(key, 5);
+        Assert.assertEquals(-1, table.getOwner(key));
+        Assert.assertEquals(5, table.getNotifier(key));
+        table.setOwner(key, 3);
+        Assert.assertEquals(3, table.getOwner(key));
+        Assert.assertEquals(5, table.getNotifier(key));
+        Assert.assertEquals(1001, table.size());
+    }
+
+    @Test
+    public void testShortKeyMigration() {
+        // Positions below y 256 used to be packed into a short
+        BlockPos pos = new BlockPos(15, 255, 15);
+        short legacy = (short) (15 | 255 << 4 | 15 << 12);
+        Assert.assertEquals(TrackedBlockTable.key(pos), TrackedBlockTable.keyFromShort(legacy));
+    }
+
+}
@@ -0,0 +1,148 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.gen;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+public class AsyncChunkGeneratorTest {
+
+    /**
+     * Mimics the structure of the chunk provider: a per-chunk seeded random
+     * and a scratch buffer that is reused between chunks on the same thread.
+     */
+    private static final class FakeTerrainGenerator implements AsyncChunkGenerator.Generator<int[]> {
+
+        private final ThreadLocal<int[]> heights = ThreadLocal.withInitial(() -> new int[256]);
+        private final ThreadLocal<Random> random = ThreadLocal.withInitial(Random::new);
+
+        @Override
+        public int[] generate(int chunkX, int chunkZ) {
+            final Random rand = this.random.get();
+            rand.setSeed((long) chunkX * 341873128712L + (long) chunkZ * 132897987541L);
+            final int[] buffer = this.heights.get();
+            for (int i = 0; i < buffer.length; i++) {
+                buffer[i] = 64 + rand.nextInt(32);
+            }
+            // Smooth in place, so a buffer shared between threads would show
+            for (int pass = 0; pass < 4; pass++) {
+                for (int i = 1; i < buffer.length; i++) {
+                    buffer[i] = (buffer[i] + buffer[i - 1]) / 2;
+                }
+                Thread.yield();
+            }
+            return buffer.clone();
+        }
+    }
+
+    @Test
+    public void testAsyncGenerationMatchesSerial() throws InterruptedException {
+        final FakeTerrainGenerator serial = new FakeTerrainGenerator();
+        final FakeTerrainGenerator parallel = new FakeTerrainGenerator();
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final AsyncChunkGenerator<int[]> generator = new AsyncChunkGenerator<>(executor, parallel, 1024);
+            final List<int[]> chunks = new ArrayList<>();
+            for (int x = -16; x < 16; x++) {
+                for (int z = -16; z < 16; z++) {
+                    chunks.add(new int[] {x, z});
+                }
+            }
+            Collections.shuffle(chunks, new Random(42));
+            for (int[] chunk : chunks) {
+                Assert.assertTrue(generator.prefetch(chunk[0], chunk[1]));
+            }
+            Assert.assertFalse(generator.prefetch(chunks.get(0)[0], chunks.get(0)[1]));
+            for (int x = -16; x < 16; x++) {
+                for (int z = -16; z < 16; z++) {
+                    final int[] generated = generator.take(x, z);
+                    Assert.assertNotNull(generated);
+                    Assert.assertArrayEquals(serial.generate(x, z), generated);
+                }
+            }
+            Assert.assertEquals(0, generator.getQueuedCount());
+        } finally {
+            executor.shutdown();
+            executor.awaitTermination(10, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    public void testQueueIsBounded() {
+        // Runs tasks on the calling thread, so every prefetch completes at once
+        final AsyncChunkGenerator<int[]> generator = new AsyncChunkGenerator<>(Runnable::run, new FakeTerrainGenerator(), 4);
+        for (int x = 0; x < 8; x++) {
+            Assert.assertTrue(generator.prefetch(x, 0));
+        }
+        Assert.assertEquals(4, generator.getQueuedCount());
+        // The oldest results were dropped to make room
+        Assert.assertFalse(generator.isQueued(0, 0));
+        Assert.assertTrue(generator.isQueued(7, 0));
+        Assert.assertNull(generator.take(0, 0));
+        Assert.assertNotNull(generator.take(7, 0));
+
+        generator.invalidate();
+        Assert.assertEquals(0, generator.getQueuedCount());
+        Assert.assertNull(generator.take(6, 0));
+    }
+
+    @Test
+    public void testPendingChunksAreNotDropped() {
+        final List<Runnable> pending = new ArrayList<>();
+        final AsyncChunkGenerator<int[]> generator = new AsyncChunkGenerator<>(pending::add, new FakeTerrainGenerator(), 2);
+        Assert.assertTrue(generator.prefetch(0, 0));
+        Assert.assertTrue(generator.prefetch(1, 0));
+        Assert.assertFalse(generator.prefetch(2, 0));
+        pending.forEach(Runnable::run);
+        Assert.assertTrue(generator.prefetch(2, 0));
+        Assert.assertFalse(generator.isQueued(0, 0));
+    }
+
+    @Test
+    public void testPollDoesNotWait() {
+        final List<Runnable> pending = new ArrayList<>();
+        final FakeTerrainGenerator serial = new FakeTerrainGenerator();
+        final AsyncChunkGenerator<int[]> generator = new AsyncChunkGenerator<>(pending::add, new FakeTerrainGenerator(), 4);
+        Assert.assertTrue(generator.prefetch(0, 0));
+        Assert.assertTrue(generator.prefetch(1, 0));
+        pending.get(1).run();
+        // Still pending, so it is dropped instead of waited for
+        Assert.assertNull(generator.poll(0, 0));
+        Assert.assertFalse(generator.isQueued(0, 0));
+        pending.get(0).run();
+        Assert.assertNull(generator.take(0, 0));
+        Assert.assertArrayEquals(serial.generate(1, 0), generator.poll(1, 0));
+        Assert.assertEquals(0, generator.getQueuedCount());
+    }
+
+}
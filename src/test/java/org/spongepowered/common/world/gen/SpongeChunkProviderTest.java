@@ -0,0 +1,235 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.gen;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+import com.flowpowered.math.vector.Vector2i;
+import com.flowpowered.math.vector.Vector3i;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import net.minecraft.block.Block;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.init.Bootstrap;
+import net.minecraft.world.World;
+import net.minecraft.world.WorldProvider;
+import net.minecraft.world.biome.BiomeGenBase;
+import net.minecraft.world.gen.layer.IntCache;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.spongepowered.api.block.BlockState;
+import org.spongepowered.api.world.biome.BiomeGenerationSettings;
+import org.spongepowered.api.world.biome.BiomeType;
+import org.spongepowered.api.world.extent.ImmutableBiomeArea;
+import org.spongepowered.api.world.extent.MutableBiomeArea;
+import org.spongepowered.api.world.extent.MutableBlockVolume;
+import org.spongepowered.api.world.gen.BiomeGenerator;
+import org.spongepowered.api.world.gen.GenerationPopulator;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public class SpongeChunkProviderTest {
+
+    // Ids that no vanilla biome or block state uses
+    private static final int LOW_BIOME_ID = 200;
+    private static final int HIGH_BIOME_ID = 201;
+
+    private static BiomeGenBase lowBiome;
+    private static BiomeGenBase highBiome;
+    private static IBlockState stone;
+    private static IBlockState air;
+
+    @BeforeClass
+    public static void setUp() throws ReflectiveOperationException {
+        Bootstrap.register();
+        lowBiome = registerBiome(LOW_BIOME_ID);
+        highBiome = registerBiome(HIGH_BIOME_ID);
+        stone = registerBlockState(4000);
+        air = registerBlockState(4001);
+    }
+
+    @AfterClass
+    public static void tearDown() {
+        BiomeGenBase.getBiomeGenArray()[LOW_BIOME_ID] = null;
+        BiomeGenBase.getBiomeGenArray()[HIGH_BIOME_ID] = null;
+    }
+
+    private static BiomeGenBase registerBiome(int id) throws ReflectiveOperationException {
+        final BiomeGenBase biome = mock(BiomeGenBase.class, withSettings().extraInterfaces(BiomeType.class));
+        setField(BiomeGenBase.class, biome, "biomeID", id);
+        BiomeGenBase.getBiomeGenArray()[id] = biome;
+        return biome;
+    }
+
+    private static IBlockState registerBlockState(int id) {
+        final IBlockState state = mock(IBlockState.class, withSettings().extraInterfaces(BlockState.class));
+        Block.BLOCK_STATE_IDS.put(state, id);
+        return state;
+    }
+
+    private static void setField(Class<?> owner, Object instance, String name, Object value) throws ReflectiveOperationException {
+        final Field field = owner.getDeclaredField(name);
+        field.setAccessible(true);
+        field.set(instance, value);
+    }
+
+    private static SpongeChunkProvider createProvider() throws ReflectiveOperationException {
+        final World world = mock(World.class, withSettings().extraInterfaces(org.spongepowered.api.world.World.class));
+        when(world.getSeed()).thenReturn(1234L);
+        setField(World.class, world, "provider", mock(WorldProvider.class));
+
+        final SpongeChunkProvider provider = new SpongeChunkProvider(world, new VanillaStyleGenerator(world), new IntCacheBiomeGenerator(), false);
+        final BiomeGenerationSettings settings = mock(BiomeGenerationSettings.class);
+        when(settings.getGroundCoverLayers()).thenReturn(ImmutableList.of());
+        when(settings.getGenerationPopulators()).thenReturn(ImmutableList.of());
+        provider.setBiomeOverrides(ImmutableMap.of((BiomeType) lowBiome, settings, (BiomeType) highBiome, settings));
+        return provider;
+    }
+
+    /**
+     * Generates biomes like the vanilla layers do, in arrays taken from the
+     * static {@link IntCache} that is reset on every call.
+     */
+    private static final class IntCacheBiomeGenerator implements BiomeGenerator {
+
+        @Override
+        public void generateBiomes(MutableBiomeArea buffer) {
+            final Vector2i min = buffer.getBiomeMin();
+            final Vector2i size = buffer.getBiomeSize();
+            IntCache.resetIntCache();
+            final int[] ids = IntCache.getIntCache(size.getX() * size.getY());
+            for (int i = 0; i < ids.length; i++) {
+                final int x = (min.getX() + i % size.getX()) >> 3;
+                final int z = (min.getY() + i / size.getX()) >> 3;
+                ids[i] = (x * 73428767 ^ z * 912931) >>> 7 & 1;
+            }
+            Thread.yield();
+            for (int i = 0; i < ids.length; i++) {
+                buffer.setBiome(min.getX() + i % size.getX(), min.getY() + i / size.getX(),
+                        (BiomeType) (ids[i] == 0 ? lowBiome : highBiome));
+            }
+        }
+    }
+
+    /**
+     * Mimics the vanilla terrain generators: a single random reseeded for
+     * every chunk, a biome array kept between calls, and biomes taken from
+     * the world chunk manager.
+     */
+    private static final class VanillaStyleGenerator implements GenerationPopulator {
+
+        private final World world;
+        private final Random rand = new Random();
+        private BiomeGenBase[] biomesForGeneration;
+
+        VanillaStyleGenerator(World world) {
+            this.world = world;
+        }
+
+        @Override
+        public void populate(org.spongepowered.api.world.World world, MutableBlockVolume buffer, ImmutableBiomeArea biomes) {
+            final Vector3i min = buffer.getBlockMin();
+            final int chunkX = min.getX() >> 4;
+            final int chunkZ = min.getZ() >> 4;
+            this.rand.setSeed((long) chunkX * 341873128712L + (long) chunkZ * 132897987541L);
+            this.biomesForGeneration = this.world.provider.worldChunkMgr.getBiomesForGeneration(this.biomesForGeneration,
+                    chunkX * 4 - 2, chunkZ * 4 - 2, 10, 10);
+            for (int x = 0; x < 16; x++) {
+                for (int z = 0; z < 16; z++) {
+                    final BiomeGenBase biome = this.biomesForGeneration[(x >> 2) + 2 + ((z >> 2) + 2) * 10];
+                    final int height = 56 + this.rand.nextInt(8) + (biome == highBiome ? 16 : 0);
+                    for (int y = 0; y < 96; y++) {
+                        buffer.setBlock(min.getX() + x, y, min.getZ() + z, (BlockState) (y < height ? stone : air));
+                    }
+                }
+                Thread.yield();
+            }
+        }
+    }
+
+    @Test
+    public void testBackgroundGenerationMatchesSerial() throws Exception {
+        final SpongeChunkProvider provider = createProvider();
+        final List<int[]> chunks = new ArrayList<>();
+        final List<SpongeChunkProvider.GeneratedChunk> expected = new ArrayList<>();
+        for (int x = -4; x < 4; x++) {
+            for (int z = -4; z < 4; z++) {
+                chunks.add(new int[] {x, z});
+                expected.add(provider.generateChunk(x, z));
+            }
+        }
+
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        final AtomicBoolean done = new AtomicBoolean();
+        // Uses the IntCache from another thread meanwhile, like the main
+        // thread looking up biomes for spawning and structures
+        final Thread lookups = new Thread(() -> {
+            final List<BiomeGenBase> searched = Collections.singletonList(lowBiome);
+            final Random random = new Random();
+            BiomeGenBase[] biomes = null;
+            while (!done.get()) {
+                final int x = random.nextInt(1024) - 512;
+                final int z = random.nextInt(1024) - 512;
+                provider.world.provider.worldChunkMgr.areBiomesViable(x, z, 32, searched);
+                biomes = provider.world.provider.worldChunkMgr.getBiomesForGeneration(biomes, x >> 2, z >> 2, 10, 10);
+                provider.world.provider.worldChunkMgr.findBiomePosition(x, z, 32, searched, random);
+            }
+        });
+        try {
+            lookups.start();
+            final AsyncChunkGenerator<SpongeChunkProvider.GeneratedChunk> generator =
+                    new AsyncChunkGenerator<>(executor, provider::generateChunk, 1024);
+            final List<int[]> shuffled = new ArrayList<>(chunks);
+            Collections.shuffle(shuffled, new Random(42));
+            for (int[] chunk : shuffled) {
+                Assert.assertTrue(generator.prefetch(chunk[0], chunk[1]));
+            }
+            for (int i = 0; i < chunks.size(); i++) {
+                final SpongeChunkProvider.GeneratedChunk generated = generator.take(chunks.get(i)[0], chunks.get(i)[1]);
+                Assert.assertNotNull(generated);
+                Assert.assertArrayEquals(expected.get(i).biomes, generated.biomes);
+                Assert.assertArrayEquals(expected.get(i).primer.data, generated.primer.data);
+            }
+        } finally {
+            done.set(true);
+            lookups.join();
+            executor.shutdown();
+            executor.awaitTermination(10, TimeUnit.SECONDS);
+        }
+    }
+
+}